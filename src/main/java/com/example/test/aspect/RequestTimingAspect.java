@@ -0,0 +1,44 @@
+package com.example.test.aspect;
+
+import com.example.test.timing.RequestTiming;
+import com.example.test.timing.TimingPhase;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Aspect recording the time spent in the repository, the converters and the controllers
+ * into the {@link RequestTiming} of the current request. Outside of a timed request it only
+ * costs a thread local lookup.
+ */
+@Aspect
+public class RequestTimingAspect {
+
+    @Around("this(com.example.test.repository.BookRepository)")
+    public Object timeRepository(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return RequestTimingAspect.time(joinPoint, TimingPhase.DB);
+    }
+
+    @Around("execution(* com.example.test.converter.DataConverter+.*(..))")
+    public Object timeConverter(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return RequestTimingAspect.time(joinPoint, TimingPhase.CONVERT);
+    }
+
+    @Around("within(com.example.test.controller..*)")
+    public Object timeController(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return RequestTimingAspect.time(joinPoint, TimingPhase.CONTROLLER);
+    }
+
+    private static Object time(final ProceedingJoinPoint joinPoint, final TimingPhase phase) throws Throwable {
+        final RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return joinPoint.proceed();
+        }
+        final long begin = timing.begin(phase);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.end(phase, begin);
+        }
+    }
+}
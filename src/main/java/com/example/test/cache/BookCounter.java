@@ -0,0 +1,123 @@
+package com.example.test.cache;
+
+import com.example.test.event.BookChangedEvent;
+import com.example.test.event.BooksImportedEvent;
+import com.example.test.event.BooksInvalidatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Number of books in the catalog, kept without a count query per read. Committed creates and deletes, and the
+ * count deltas broadcast by other instances, move the counter; startup, imports and a periodic reconciliation
+ * replace it with the result of the count query plus the changes reported while that query ran. A change
+ * committed just before the query but reported during it is counted twice, and a batch lost by the bus is
+ * missed; the next reconciliation repairs such drift.
+ */
+@Slf4j
+public class BookCounter {
+
+    private final LongSupplier countQuery;
+
+    /**
+     * Sum of the deltas applied since startup, the count is the base plus this sum.
+     */
+    private final AtomicLong changes = new AtomicLong();
+
+    private volatile long base;
+
+    private final Object reconcileLock = new Object();
+
+    private final Counter drift;
+
+    private volatile boolean loaded;
+
+    public BookCounter(final LongSupplier countQuery, final MeterRegistry meterRegistry) {
+        this.countQuery = countQuery;
+        this.drift = Counter.builder("bookstore.count.drift")
+                .description("Absolute difference between the book counter and the count query at reconciliation")
+                .register(meterRegistry);
+        Gauge.builder("bookstore.count.books", this, BookCounter::current)
+                .description("Number of books as kept by the book counter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return number of books, counted by a query only if the counter was never reconciled.
+     */
+    public long get() {
+        if (!this.loaded) {
+            this.reconcile();
+        }
+        return this.current();
+    }
+
+    /**
+     * Counts the books once the application is ready. A failing count does not fail the startup, the first
+     * read counts again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            this.reconcile();
+        } catch (final RuntimeException ex) {
+            log.warn("BookCounter could not count the books on startup", ex);
+        }
+    }
+
+    /**
+     * Replaces the counter with the result of the count query plus the changes applied while it ran.
+     */
+    @Scheduled(initialDelayString = "${bookstore.total-count.reconcile-interval:PT5M}",
+            fixedDelayString = "${bookstore.total-count.reconcile-interval:PT5M}")
+    public void reconcile() {
+        synchronized (this.reconcileLock) {
+            final long changesBefore = this.changes.get();
+            final long counted = this.countQuery.getAsLong();
+            final long previous = this.base + changesBefore;
+            this.base = counted - changesBefore;
+            if (this.loaded && previous != counted) {
+                this.drift.increment(Math.abs(counted - previous));
+                log.info("BookCounter reconciled count={} previous={}", counted, previous);
+            }
+            this.loaded = true;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(final BookChangedEvent event) {
+        if (event.getType() == BookChangedEvent.Type.CREATED) {
+            this.changes.incrementAndGet();
+        } else if (event.getType() == BookChangedEvent.Type.DELETED) {
+            this.changes.decrementAndGet();
+        }
+    }
+
+    @EventListener
+    public void onBooksImported(final BooksImportedEvent event) {
+        if (event.getImported() > 0) {
+            this.reconcile();
+        }
+    }
+
+    @EventListener
+    public void onBooksInvalidated(final BooksInvalidatedEvent event) {
+        if (event.isAll()) {
+            this.reconcile();
+        } else {
+            this.changes.addAndGet(event.getCountDelta());
+        }
+    }
+
+    private long current() {
+        return this.base + this.changes.get();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.test.cache;
+
+import com.example.test.event.BookChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deleted book ids with the time of the delete, in a table of the shared database, so that a
+ * {@link CatalogFileStore} replaying the changes since its file was written also sees the books which are
+ * no longer in the book table. The row is inserted in the transaction of the delete; rows older than the
+ * retention are purged, a file going back further than that cannot be replayed.
+ */
+@Slf4j
+public class BookDeletionLog {
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS book_deletion ("
+            + "book_id BIGINT NOT NULL, "
+            + "deleted_at TIMESTAMP NOT NULL)";
+
+    private static final String CREATE_INDEX = "CREATE INDEX IF NOT EXISTS idx_book_deletion_deleted_at "
+            + "ON book_deletion (deleted_at)";
+
+    private static final String INSERT = "INSERT INTO book_deletion (book_id, deleted_at) VALUES (:bookId, :deletedAt)";
+
+    private static final String SELECT_AFTER = "SELECT DISTINCT book_id FROM book_deletion WHERE deleted_at > :since";
+
+    private static final String PURGE = "DELETE FROM book_deletion WHERE deleted_at < :before";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final Duration retention;
+
+    public BookDeletionLog(final NamedParameterJdbcTemplate jdbcTemplate, final Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = retention;
+    }
+
+    /**
+     * Creates the table if needed.
+     */
+    public void start() {
+        this.jdbcTemplate.getJdbcTemplate().execute(CREATE_TABLE);
+        this.jdbcTemplate.getJdbcTemplate().execute(CREATE_INDEX);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBookChanged(final BookChangedEvent event) {
+        if (event.getType() == BookChangedEvent.Type.DELETED) {
+            this.jdbcTemplate.update(INSERT, new MapSqlParameterSource("bookId", event.getId())
+                    .addValue("deletedAt", Timestamp.valueOf(LocalDateTime.now())));
+        }
+    }
+
+    /**
+     * @return whether every delete after the given time is still in the log.
+     */
+    public boolean covers(final LocalDateTime since) {
+        return since.isAfter(LocalDateTime.now().minus(this.retention));
+    }
+
+    public List<Long> findIdsDeletedAfter(final LocalDateTime since) {
+        return this.jdbcTemplate.queryForList(SELECT_AFTER,
+                new MapSqlParameterSource("since", Timestamp.valueOf(since)), Long.class);
+    }
+
+    /**
+     * Deletes the rows older than the retention.
+     *
+     * @return number of rows deleted.
+     */
+    @Scheduled(initialDelayString = "${bookstore.catalog-file.write-interval:PT10M}",
+            fixedDelayString = "${bookstore.catalog-file.write-interval:PT10M}")
+    public int purge() {
+        final int purged = this.jdbcTemplate.update(PURGE, new MapSqlParameterSource("before",
+                Timestamp.valueOf(LocalDateTime.now().minus(this.retention))));
+        log.debug("BookDeletionLog purged rows={}", purged);
+        return purged;
+    }
+}
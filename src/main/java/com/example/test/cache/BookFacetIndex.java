@@ -0,0 +1,326 @@
+package com.example.test.cache;
+
+import com.example.test.domain.Book;
+import com.example.test.event.BookChangedEvent;
+import com.example.test.event.BooksImportedEvent;
+import com.example.test.event.BooksInvalidatedEvent;
+import com.example.test.repository.BookSource;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary index of book ids by author and by title word, held as compressed bitmaps. Counts per author,
+ * author listings narrowed to title words (bitmap intersections) and their pages are answered from the
+ * bitmaps, the database is only asked for the books of a page by id.
+ * <p>
+ * Published bitmaps are never modified: a change copies the bitmaps of the affected author and words, so
+ * readers work without locking. Committed changes are applied as they happen, the index is rebuilt
+ * periodically and after imports.
+ */
+@Slf4j
+public class BookFacetIndex {
+
+    private static final Roaring64Bitmap EMPTY = new Roaring64Bitmap();
+
+    private static final Comparator<AuthorCount> BY_COUNT = Comparator.comparingLong(AuthorCount::getCount)
+            .reversed()
+            .thenComparing(AuthorCount::getAuthor);
+
+    private final BookSource bookSource;
+
+    private final Object writeLock = new Object();
+
+    private final Object rebuildLock = new Object();
+
+    private volatile State state = new State();
+
+    /**
+     * Ids changed while a rebuild reads the catalog, guarded by the write lock, null when no rebuild runs.
+     */
+    private Set<Long> changedDuringRebuild;
+
+    public BookFacetIndex(final BookSource bookSource) {
+        this.bookSource = bookSource;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class AuthorCount {
+
+        private final String author;
+
+        private final long count;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class IdPage {
+
+        private final long total;
+
+        private final long[] ids;
+    }
+
+    /**
+     * @param titleWords words every counted book must have in its title, none to count all books.
+     * @return the authors with the most books, most first, ties by name.
+     */
+    public List<AuthorCount> countByAuthor(final String[] titleWords, final int limit) {
+        final State current = this.state;
+        final Map<String, Long> counts = new HashMap<>();
+        if (titleWords.length == 0) {
+            current.byAuthor.forEach((author, ids) -> counts.put(author, ids.getLongCardinality()));
+        } else {
+            final LongIterator ids = BookFacetIndex.withWords(current, null, titleWords).getLongIterator();
+            while (ids.hasNext()) {
+                final Entry entry = current.entries.get(ids.next());
+                if (entry != null) {
+                    counts.merge(entry.author, 1L, Long::sum);
+                }
+            }
+        }
+        final List<AuthorCount> authorCounts = new ArrayList<>(counts.size());
+        counts.forEach((author, count) -> authorCounts.add(new AuthorCount(author, count)));
+        authorCounts.sort(BY_COUNT);
+        return authorCounts.size() > limit ? authorCounts.subList(0, limit) : authorCounts;
+    }
+
+    /**
+     * @param titleWords words every listed book must have in its title, none to list all books of the author.
+     * @return ids of the page of the author's books in id order, and the number of books of all pages.
+     */
+    public IdPage findIds(final String author, final String[] titleWords, final int page, final int size) {
+        final State current = this.state;
+        final Roaring64Bitmap authorIds = current.byAuthor.get(author);
+        final Roaring64Bitmap ids = authorIds == null
+                ? EMPTY : BookFacetIndex.withWords(current, authorIds, titleWords);
+        final long total = ids.getLongCardinality();
+        final long offset = (long) page * size;
+        if (offset >= total) {
+            return new IdPage(total, new long[0]);
+        }
+        final long[] pageIds = new long[(int) Math.min(size, total - offset)];
+        final LongIterator iterator = ids.getLongIteratorFrom(ids.select(offset));
+        for (int i = 0; i < pageIds.length; i++) {
+            pageIds[i] = iterator.next();
+        }
+        return new IdPage(total, pageIds);
+    }
+
+    /**
+     * @return the words of a title as they are indexed.
+     */
+    public static String[] words(final String title) {
+        return RelatedBookIndex.tokens(title);
+    }
+
+    public int authorCount() {
+        return this.state.byAuthor.size();
+    }
+
+    /**
+     * Builds a new index from the catalog and replaces the current one. Changes committed meanwhile are
+     * read again and applied to the new index before it is published.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${bookstore.facets.rebuild-interval:PT30M}",
+            fixedDelayString = "${bookstore.facets.rebuild-interval:PT30M}")
+    public void rebuild() {
+        synchronized (this.rebuildLock) {
+            this.rebuildExclusively();
+        }
+    }
+
+    private void rebuildExclusively() {
+        final long start = System.nanoTime();
+        synchronized (this.writeLock) {
+            this.changedDuringRebuild = new HashSet<>();
+        }
+        final State rebuilt = new State();
+        try {
+            final Map<String, Roaring64Bitmap> byAuthor = new HashMap<>();
+            final Map<String, Roaring64Bitmap> byWord = new HashMap<>();
+            for (final Book book : this.bookSource.findAll()) {
+                final Entry entry = BookFacetIndex.entry(book);
+                rebuilt.entries.put(book.getId(), entry);
+                byAuthor.computeIfAbsent(entry.author, key -> new Roaring64Bitmap()).addLong(book.getId());
+                for (final String word : entry.words) {
+                    byWord.computeIfAbsent(word, key -> new Roaring64Bitmap()).addLong(book.getId());
+                }
+            }
+            byAuthor.values().forEach(Roaring64Bitmap::runOptimize);
+            byWord.values().forEach(Roaring64Bitmap::runOptimize);
+            rebuilt.byAuthor.putAll(byAuthor);
+            rebuilt.byWord.putAll(byWord);
+        } catch (final RuntimeException ex) {
+            synchronized (this.writeLock) {
+                this.changedDuringRebuild = null;
+            }
+            throw ex;
+        }
+        synchronized (this.writeLock) {
+            final Set<Long> changed = this.changedDuringRebuild;
+            this.changedDuringRebuild = null;
+            this.reload(rebuilt, changed);
+            this.state = rebuilt;
+        }
+        log.info("BookFacetIndex rebuilt size={} authors={} tookMs={}", rebuilt.entries.size(),
+                rebuilt.byAuthor.size(), (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(final BookChangedEvent event) {
+        synchronized (this.writeLock) {
+            if (this.changedDuringRebuild != null) {
+                this.changedDuringRebuild.add(event.getId());
+            }
+            BookFacetIndex.apply(this.state, event.getId(),
+                    event.getType() == BookChangedEvent.Type.DELETED ? null : BookFacetIndex.entry(event.getBook()));
+        }
+    }
+
+    @EventListener
+    public void onBooksImported(final BooksImportedEvent event) {
+        if (event.getImported() > 0) {
+            this.rebuild();
+        }
+    }
+
+    @EventListener
+    public void onBooksInvalidated(final BooksInvalidatedEvent event) {
+        if (event.isAll()) {
+            this.rebuild();
+            return;
+        }
+        synchronized (this.writeLock) {
+            if (this.changedDuringRebuild != null) {
+                this.changedDuringRebuild.addAll(event.getIds());
+            }
+            this.reload(this.state, event.getIds());
+        }
+    }
+
+    private void reload(final State target, final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        final Set<Long> missing = new HashSet<>(ids);
+        for (final Book book : this.bookSource.findAllById(ids)) {
+            missing.remove(book.getId());
+            BookFacetIndex.apply(target, book.getId(), BookFacetIndex.entry(book));
+        }
+        for (final Long id : missing) {
+            BookFacetIndex.apply(target, id, null);
+        }
+    }
+
+    /**
+     * Replaces the book, or removes it if the entry is null, publishing copies of the bitmaps it changes.
+     */
+    private static void apply(final State target, final long id, final Entry entry) {
+        final Entry previous = entry == null ? target.entries.remove(id) : target.entries.put(id, entry);
+        if (previous != null) {
+            BookFacetIndex.update(target.byAuthor, previous.author, id, false);
+            for (final String word : previous.words) {
+                BookFacetIndex.update(target.byWord, word, id, false);
+            }
+        }
+        if (entry != null) {
+            BookFacetIndex.update(target.byAuthor, entry.author, id, true);
+            for (final String word : entry.words) {
+                BookFacetIndex.update(target.byWord, word, id, true);
+            }
+        }
+    }
+
+    private static void update(final Map<String, Roaring64Bitmap> bitmaps, final String key, final long id,
+                               final boolean add) {
+        final Roaring64Bitmap current = bitmaps.get(key);
+        if (add == (current != null && current.contains(id))) {
+            return;
+        }
+        final Roaring64Bitmap changed = current == null ? new Roaring64Bitmap() : current.clone();
+        if (add) {
+            changed.addLong(id);
+            bitmaps.put(key, changed);
+        } else {
+            changed.removeLong(id);
+            if (changed.isEmpty()) {
+                bitmaps.remove(key);
+            } else {
+                bitmaps.put(key, changed);
+            }
+        }
+    }
+
+    /**
+     * @param base bitmap to narrow, null for all books.
+     * @return the books of the base having all the words, the base itself if there are no words.
+     */
+    private static Roaring64Bitmap withWords(final State current, final Roaring64Bitmap base, final String[] words) {
+        if (words.length == 0) {
+            return base == null ? EMPTY : base;
+        }
+        Roaring64Bitmap result = null;
+        for (final String word : words) {
+            final Roaring64Bitmap ids = current.byWord.get(word);
+            if (ids == null) {
+                return EMPTY;
+            }
+            if (result == null) {
+                result = ids.clone();
+            } else {
+                result.and(ids);
+            }
+        }
+        if (base != null) {
+            result.and(base);
+        }
+        return result;
+    }
+
+    private static Entry entry(final Book book) {
+        return new Entry(book.getAuthor(), BookFacetIndex.words(book.getTitle()));
+    }
+
+    private static final class Entry {
+
+        private final String author;
+
+        private final String[] words;
+
+        private Entry(final String author, final String[] words) {
+            this.author = author;
+            this.words = words;
+        }
+    }
+
+    /**
+     * Maps are read without locking and only written under the write lock, their bitmaps are never modified.
+     */
+    private static final class State {
+
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+        private final Map<String, Roaring64Bitmap> byAuthor = new ConcurrentHashMap<>();
+
+        private final Map<String, Roaring64Bitmap> byWord = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.test.cache;
+
+import com.example.test.dto.BookDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Cache of ready-to-write UTF-8 JSON of single books, keyed by id and updatedAt so an entry
+ * can never be served for a changed book. Bounded by the total size of the cached bytes;
+ * entries of old versions or deleted books are not reachable anymore and age out by size.
+ */
+public class BookJsonCache {
+
+    private final Cache<Key, byte[]> cache;
+
+    private final Function<BookDto, byte[]> serializer;
+
+    public BookJsonCache(final Function<BookDto, byte[]> serializer, final long maxBytes) {
+        this.serializer = serializer;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, byte[] json) -> json.length)
+                .build();
+    }
+
+    /**
+     * @return JSON of the book, serialized on a miss. Books without id or updatedAt are not cached.
+     */
+    public byte[] get(final BookDto bookDto) {
+        if (bookDto.getId() == null || bookDto.getUpdatedAt() == null) {
+            return this.serializer.apply(bookDto);
+        }
+        return this.cache.get(new Key(bookDto.getId(), bookDto.getUpdatedAt()), key -> this.serializer.apply(bookDto));
+    }
+
+    public long estimatedSize() {
+        return this.cache.estimatedSize();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Key {
+
+        private final long id;
+
+        private final LocalDateTime updatedAt;
+    }
+}
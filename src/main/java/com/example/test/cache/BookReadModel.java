@@ -0,0 +1,272 @@
+package com.example.test.cache;
+
+import com.example.test.domain.Book;
+import com.example.test.event.BookChangedEvent;
+import com.example.test.event.BooksImportedEvent;
+import com.example.test.event.BooksInvalidatedEvent;
+import com.example.test.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read model holding the whole catalog in memory. Readers access an immutable snapshot through a
+ * volatile field without locking; writers apply committed changes to a copy and publish it.
+ * A periodic check compares the snapshot with the database and reloads it on any difference.
+ * <p>
+ * After-commit events of racing writes may arrive out of order, so a change older than the version in the
+ * snapshot is ignored, and deleted ids are remembered for a while so a late update cannot bring a book back.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BookReadModel {
+
+    private static final Snapshot EMPTY = new Snapshot(new LongObjectMap<>(0), new BookRecord[0]);
+
+    /**
+     * How long a deleted id is remembered, far longer than an after-commit event can be delayed.
+     */
+    private static final long DELETED_RETENTION_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final BookRepository bookRepository;
+
+    private final Object writeLock = new Object();
+
+    private volatile Snapshot snapshot = EMPTY;
+
+    private volatile boolean loaded;
+
+    /**
+     * Recently deleted ids with the time of deletion in insertion order, guarded by the write lock.
+     */
+    private final LinkedHashMap<Long, Long> deletedIds = new LinkedHashMap<>();
+
+    /**
+     * @return whether the initial load has finished, until then reads should go to the database.
+     */
+    public boolean isLoaded() {
+        return this.loaded;
+    }
+
+    /**
+     * @return record of the book or null if the snapshot does not contain it.
+     */
+    public BookRecord get(final long id) {
+        return this.snapshot.byId.get(id);
+    }
+
+    /**
+     * @return all records ordered by id.
+     */
+    public List<BookRecord> getAll() {
+        return Collections.unmodifiableList(Arrays.asList(this.snapshot.ordered));
+    }
+
+    public int size() {
+        return this.snapshot.ordered.length;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (this.writeLock) {
+            final long start = System.nanoTime();
+            this.snapshot = Snapshot.of(this.bookRepository.findAll());
+            this.loaded = true;
+            log.info("BookReadModel loaded size={} tookMs={}",
+                    this.snapshot.ordered.length, (System.nanoTime() - start) / 1_000_000L);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(final BookChangedEvent event) {
+        synchronized (this.writeLock) {
+            if (!this.loaded) {
+                return;
+            }
+            if (event.getType() == BookChangedEvent.Type.DELETED) {
+                this.snapshot = this.snapshot.without(event.getId());
+                this.markDeleted(event.getId());
+            } else {
+                this.snapshot = this.upsert(this.snapshot, BookRecord.of(event.getBook()));
+            }
+        }
+    }
+
+    /**
+     * An import adds many books at once, so the snapshot is reloaded once instead of being copied per book.
+     */
+    @EventListener
+    public void onBooksImported(final BooksImportedEvent event) {
+        if (this.loaded && event.getImported() > 0) {
+            this.load();
+        }
+    }
+
+    /**
+     * Books changed by another instance are read again, a version older than the one in the snapshot is ignored
+     * since a change of this instance may have been applied meanwhile.
+     */
+    @EventListener
+    public void onBooksInvalidated(final BooksInvalidatedEvent event) {
+        if (!this.loaded) {
+            return;
+        }
+        if (event.isAll()) {
+            this.load();
+            return;
+        }
+        final List<Book> books = this.bookRepository.findAllById(event.getIds());
+        synchronized (this.writeLock) {
+            Snapshot next = this.snapshot;
+            final Set<Long> missing = new HashSet<>(event.getIds());
+            for (final Book book : books) {
+                missing.remove(book.getId());
+                next = this.upsert(next, BookRecord.of(book));
+            }
+            for (final Long id : missing) {
+                next = next.without(id);
+                this.markDeleted(id);
+            }
+            this.snapshot = next;
+        }
+    }
+
+    /**
+     * @return snapshot with the record, unless the book was deleted or the snapshot holds a newer version.
+     */
+    private Snapshot upsert(final Snapshot snapshot, final BookRecord record) {
+        if (this.deletedIds.containsKey(record.getId())) {
+            return snapshot;
+        }
+        final BookRecord current = snapshot.byId.get(record.getId());
+        if (current != null && current.getUpdatedAt().isAfter(record.getUpdatedAt())) {
+            return snapshot;
+        }
+        return snapshot.with(record);
+    }
+
+    private void markDeleted(final long id) {
+        final long now = System.nanoTime();
+        final Iterator<Long> deletedAt = this.deletedIds.values().iterator();
+        while (deletedAt.hasNext() && now - deletedAt.next() > DELETED_RETENTION_NANOS) {
+            deletedAt.remove();
+        }
+        this.deletedIds.put(id, now);
+    }
+
+    /**
+     * Compares the snapshot with the database and reloads it if they differ.
+     *
+     * @return number of differing books.
+     */
+    @Scheduled(initialDelayString = "${bookstore.read-model.consistency-check-interval:PT5M}",
+            fixedDelayString = "${bookstore.read-model.consistency-check-interval:PT5M}")
+    public int checkConsistency() {
+        if (!this.loaded) {
+            return 0;
+        }
+        final Snapshot current = this.snapshot;
+        final List<Book> books = this.bookRepository.findAll();
+        int differences = 0;
+        int present = 0;
+        for (final Book book : books) {
+            final BookRecord record = current.byId.get(book.getId());
+            if (record != null) {
+                present++;
+            }
+            if (record == null || !record.matches(book)) {
+                differences++;
+            }
+        }
+        differences += current.ordered.length - present;
+        if (differences > 0) {
+            log.warn("BookReadModel differs from database differences={}, reloading", differences);
+            this.load();
+        }
+        return differences;
+    }
+
+    private static final class Snapshot {
+
+        private final LongObjectMap<BookRecord> byId;
+
+        private final BookRecord[] ordered;
+
+        private Snapshot(final LongObjectMap<BookRecord> byId, final BookRecord[] ordered) {
+            this.byId = byId;
+            this.ordered = ordered;
+        }
+
+        private static Snapshot of(final List<Book> books) {
+            final LongObjectMap<BookRecord> byId = new LongObjectMap<>(books.size());
+            final BookRecord[] ordered = new BookRecord[books.size()];
+            for (int i = 0; i < ordered.length; i++) {
+                ordered[i] = BookRecord.of(books.get(i));
+                byId.put(ordered[i].getId(), ordered[i]);
+            }
+            Arrays.sort(ordered, Comparator.comparingLong(BookRecord::getId));
+            return new Snapshot(byId, ordered);
+        }
+
+        private Snapshot with(final BookRecord record) {
+            final LongObjectMap<BookRecord> byId = this.byId.copy();
+            byId.put(record.getId(), record);
+            final BookRecord[] ordered;
+            final int index = this.indexOf(record.getId());
+            if (index >= 0) {
+                ordered = this.ordered.clone();
+                ordered[index] = record;
+            } else {
+                final int insertion = -index - 1;
+                ordered = new BookRecord[this.ordered.length + 1];
+                System.arraycopy(this.ordered, 0, ordered, 0, insertion);
+                ordered[insertion] = record;
+                System.arraycopy(this.ordered, insertion, ordered, insertion + 1, this.ordered.length - insertion);
+            }
+            return new Snapshot(byId, ordered);
+        }
+
+        private Snapshot without(final long id) {
+            final int index = this.indexOf(id);
+            if (index < 0) {
+                return this;
+            }
+            final LongObjectMap<BookRecord> byId = this.byId.copy();
+            byId.remove(id);
+            final BookRecord[] ordered = new BookRecord[this.ordered.length - 1];
+            System.arraycopy(this.ordered, 0, ordered, 0, index);
+            System.arraycopy(this.ordered, index + 1, ordered, index, ordered.length - index);
+            return new Snapshot(byId, ordered);
+        }
+
+        private int indexOf(final long id) {
+            int low = 0;
+            int high = this.ordered.length - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final long midId = this.ordered[mid].getId();
+                if (midId < id) {
+                    low = mid + 1;
+                } else if (midId > id) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
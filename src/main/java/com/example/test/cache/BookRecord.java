@@ -0,0 +1,62 @@
+package com.example.test.cache;
+
+import com.example.test.domain.Book;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Immutable in-memory copy of a book row as held by the {@link BookReadModel}.
+ */
+@Getter
+@AllArgsConstructor
+public final class BookRecord {
+
+    private final long id;
+
+    private final String title;
+
+    private final String description;
+
+    private final String author;
+
+    private final String isbn;
+
+    private final LocalDateTime createdAt;
+
+    private final LocalDateTime updatedAt;
+
+    public static BookRecord of(final Book book) {
+        return new BookRecord(book.getId(), book.getTitle(), book.getDescription(), book.getAuthor(),
+                book.getIsbn(), book.getCreatedAt(), book.getUpdatedAt());
+    }
+
+    /**
+     * @return detached entity with the values of this record.
+     */
+    public Book toEntity() {
+        return Book.builder()
+                .id(this.id)
+                .title(this.title)
+                .description(this.description)
+                .author(this.author)
+                .isbn(this.isbn)
+                .createdAt(this.createdAt)
+                .updatedAt(this.updatedAt)
+                .build();
+    }
+
+    /**
+     * @return whether the book still has the values of this record.
+     */
+    public boolean matches(final Book book) {
+        return this.id == book.getId()
+                && Objects.equals(this.updatedAt, book.getUpdatedAt())
+                && Objects.equals(this.title, book.getTitle())
+                && Objects.equals(this.description, book.getDescription())
+                && Objects.equals(this.author, book.getAuthor())
+                && Objects.equals(this.isbn, book.getIsbn());
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.test.cache;
+
+import com.example.test.domain.Book;
+import com.example.test.event.BookChangedEvent;
+import com.example.test.event.BooksImportedEvent;
+import com.example.test.event.BooksInvalidatedEvent;
+import com.example.test.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Serves books from a {@link MappedCatalogFile} written periodically by the application, so a new instance
+ * answers lookups right after startup instead of warming up from {@code findAll()}.
+ * <p>
+ * Books changed since the file was written are kept in an overlay: on startup the changes after the file's
+ * high-water mark are replayed from the database, afterwards committed changes of this instance are applied
+ * as they happen. Deleted books are recorded in the overlay too and looked up in the database again; the replay
+ * reads them from the {@link BookDeletionLog}, a file older than the log's retention is rewritten instead.
+ * Changes made by other instances are read again when the invalidation bus reports them, without the bus
+ * they are picked up by the next rewrite of the file.
+ */
+@Slf4j
+public class CatalogFileStore {
+
+    private static final BookRecord DELETED = new BookRecord(0L, null, null, null, null, null, null);
+
+    private final BookRepository bookRepository;
+
+    private final BookDeletionLog deletionLog;
+
+    private final Path path;
+
+    private final Duration replayOverlap;
+
+    private final Map<Long, BookRecord> overlay = new ConcurrentHashMap<>();
+
+    private final Object writeLock = new Object();
+
+    private volatile MappedCatalogFile file;
+
+    public CatalogFileStore(final BookRepository bookRepository, final BookDeletionLog deletionLog, final Path path,
+                            final Duration replayOverlap) {
+        this.bookRepository = bookRepository;
+        this.deletionLog = deletionLog;
+        this.path = path;
+        this.replayOverlap = replayOverlap;
+    }
+
+    /**
+     * Maps the file written by a previous run, if there is a readable one.
+     */
+    public void open() {
+        if (!Files.isReadable(this.path)) {
+            log.info("CatalogFileStore has no file path={}", this.path);
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            this.file = MappedCatalogFile.open(this.path);
+            log.info("CatalogFileStore mapped path={} size={} tookMs={}",
+                    this.path, this.file.size(), (System.nanoTime() - start) / 1_000_000L);
+        } catch (final IOException | RuntimeException ex) {
+            log.warn("CatalogFileStore could not map path={}, it will be rewritten", this.path, ex);
+        }
+    }
+
+    public boolean isMapped() {
+        return this.file != null;
+    }
+
+    /**
+     * @return the book, or null if it is unknown or deleted and must be looked up in the database.
+     */
+    public BookRecord get(final long id) {
+        final BookRecord changed = this.overlay.get(id);
+        if (changed != null) {
+            return changed == DELETED ? null : changed;
+        }
+        final MappedCatalogFile current = this.file;
+        return current == null ? null : current.get(id);
+    }
+
+    /**
+     * Replays the changes made since the mapped file was written, then writes a file if there is none yet.
+     * A file older than the deletion log's retention may still hold books deleted since, it is not served
+     * but rewritten.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        final MappedCatalogFile current = this.file;
+        if (current != null && current.getHighWaterMark() != null) {
+            final LocalDateTime since = current.getHighWaterMark().minus(this.replayOverlap);
+            if (this.deletionLog.covers(since)) {
+                this.replay(since);
+                return;
+            }
+            log.warn("CatalogFileStore file path={} predates the deletion log, it is rewritten", this.path);
+            this.file = null;
+            CatalogFileStore.close(current);
+        }
+        if (this.file == null) {
+            this.write();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(final BookChangedEvent event) {
+        if (event.getType() == BookChangedEvent.Type.DELETED) {
+            this.overlay.put(event.getId(), DELETED);
+        } else {
+            this.overlay.put(event.getId(), BookRecord.of(event.getBook()));
+        }
+    }
+
+    /**
+     * Imported books are not published one by one, the changes since the file was written are replayed.
+     */
+    @EventListener
+    public void onBooksImported(final BooksImportedEvent event) {
+        final MappedCatalogFile current = this.file;
+        if (event.getImported() > 0 && current != null && current.getHighWaterMark() != null) {
+            this.replay(current.getHighWaterMark().minus(this.replayOverlap));
+        }
+    }
+
+    /**
+     * Books changed by another instance are read again into the overlay, books no longer found are marked deleted.
+     */
+    @EventListener
+    public void onBooksInvalidated(final BooksInvalidatedEvent event) {
+        final MappedCatalogFile current = this.file;
+        if (event.isAll()) {
+            if (current != null && current.getHighWaterMark() != null) {
+                this.replay(current.getHighWaterMark().minus(this.replayOverlap));
+            }
+            return;
+        }
+        final Set<Long> missing = new HashSet<>(event.getIds());
+        for (final Book book : this.bookRepository.findAllById(event.getIds())) {
+            missing.remove(book.getId());
+            this.overlay.merge(book.getId(), BookRecord.of(book), CatalogFileStore::newer);
+        }
+        for (final Long id : missing) {
+            this.overlay.put(id, DELETED);
+        }
+    }
+
+    /**
+     * Writes the whole catalog to a new file, maps it and drops the overlay entries it already contains.
+     */
+    @Scheduled(initialDelayString = "${bookstore.catalog-file.write-interval:PT10M}",
+            fixedDelayString = "${bookstore.catalog-file.write-interval:PT10M}")
+    public void write() {
+        synchronized (this.writeLock) {
+            final long start = System.nanoTime();
+            final List<BookRecord> books = this.bookRepository.findAll(Sort.by("id"))
+                    .stream()
+                    .map(BookRecord::of)
+                    .collect(Collectors.toList());
+            final Path temporary = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+            final MappedCatalogFile written;
+            try {
+                CatalogFileWriter.write(temporary, books);
+                Files.move(temporary, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                written = MappedCatalogFile.open(this.path);
+            } catch (final IOException ex) {
+                log.error("CatalogFileStore could not write path={}", this.path, ex);
+                return;
+            }
+            final MappedCatalogFile previous = this.file;
+            this.file = written;
+            this.overlay.entrySet().removeIf(entry -> CatalogFileStore.isSuperseded(written, entry.getKey(),
+                    entry.getValue()));
+            CatalogFileStore.close(previous);
+            log.info("CatalogFileStore written path={} size={} overlay={} tookMs={}",
+                    this.path, books.size(), this.overlay.size(), (System.nanoTime() - start) / 1_000_000L);
+        }
+    }
+
+    public int getOverlaySize() {
+        return this.overlay.size();
+    }
+
+    private void replay(final LocalDateTime since) {
+        final long start = System.nanoTime();
+        final List<BookRecord> changes = this.bookRepository.findByUpdatedAtAfter(since)
+                .stream()
+                .map(BookRecord::of)
+                .collect(Collectors.toList());
+        for (final BookRecord change : changes) {
+            this.overlay.merge(change.getId(), change, CatalogFileStore::newer);
+        }
+        final Set<Long> deleted = new HashSet<>(this.bookRepository.findIdsDeletedAfter(since));
+        deleted.addAll(this.deletionLog.findIdsDeletedAfter(since));
+        for (final Long id : deleted) {
+            this.overlay.put(id, DELETED);
+        }
+        log.info("CatalogFileStore replayed since={} changes={} deleted={} tookMs={}",
+                since, changes.size(), deleted.size(), (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    /**
+     * Keeps a change applied by an event over an older version of the book read by a replay.
+     */
+    private static BookRecord newer(final BookRecord current, final BookRecord replayed) {
+        if (current == DELETED || current.getUpdatedAt().isAfter(replayed.getUpdatedAt())) {
+            return current;
+        }
+        return replayed;
+    }
+
+    /**
+     * @return whether the overlay entry is no longer needed: the file has its version of the book or a newer one,
+     * or the file does not have the book at all, in which case lookups go to the database.
+     */
+    private static boolean isSuperseded(final MappedCatalogFile file, final long id, final BookRecord change) {
+        final BookRecord written = file.get(id);
+        return written == null || change != DELETED && !written.getUpdatedAt().isBefore(change.getUpdatedAt());
+    }
+
+    private static void close(final MappedCatalogFile file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.close();
+        } catch (final IOException ex) {
+            log.warn("CatalogFileStore could not close the previous file", ex);
+        }
+    }
+}
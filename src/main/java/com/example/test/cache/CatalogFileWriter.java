@@ -0,0 +1,118 @@
+package com.example.test.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the catalog file read by {@link MappedCatalogFile}. Records are streamed through a fixed buffer,
+ * the index is written last once the record offsets are known.
+ */
+public final class CatalogFileWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CatalogFileWriter() {
+    }
+
+    /**
+     * @param books books sorted by id.
+     */
+    public static void write(final Path path, final List<BookRecord> books) throws IOException {
+        final Map<String, Integer> authorIndexes = new HashMap<>();
+        final List<byte[]> authors = new ArrayList<>();
+        LocalDateTime highWaterMark = null;
+        for (final BookRecord book : books) {
+            if (authorIndexes.putIfAbsent(book.getAuthor(), authors.size()) == null) {
+                authors.add(book.getAuthor().getBytes(StandardCharsets.UTF_8));
+            }
+            if (highWaterMark == null || book.getUpdatedAt().isAfter(highWaterMark)) {
+                highWaterMark = book.getUpdatedAt();
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            final long dictionaryOffset = MappedCatalogFile.HEADER_SIZE
+                    + (long) books.size() * MappedCatalogFile.INDEX_ENTRY_SIZE;
+            channel.position(dictionaryOffset);
+            for (final byte[] author : authors) {
+                CatalogFileWriter.putString(channel, buffer, author);
+            }
+            CatalogFileWriter.flush(channel, buffer);
+            final long recordsOffset = channel.position();
+
+            final int[] offsets = new int[books.size()];
+            for (int i = 0; i < books.size(); i++) {
+                final BookRecord book = books.get(i);
+                final long offset = channel.position() + buffer.position() - recordsOffset;
+                if (offset > Integer.MAX_VALUE) {
+                    throw new IOException("Catalog is too large for a mapped file");
+                }
+                offsets[i] = (int) offset;
+                CatalogFileWriter.ensure(channel, buffer, 20);
+                buffer.putInt(authorIndexes.get(book.getAuthor()));
+                buffer.putLong(MappedCatalogFile.toMicros(book.getCreatedAt()));
+                buffer.putLong(MappedCatalogFile.toMicros(book.getUpdatedAt()));
+                CatalogFileWriter.putString(channel, buffer, book.getTitle().getBytes(StandardCharsets.UTF_8));
+                CatalogFileWriter.putString(channel, buffer, book.getDescription().getBytes(StandardCharsets.UTF_8));
+                CatalogFileWriter.putString(channel, buffer, book.getIsbn().getBytes(StandardCharsets.UTF_8));
+            }
+            CatalogFileWriter.flush(channel, buffer);
+
+            channel.position(0L);
+            buffer.putInt(MappedCatalogFile.MAGIC)
+                    .putInt(MappedCatalogFile.VERSION)
+                    .putInt(books.size())
+                    .putInt(authors.size())
+                    .putLong(highWaterMark == null ? Long.MIN_VALUE : MappedCatalogFile.toMicros(highWaterMark))
+                    .putLong(System.currentTimeMillis())
+                    .putLong(dictionaryOffset)
+                    .putLong(recordsOffset);
+            for (int i = 0; i < books.size(); i++) {
+                CatalogFileWriter.ensure(channel, buffer, MappedCatalogFile.INDEX_ENTRY_SIZE);
+                buffer.putLong(books.get(i).getId()).putInt(offsets[i]);
+            }
+            CatalogFileWriter.flush(channel, buffer);
+            channel.force(false);
+        }
+    }
+
+    private static void putString(final FileChannel channel, final ByteBuffer buffer, final byte[] value)
+            throws IOException {
+        CatalogFileWriter.ensure(channel, buffer, 4);
+        buffer.putInt(value.length);
+        int written = 0;
+        while (written < value.length) {
+            if (!buffer.hasRemaining()) {
+                CatalogFileWriter.flush(channel, buffer);
+            }
+            final int length = Math.min(buffer.remaining(), value.length - written);
+            buffer.put(value, written, length);
+            written += length;
+        }
+    }
+
+    private static void ensure(final FileChannel channel, final ByteBuffer buffer, final int bytes)
+            throws IOException {
+        if (buffer.remaining() < bytes) {
+            CatalogFileWriter.flush(channel, buffer);
+        }
+    }
+
+    private static void flush(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
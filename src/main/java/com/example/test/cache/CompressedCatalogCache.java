@@ -0,0 +1,134 @@
+package com.example.test.cache;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.event.BookChangedEvent;
+import com.example.test.event.BooksImportedEvent;
+import com.example.test.event.BooksInvalidatedEvent;
+import com.example.test.repository.BookSource;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip compressed JSON of the whole book list, regenerated in the background after every committed change.
+ * Each change increments the catalog version; a snapshot is only served while its version is the current one,
+ * so a snapshot built before a change can never be returned after it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CompressedCatalogCache {
+
+    private final BookSource bookSource;
+
+    private final BookConverter bookConverter;
+
+    private final ObjectWriter listWriter;
+
+    private final ExecutorService executor;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final AtomicBoolean regenerationScheduled = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @return the snapshot if it is up to date, otherwise null and a regeneration is scheduled.
+     */
+    public Snapshot getCurrent() {
+        final Snapshot current = this.snapshot;
+        if (current != null && current.getVersion() == this.version.get()) {
+            return current;
+        }
+        this.scheduleRegeneration();
+        return null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        this.scheduleRegeneration();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(final BookChangedEvent event) {
+        this.invalidate();
+    }
+
+    @EventListener
+    public void onBooksImported(final BooksImportedEvent event) {
+        if (event.getImported() > 0) {
+            this.invalidate();
+        }
+    }
+
+    @EventListener
+    public void onBooksInvalidated(final BooksInvalidatedEvent event) {
+        this.invalidate();
+    }
+
+    /**
+     * Marks the current snapshot as stale and schedules a new one.
+     */
+    public void invalidate() {
+        this.version.incrementAndGet();
+        this.scheduleRegeneration();
+    }
+
+    /**
+     * Builds a snapshot of the current catalog. The version is read before the books,
+     * so a change committed meanwhile leaves the snapshot outdated rather than mislabeled.
+     * A failed regeneration is logged and keeps the previous snapshot, which is outdated,
+     * so the next request passes through and schedules another attempt.
+     */
+    public void regenerate() {
+        this.regenerationScheduled.set(false);
+        final long snapshotVersion = this.version.get();
+        final List<BookDto> books;
+        final ByteArrayOutputStream compressed;
+        try {
+            books = this.bookConverter.toDtoListView(this.bookSource.findAll());
+            compressed = new ByteArrayOutputStream(Math.max(256, books.size() * 64));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, 8192)) {
+                this.listWriter.writeValue(gzip, books);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("CompressedCatalogCache regeneration failed version={}", snapshotVersion, e);
+            return;
+        }
+        this.snapshot = new Snapshot(snapshotVersion, compressed.toByteArray());
+        log.info("CompressedCatalogCache regenerated version={} books={} gzipBytes={}",
+                snapshotVersion, books.size(), compressed.size());
+    }
+
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    private void scheduleRegeneration() {
+        if (this.regenerationScheduled.compareAndSet(false, true)) {
+            this.executor.execute(this::regenerate);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Snapshot {
+
+        private final long version;
+
+        private final byte[] gzipJson;
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.test.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Open addressing hash map with primitive long keys, so lookups neither box the key
+ * nor allocate entries. Not thread safe; concurrent readers are only safe on instances
+ * which are no longer modified, e.g. published copy-on-write snapshots.
+ *
+ * @param <V> value type.
+ */
+public final class LongObjectMap<V> {
+
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+
+    private Object[] values;
+
+    private int size;
+
+    private boolean hasZeroKey;
+
+    private V zeroValue;
+
+    public LongObjectMap(final int expectedSize) {
+        final int capacity = LongObjectMap.capacityFor(expectedSize);
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+    }
+
+    private LongObjectMap(final LongObjectMap<V> source) {
+        this.keys = source.keys.clone();
+        this.values = source.values.clone();
+        this.size = source.size;
+        this.hasZeroKey = source.hasZeroKey;
+        this.zeroValue = source.zeroValue;
+    }
+
+    /**
+     * @return independent copy of this map.
+     */
+    public LongObjectMap<V> copy() {
+        return new LongObjectMap<>(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(final long key) {
+        if (key == EMPTY) {
+            return this.zeroValue;
+        }
+        final long[] keys = this.keys;
+        final int mask = keys.length - 1;
+        int index = LongObjectMap.hash(key) & mask;
+        long current;
+        while ((current = keys[index]) != EMPTY) {
+            if (current == key) {
+                return (V) this.values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(final long key, final V value) {
+        if (key == EMPTY) {
+            final V previous = this.zeroValue;
+            if (!this.hasZeroKey) {
+                this.hasZeroKey = true;
+                this.size++;
+            }
+            this.zeroValue = value;
+            return previous;
+        }
+        final int mask = this.keys.length - 1;
+        int index = LongObjectMap.hash(key) & mask;
+        long current;
+        while ((current = this.keys[index]) != EMPTY) {
+            if (current == key) {
+                final V previous = (V) this.values[index];
+                this.values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        this.keys[index] = key;
+        this.values[index] = value;
+        if (++this.size > this.keys.length >> 1) {
+            this.resize(this.keys.length << 1);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(final long key) {
+        if (key == EMPTY) {
+            final V previous = this.zeroValue;
+            if (this.hasZeroKey) {
+                this.hasZeroKey = false;
+                this.zeroValue = null;
+                this.size--;
+            }
+            return previous;
+        }
+        final int mask = this.keys.length - 1;
+        int index = LongObjectMap.hash(key) & mask;
+        long current;
+        while ((current = this.keys[index]) != EMPTY) {
+            if (current == key) {
+                final V previous = (V) this.values[index];
+                this.shiftBack(index);
+                this.size--;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(final Consumer<? super V> action) {
+        if (this.hasZeroKey) {
+            action.accept(this.zeroValue);
+        }
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i] != EMPTY) {
+                action.accept((V) this.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Backward shift deletion, keeps probe sequences intact without tombstones.
+     */
+    private void shiftBack(int gap) {
+        final int mask = this.keys.length - 1;
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            final long key = this.keys[index];
+            if (key == EMPTY) {
+                break;
+            }
+            final int home = LongObjectMap.hash(key) & mask;
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                this.keys[gap] = key;
+                this.values[gap] = this.values[index];
+                gap = index;
+            }
+        }
+        this.keys[gap] = EMPTY;
+        this.values[gap] = null;
+    }
+
+    private void resize(final int capacity) {
+        final long[] oldKeys = this.keys;
+        final Object[] oldValues = this.values;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        final int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            final long key = oldKeys[i];
+            if (key != EMPTY) {
+                int index = LongObjectMap.hash(key) & mask;
+                while (this.keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                this.keys[index] = key;
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private static int capacityFor(final int expectedSize) {
+        final int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) << 1;
+        return Math.max(capacity, 8);
+    }
+
+    private static int hash(final long key) {
+        final long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
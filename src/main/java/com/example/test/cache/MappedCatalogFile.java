@@ -0,0 +1,152 @@
+package com.example.test.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Read-only view of a catalog file written by {@link CatalogFileWriter}, mapped into memory so opening it
+ * costs no more than reading the header and the author dictionary; books are decoded on lookup.
+ * <p>
+ * Layout, big-endian:
+ * <pre>
+ * header     int magic, int version, int bookCount, int authorCount,
+ *            long highWaterMark, long writtenAt, long dictionaryOffset, long recordsOffset
+ * index      bookCount x (long id, int recordOffset) sorted by id
+ * dictionary authorCount x (int length, UTF-8 author)
+ * records    int authorIndex, long createdAt, long updatedAt, then title, description and isbn
+ *            as (int length, UTF-8 value)
+ * </pre>
+ * Timestamps are microseconds since the epoch in UTC, the precision of the timestamp columns.
+ */
+public final class MappedCatalogFile implements Closeable {
+
+    static final int MAGIC = 0x424B4346;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 48;
+
+    static final int INDEX_ENTRY_SIZE = 12;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private final int bookCount;
+
+    private final String[] authors;
+
+    private final LocalDateTime highWaterMark;
+
+    private final long writtenAt;
+
+    private final int recordsOffset;
+
+    private MappedCatalogFile(final FileChannel channel, final MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a catalog file of version " + VERSION);
+        }
+        this.bookCount = buffer.getInt(8);
+        this.authors = new String[buffer.getInt(12)];
+        final long highWaterMarkMicros = buffer.getLong(16);
+        this.highWaterMark = highWaterMarkMicros == Long.MIN_VALUE ? null : MappedCatalogFile.toTime(highWaterMarkMicros);
+        this.writtenAt = buffer.getLong(24);
+        final ByteBuffer dictionary = buffer.duplicate();
+        dictionary.position((int) buffer.getLong(32));
+        for (int i = 0; i < this.authors.length; i++) {
+            this.authors[i] = MappedCatalogFile.readString(dictionary);
+        }
+        this.recordsOffset = (int) buffer.getLong(40);
+    }
+
+    public static MappedCatalogFile open(final Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MappedCatalogFile(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (final IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public int size() {
+        return this.bookCount;
+    }
+
+    /**
+     * @return latest update time of the books in the file, null if it is empty.
+     */
+    public LocalDateTime getHighWaterMark() {
+        return this.highWaterMark;
+    }
+
+    /**
+     * @return time the file was written, in milliseconds since the epoch.
+     */
+    public long getWrittenAt() {
+        return this.writtenAt;
+    }
+
+    /**
+     * @return the book, or null if it is not in the file.
+     */
+    public BookRecord get(final long id) {
+        int low = 0;
+        int high = this.bookCount - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int entry = HEADER_SIZE + mid * INDEX_ENTRY_SIZE;
+            final long midId = this.buffer.getLong(entry);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return this.readRecord(id, this.recordsOffset + this.buffer.getInt(entry + 8));
+            }
+        }
+        return null;
+    }
+
+    private BookRecord readRecord(final long id, final int offset) {
+        final ByteBuffer record = this.buffer.duplicate();
+        record.position(offset);
+        final String author = this.authors[record.getInt()];
+        final LocalDateTime createdAt = MappedCatalogFile.toTime(record.getLong());
+        final LocalDateTime updatedAt = MappedCatalogFile.toTime(record.getLong());
+        final String title = MappedCatalogFile.readString(record);
+        final String description = MappedCatalogFile.readString(record);
+        final String isbn = MappedCatalogFile.readString(record);
+        return new BookRecord(id, title, description, author, isbn, createdAt, updatedAt);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    static long toMicros(final LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime toTime(final long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
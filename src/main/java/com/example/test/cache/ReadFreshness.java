@@ -0,0 +1,51 @@
+package com.example.test.cache;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Freshness of a value served from a {@link StaleWhileRevalidateCache}, kept in a request attribute so it can
+ * be written as the Age and Warning headers of the response, also when the read ran on a worker thread.
+ */
+public final class ReadFreshness {
+
+    public static final String ATTRIBUTE = ReadFreshness.class.getName();
+
+    private final long ageSeconds;
+
+    private final StaleWhileRevalidateCache.State state;
+
+    private ReadFreshness(final long ageSeconds, final StaleWhileRevalidateCache.State state) {
+        this.ageSeconds = ageSeconds;
+        this.state = state;
+    }
+
+    /**
+     * Records the read on the current request, if there is one.
+     */
+    public static void record(final StaleWhileRevalidateCache.Read<?> read) {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, new ReadFreshness(read.getAge().getSeconds(), read.getState()),
+                    RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public long getAgeSeconds() {
+        return this.ageSeconds;
+    }
+
+    /**
+     * @return value of the Warning header, null if the value is fresh.
+     */
+    public String toWarningHeader() {
+        switch (this.state) {
+            case STALE:
+                return "110 - \"Response is Stale\"";
+            case REVALIDATION_FAILED:
+                return "111 - \"Revalidation Failed\"";
+            default:
+                return null;
+        }
+    }
+}
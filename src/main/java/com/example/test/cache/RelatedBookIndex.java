@@ -0,0 +1,451 @@
+package com.example.test.cache;
+
+import com.example.test.domain.Book;
+import com.example.test.event.BookChangedEvent;
+import com.example.test.event.BooksImportedEvent;
+import com.example.test.event.BooksInvalidatedEvent;
+import com.example.test.repository.BookSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+
+/**
+ * Related books of every book, computed ahead of time so a lookup only copies a precomputed list.
+ * A book is related to the books of the same author and to books sharing words of its title, scored by
+ * {@code (same author ? 1 : 0) + |shared title tokens| / |all title tokens of both|}; the best
+ * {@code maxRelated} are kept, ties by id.
+ * <p>
+ * Candidates are found through postings by author and by title token. Postings longer than
+ * {@code maxPostings} are cut to their lowest ids, so very common authors or words do not make the work per
+ * book grow with the catalog. Committed changes are applied in order on a background thread: the list of the
+ * changed book is recomputed, and in the lists of the books sharing its old or new author or tokens only that
+ * book is removed or inserted at the place of its score. A full list losing a book is left one short rather than
+ * searched again; the whole index is rebuilt periodically, which also repairs that and what the cut postings miss.
+ */
+@Slf4j
+public class RelatedBookIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "for", "in", "of", "on", "the",
+            "to", "with");
+
+    private static final long[] NONE = new long[0];
+
+    private final BookSource bookSource;
+
+    private final int maxRelated;
+
+    private final int maxPostings;
+
+    private final ExecutorService executor;
+
+    private final Object writeLock = new Object();
+
+    private final Object rebuildLock = new Object();
+
+    private volatile State state = new State();
+
+    private volatile boolean loaded;
+
+    /**
+     * Ids changed while a rebuild reads the catalog, guarded by the write lock, null when no rebuild runs.
+     */
+    private Set<Long> changedDuringRebuild;
+
+    public RelatedBookIndex(final BookSource bookSource, final int maxRelated, final int maxPostings,
+                            final ExecutorService executor) {
+        this.bookSource = bookSource;
+        this.maxRelated = maxRelated;
+        this.maxPostings = maxPostings;
+        this.executor = executor;
+    }
+
+    public boolean isLoaded() {
+        return this.loaded;
+    }
+
+    public int size() {
+        return this.state.entries.size();
+    }
+
+    /**
+     * @return up to {@code limit} related books, best first, or null if the index does not know the book.
+     */
+    public List<BookRecord> getRelated(final long id, final int limit) {
+        final State current = this.state;
+        if (!current.entries.containsKey(id)) {
+            return null;
+        }
+        final long[] related = current.related.getOrDefault(id, NONE);
+        final List<BookRecord> records = new ArrayList<>(Math.min(limit, related.length));
+        for (int i = 0; i < related.length && records.size() < limit; i++) {
+            final Entry entry = current.entries.get(related[i]);
+            if (entry != null) {
+                records.add(entry.record);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Builds a new index from the catalog and replaces the current one. Changes committed meanwhile are
+     * read again and applied to the new index before it is published.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${bookstore.related.rebuild-interval:PT30M}",
+            fixedDelayString = "${bookstore.related.rebuild-interval:PT30M}")
+    public void rebuild() {
+        synchronized (this.rebuildLock) {
+            this.rebuildExclusively();
+        }
+    }
+
+    private void rebuildExclusively() {
+        final long start = System.nanoTime();
+        synchronized (this.writeLock) {
+            this.changedDuringRebuild = new HashSet<>();
+        }
+        final State rebuilt = new State();
+        try {
+            for (final Book book : this.bookSource.findAll()) {
+                rebuilt.add(RelatedBookIndex.entry(BookRecord.of(book)));
+            }
+            for (final Long id : rebuilt.entries.keySet()) {
+                rebuilt.related.put(id, this.computeRelated(rebuilt, id));
+            }
+        } catch (final RuntimeException ex) {
+            synchronized (this.writeLock) {
+                this.changedDuringRebuild = null;
+            }
+            throw ex;
+        }
+        synchronized (this.writeLock) {
+            final Set<Long> changed = this.changedDuringRebuild;
+            this.changedDuringRebuild = null;
+            this.reload(rebuilt, changed);
+            this.state = rebuilt;
+            this.loaded = true;
+        }
+        log.info("RelatedBookIndex rebuilt size={} tookMs={}",
+                rebuilt.entries.size(), (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(final BookChangedEvent event) {
+        final long id = event.getId();
+        final BookRecord record = event.getType() == BookChangedEvent.Type.DELETED
+                ? null : BookRecord.of(event.getBook());
+        this.submit(() -> {
+            synchronized (this.writeLock) {
+                if (this.changedDuringRebuild != null) {
+                    this.changedDuringRebuild.add(id);
+                }
+                this.apply(this.state, id, record);
+            }
+        });
+    }
+
+    @EventListener
+    public void onBooksImported(final BooksImportedEvent event) {
+        if (event.getImported() > 0) {
+            this.rebuild();
+        }
+    }
+
+    @EventListener
+    public void onBooksInvalidated(final BooksInvalidatedEvent event) {
+        if (event.isAll()) {
+            this.rebuild();
+            return;
+        }
+        this.submit(() -> {
+            synchronized (this.writeLock) {
+                if (this.changedDuringRebuild != null) {
+                    this.changedDuringRebuild.addAll(event.getIds());
+                }
+                this.reload(this.state, event.getIds());
+            }
+        });
+    }
+
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Runs the update after the ones submitted before it. A failed update is logged and left to the next rebuild.
+     */
+    private void submit(final Runnable update) {
+        try {
+            this.executor.execute(() -> {
+                try {
+                    update.run();
+                } catch (final RuntimeException ex) {
+                    log.error("RelatedBookIndex update failed", ex);
+                }
+            });
+        } catch (final RejectedExecutionException ex) {
+            log.debug("RelatedBookIndex update dropped, shutting down");
+        }
+    }
+
+    /**
+     * Reads the books from the database and applies them, books not found are removed.
+     */
+    private void reload(final State target, final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        final Set<Long> missing = new HashSet<>(ids);
+        for (final Book book : this.bookSource.findAllById(ids)) {
+            missing.remove(book.getId());
+            this.apply(target, book.getId(), BookRecord.of(book));
+        }
+        for (final Long id : missing) {
+            this.apply(target, id, null);
+        }
+    }
+
+    /**
+     * Replaces the book, or removes it if the record is null, recomputes its list and patches the lists of the
+     * books it shares postings with. The entry is replaced in one put, so readers never miss an updated book.
+     */
+    private void apply(final State target, final long id, final BookRecord record) {
+        final Entry previous = target.entries.get(id);
+        final Set<Long> affected = new HashSet<>();
+        if (previous != null) {
+            this.collectCandidates(target, previous, affected);
+            target.removePostings(previous);
+        }
+        final Entry entry = record == null ? null : RelatedBookIndex.entry(record);
+        if (entry == null) {
+            target.entries.remove(id);
+            target.related.remove(id);
+        } else {
+            target.add(entry);
+            this.collectCandidates(target, entry, affected);
+            target.related.put(id, this.computeRelated(target, id));
+        }
+        affected.remove(id);
+        for (final Long affectedId : affected) {
+            final Entry other = target.entries.get(affectedId);
+            final long[] related = target.related.get(affectedId);
+            if (other != null && related != null) {
+                target.related.put(affectedId, this.patch(target, other, related, id, entry));
+            }
+        }
+    }
+
+    /**
+     * @return the related ids of the entry without the changed book, and with it at the place of its score if it
+     * is related. A full list may have missed better books than the changed one, so it is not appended there.
+     */
+    private long[] patch(final State target, final Entry entry, final long[] related, final long changedId,
+                         final Entry changed) {
+        final double score = changed == null ? 0.0 : RelatedBookIndex.score(entry, changed);
+        final long[] patched = new long[Math.min(this.maxRelated, related.length + 1)];
+        int size = 0;
+        boolean inserted = score <= 0.0;
+        for (final long relatedId : related) {
+            if (relatedId == changedId) {
+                continue;
+            }
+            if (!inserted) {
+                final Entry current = target.entries.get(relatedId);
+                final double currentScore = current == null ? 0.0 : RelatedBookIndex.score(entry, current);
+                if (score > currentScore || (score == currentScore && changedId < relatedId)) {
+                    patched[size++] = changedId;
+                    inserted = true;
+                }
+            }
+            if (size < patched.length) {
+                patched[size++] = relatedId;
+            }
+        }
+        if (!inserted && related.length < this.maxRelated) {
+            patched[size++] = changedId;
+        }
+        return size == patched.length ? patched : Arrays.copyOf(patched, size);
+    }
+
+    private long[] computeRelated(final State target, final long id) {
+        final Entry entry = target.entries.get(id);
+        final Set<Long> candidates = new HashSet<>();
+        this.collectCandidates(target, entry, candidates);
+        candidates.remove(id);
+        final PriorityQueue<Scored> best = new PriorityQueue<>(this.maxRelated + 1);
+        for (final Long candidateId : candidates) {
+            final Entry candidate = target.entries.get(candidateId);
+            final double score = RelatedBookIndex.score(entry, candidate);
+            if (score > 0.0) {
+                best.add(new Scored(candidateId, score));
+                if (best.size() > this.maxRelated) {
+                    best.poll();
+                }
+            }
+        }
+        final long[] related = new long[best.size()];
+        for (int i = related.length - 1; i >= 0; i--) {
+            related[i] = best.poll().id;
+        }
+        return related;
+    }
+
+    private void collectCandidates(final State target, final Entry entry, final Set<Long> candidates) {
+        RelatedBookIndex.addCapped(target.byAuthor.get(entry.author), this.maxPostings, candidates);
+        for (final String token : entry.tokens) {
+            RelatedBookIndex.addCapped(target.byToken.get(token), this.maxPostings, candidates);
+        }
+    }
+
+    private static void addCapped(final TreeSet<Long> postings, final int max, final Set<Long> candidates) {
+        if (postings == null) {
+            return;
+        }
+        int added = 0;
+        for (final Long id : postings) {
+            if (added++ == max) {
+                return;
+            }
+            candidates.add(id);
+        }
+    }
+
+    private static double score(final Entry entry, final Entry candidate) {
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < entry.tokens.length && j < candidate.tokens.length) {
+            final int compared = entry.tokens[i].compareTo(candidate.tokens[j]);
+            if (compared == 0) {
+                shared++;
+                i++;
+                j++;
+            } else if (compared < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        final int union = entry.tokens.length + candidate.tokens.length - shared;
+        final double titleSimilarity = union == 0 ? 0.0 : (double) shared / union;
+        final boolean sameAuthor = !entry.author.isEmpty() && entry.author.equals(candidate.author);
+        return (sameAuthor ? 1.0 : 0.0) + titleSimilarity;
+    }
+
+    private static Entry entry(final BookRecord record) {
+        final String author = record.getAuthor() == null ? "" : record.getAuthor().trim().toLowerCase(Locale.ROOT);
+        return new Entry(record, author, RelatedBookIndex.tokens(record.getTitle()));
+    }
+
+    /**
+     * @return distinct lower-case words of the title without stop words and single characters, sorted.
+     */
+    static String[] tokens(final String title) {
+        if (title == null) {
+            return new String[0];
+        }
+        final TreeSet<String> tokens = new TreeSet<>();
+        for (final String token : TOKEN_SEPARATOR.split(title.toLowerCase(Locale.ROOT))) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private static final class Entry {
+
+        private final BookRecord record;
+
+        private final String author;
+
+        private final String[] tokens;
+
+        private Entry(final BookRecord record, final String author, final String[] tokens) {
+            this.record = record;
+            this.author = author;
+            this.tokens = tokens;
+        }
+    }
+
+    /**
+     * Candidate ordered worst first, so the head of a bounded queue is the one to drop.
+     */
+    private static final class Scored implements Comparable<Scored> {
+
+        private final long id;
+
+        private final double score;
+
+        private Scored(final long id, final double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(final Scored other) {
+            final int byScore = Double.compare(this.score, other.score);
+            return byScore != 0 ? byScore : Long.compare(other.id, this.id);
+        }
+    }
+
+    /**
+     * Entries and related lists are read without locking, postings only under the write lock.
+     */
+    private static final class State {
+
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+        private final Map<Long, long[]> related = new ConcurrentHashMap<>();
+
+        private final Map<String, TreeSet<Long>> byAuthor = new HashMap<>();
+
+        private final Map<String, TreeSet<Long>> byToken = new HashMap<>();
+
+        private void add(final Entry entry) {
+            final long id = entry.record.getId();
+            this.entries.put(id, entry);
+            if (!entry.author.isEmpty()) {
+                this.byAuthor.computeIfAbsent(entry.author, key -> new TreeSet<>()).add(id);
+            }
+            for (final String token : entry.tokens) {
+                this.byToken.computeIfAbsent(token, key -> new TreeSet<>()).add(id);
+            }
+        }
+
+        private void removePostings(final Entry entry) {
+            final long id = entry.record.getId();
+            State.removePosting(this.byAuthor, entry.author, id);
+            for (final String token : entry.tokens) {
+                State.removePosting(this.byToken, token, id);
+            }
+        }
+
+        private static void removePosting(final Map<String, TreeSet<Long>> postings, final String key, final long id) {
+            final TreeSet<Long> ids = postings.get(key);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.test.cache;
+
+import com.example.test.domain.Book;
+import com.example.test.event.BookChangedEvent;
+import com.example.test.event.BooksImportedEvent;
+import com.example.test.event.BooksInvalidatedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Stale-while-revalidate reads of single books and of the book list in front of the database, keeping
+ * readers served through short database outages. Committed changes of this instance replace or invalidate
+ * the cached values right away, changes of other instances once the invalidation bus reports them, or
+ * without the bus once a value passes its soft TTL.
+ */
+public class StaleBookCache {
+
+    private static final String LIST_KEY = "all";
+
+    private final StaleWhileRevalidateCache<Long, BookRecord> books;
+
+    private final StaleWhileRevalidateCache<String, List<BookRecord>> lists;
+
+    private final ExecutorService refreshExecutor;
+
+    public StaleBookCache(final StaleWhileRevalidateCache<Long, BookRecord> books,
+                          final StaleWhileRevalidateCache<String, List<BookRecord>> lists,
+                          final ExecutorService refreshExecutor) {
+        this.books = books;
+        this.lists = lists;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    public Optional<Book> findById(final Long id, final Supplier<Optional<Book>> loader) {
+        return this.books.get(id, () -> loader.get().map(BookRecord::of))
+                .map(read -> {
+                    ReadFreshness.record(read);
+                    return read.getValue().toEntity();
+                });
+    }
+
+    public List<Book> findAll(final Supplier<List<Book>> loader) {
+        return this.lists.get(LIST_KEY, () -> Optional.of(StaleBookCache.toRecords(loader.get())))
+                .map(read -> {
+                    ReadFreshness.record(read);
+                    return StaleBookCache.toEntities(read.getValue());
+                })
+                .orElseGet(Collections::emptyList);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(final BookChangedEvent event) {
+        if (event.getType() == BookChangedEvent.Type.DELETED) {
+            this.books.invalidate(event.getId());
+        } else {
+            this.books.put(event.getId(), BookRecord.of(event.getBook()));
+        }
+        this.lists.invalidate(LIST_KEY);
+    }
+
+    @EventListener
+    public void onBooksImported(final BooksImportedEvent event) {
+        if (event.getImported() > 0) {
+            this.lists.invalidate(LIST_KEY);
+        }
+    }
+
+    @EventListener
+    public void onBooksInvalidated(final BooksInvalidatedEvent event) {
+        if (event.isAll()) {
+            this.books.invalidateAll();
+        } else {
+            event.getIds().forEach(this.books::invalidate);
+        }
+        this.lists.invalidate(LIST_KEY);
+    }
+
+    public void shutdown() {
+        this.refreshExecutor.shutdownNow();
+    }
+
+    private static List<BookRecord> toRecords(final List<Book> books) {
+        final BookRecord[] records = new BookRecord[books.size()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = BookRecord.of(books.get(i));
+        }
+        return Collections.unmodifiableList(Arrays.asList(records));
+    }
+
+    private static List<Book> toEntities(final List<BookRecord> records) {
+        final Book[] books = new Book[records.size()];
+        for (int i = 0; i < books.length; i++) {
+            books[i] = records.get(i).toEntity();
+        }
+        return Arrays.asList(books);
+    }
+}
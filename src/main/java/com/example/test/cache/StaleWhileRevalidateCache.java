@@ -0,0 +1,262 @@
+package com.example.test.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Cache serving values past their soft TTL while they are reloaded in the background.
+ * <ul>
+ * <li>younger than the soft TTL: served fresh</li>
+ * <li>between the soft and the hard TTL: served stale, one background reload per key is started; a failing
+ * reload keeps the value, so errors and timeouts of the loader are not seen by readers</li>
+ * <li>older than the hard TTL, or missing: loaded on the caller's thread, failures are thrown</li>
+ * </ul>
+ * A loaded value is only stored if its key was not invalidated or replaced while it was loading, so a load
+ * racing with a write never brings back the value from before the write. Writes are counted per key, and only
+ * for the keys being loaded, so writes to other keys do not discard the load. New keys are not cached once
+ * {@code maxEntries} keys are held. Reads are counted as {@code bookstore.swr.reads} by name and state.
+ *
+ * @param <K> key type.
+ * @param <V> value type, shared by all readers and therefore immutable.
+ */
+@Slf4j
+public class StaleWhileRevalidateCache<K, V> {
+
+    public enum State {
+        FRESH, STALE, REVALIDATION_FAILED
+    }
+
+    /**
+     * A cached or loaded value.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Read<V> {
+
+        private final V value;
+
+        private final Duration age;
+
+        private final State state;
+    }
+
+    private static final Runnable NOTHING = () -> {
+    };
+
+    private final String name;
+
+    private final long softTtlNanos;
+
+    private final long hardTtlNanos;
+
+    private final int maxEntries;
+
+    private final Executor refreshExecutor;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Write counts of the keys with loads in flight, removed with the last load of the key.
+     */
+    private final Map<K, Stamp> stamps = new ConcurrentHashMap<>();
+
+    private final Counter freshReads;
+
+    private final Counter staleReads;
+
+    private final Counter loads;
+
+    private final Counter refreshFailures;
+
+    public StaleWhileRevalidateCache(final String name, final Duration softTtl, final Duration hardTtl,
+                                     final int maxEntries, final Executor refreshExecutor,
+                                     final MeterRegistry meterRegistry) {
+        this.name = name;
+        this.softTtlNanos = softTtl.toNanos();
+        this.hardTtlNanos = hardTtl.toNanos();
+        this.maxEntries = maxEntries;
+        this.refreshExecutor = refreshExecutor;
+        final Tags tags = Tags.of("name", name);
+        this.freshReads = meterRegistry.counter("bookstore.swr.reads", tags.and("state", "fresh"));
+        this.staleReads = meterRegistry.counter("bookstore.swr.reads", tags.and("state", "stale"));
+        this.loads = meterRegistry.counter("bookstore.swr.reads", tags.and("state", "loaded"));
+        this.refreshFailures = meterRegistry.counter("bookstore.swr.refresh.failures", tags);
+        meterRegistry.gaugeMapSize("bookstore.swr.entries", tags, this.entries);
+    }
+
+    /**
+     * @param loader loads the current value, empty if there is none.
+     * @return the cached or loaded value, empty if the loader found none.
+     */
+    public Optional<Read<V>> get(final K key, final Supplier<Optional<V>> loader) {
+        final Entry<V> entry = this.entries.get(key);
+        if (entry != null) {
+            final long age = System.nanoTime() - entry.loadedAtNanos;
+            if (age < this.softTtlNanos) {
+                this.freshReads.increment();
+                return Optional.of(new Read<>(entry.value, Duration.ofNanos(age), State.FRESH));
+            }
+            if (age < this.hardTtlNanos) {
+                this.staleReads.increment();
+                this.refresh(key, entry, loader);
+                return Optional.of(new Read<>(entry.value, Duration.ofNanos(age),
+                        entry.refreshFailed ? State.REVALIDATION_FAILED : State.STALE));
+            }
+        }
+        this.loads.increment();
+        return this.load(key, loader).map(value -> new Read<>(value, Duration.ZERO, State.FRESH));
+    }
+
+    /**
+     * Stores the value written by the caller, replacing the cached one and discarding loads in flight.
+     */
+    public void put(final K key, final V value) {
+        this.written(key);
+        if (this.entries.containsKey(key) || this.entries.size() < this.maxEntries) {
+            this.entries.put(key, new Entry<>(value, System.nanoTime()));
+        }
+    }
+
+    public void invalidate(final K key) {
+        this.written(key);
+        this.entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        this.stamps.keySet().forEach(this::written);
+        this.entries.clear();
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    private Optional<V> load(final K key, final Supplier<Optional<V>> loader) {
+        final long writesBefore = this.beginLoad(key);
+        Runnable store = NOTHING;
+        try {
+            final Optional<V> value = loader.get();
+            store = () -> {
+                if (value.isEmpty()) {
+                    this.entries.remove(key);
+                } else if (this.entries.containsKey(key) || this.entries.size() < this.maxEntries) {
+                    this.entries.put(key, new Entry<>(value.get(), System.nanoTime()));
+                }
+            };
+            return value;
+        } finally {
+            this.endLoad(key, writesBefore, store);
+        }
+    }
+
+    private void refresh(final K key, final Entry<V> entry, final Supplier<Optional<V>> loader) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.refreshExecutor.execute(() -> {
+                final long writesBefore = this.beginLoad(key);
+                Runnable store = NOTHING;
+                try {
+                    final Optional<V> value = loader.get();
+                    store = () -> {
+                        if (value.isEmpty()) {
+                            this.entries.remove(key, entry);
+                        } else {
+                            this.entries.replace(key, entry, new Entry<>(value.get(), System.nanoTime()));
+                        }
+                    };
+                } catch (final RuntimeException ex) {
+                    this.refreshFailures.increment();
+                    log.warn("StaleWhileRevalidateCache refresh failed name={} key={}: {}", this.name, key,
+                            ex.toString());
+                    entry.refreshFailed = true;
+                    entry.refreshing.set(false);
+                } finally {
+                    if (!this.endLoad(key, writesBefore, store)) {
+                        entry.refreshing.set(false);
+                    }
+                }
+            });
+        } catch (final RejectedExecutionException ex) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    /**
+     * @return the write count of the key, which is now held until the matching {@link #endLoad}.
+     */
+    private long beginLoad(final K key) {
+        final long[] writes = new long[1];
+        this.stamps.compute(key, (k, stamp) -> {
+            final Stamp current = stamp != null ? stamp : new Stamp();
+            current.loads++;
+            writes[0] = current.writes;
+            return current;
+        });
+        return writes[0];
+    }
+
+    /**
+     * Runs the store if the key was not written since the load began, atomically with respect to writes of the key.
+     *
+     * @return whether the store ran.
+     */
+    private boolean endLoad(final K key, final long writesBefore, final Runnable store) {
+        final boolean[] stored = new boolean[1];
+        this.stamps.compute(key, (k, stamp) -> {
+            if (stamp.writes == writesBefore) {
+                store.run();
+                stored[0] = true;
+            }
+            return --stamp.loads == 0 ? null : stamp;
+        });
+        return stored[0];
+    }
+
+    private void written(final K key) {
+        this.stamps.computeIfPresent(key, (k, stamp) -> {
+            stamp.writes++;
+            return stamp;
+        });
+    }
+
+    /**
+     * Guarded by the lock of its key in {@link #stamps}.
+     */
+    private static final class Stamp {
+
+        private long writes;
+
+        private int loads;
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+
+        private final long loadedAtNanos;
+
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private volatile boolean refreshFailed;
+
+        private Entry(final V value, final long loadedAtNanos) {
+            this.value = value;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+}
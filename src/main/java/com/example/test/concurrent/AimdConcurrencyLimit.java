@@ -0,0 +1,112 @@
+package com.example.test.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit adapted to the measured latency with additive increase, multiplicative decrease:
+ * a request slower than the latency threshold, or failing with a server error, lowers the limit by the
+ * backoff ratio, at most once per latency threshold so that the slow requests of one burst, all admitted
+ * under the old limit, count as a single congestion signal; a faster one while at least half of the limit
+ * is in use raises it by {@code 1 / limit}, i.e. by one per limit's worth of requests. Requests over the limit are rejected instead of queued, so
+ * the requests admitted keep the latency of an unloaded database and pool.
+ * <p>
+ * Published as {@code bookstore.limiter.limit}, {@code bookstore.limiter.in-flight} and
+ * {@code bookstore.limiter.completed} by outcome, tagged with the name of the limit.
+ */
+public class AimdConcurrencyLimit {
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long latencyThresholdNanos;
+
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    /**
+     * Time of the last decrease, guarded by this.
+     */
+    private long lastDecreaseNanos;
+
+    private final Counter succeeded;
+
+    private final Counter dropped;
+
+    public AimdConcurrencyLimit(final String name, final int initialLimit, final int minLimit, final int maxLimit,
+                                final Duration latencyThreshold, final double backoffRatio,
+                                final MeterRegistry meterRegistry) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.lastDecreaseNanos = System.nanoTime() - this.latencyThresholdNanos;
+        final Tags tags = Tags.of("name", name);
+        meterRegistry.gauge("bookstore.limiter.limit", tags, this, AimdConcurrencyLimit::getLimit);
+        meterRegistry.gauge("bookstore.limiter.in-flight", tags, this.inFlight);
+        this.succeeded = meterRegistry.counter("bookstore.limiter.completed", tags.and("outcome", "success"));
+        this.dropped = meterRegistry.counter("bookstore.limiter.completed", tags.and("outcome", "dropped"));
+    }
+
+    /**
+     * @return whether the request is admitted, in which case {@link #release(long, boolean)} must follow.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            final int current = this.inFlight.get();
+            if (current >= (int) this.limit) {
+                return false;
+            }
+            if (this.inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param latencyNanos time the admitted request took.
+     * @param failed       whether it failed with a server error.
+     */
+    public void release(final long latencyNanos, final boolean failed) {
+        final int current = this.inFlight.getAndDecrement();
+        if (failed || latencyNanos > this.latencyThresholdNanos) {
+            this.dropped.increment();
+            this.decrease();
+        } else {
+            this.succeeded.increment();
+            this.increase(current);
+        }
+    }
+
+    public int getLimit() {
+        return (int) this.limit;
+    }
+
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    private synchronized void decrease() {
+        final long now = System.nanoTime();
+        if (now - this.lastDecreaseNanos < this.latencyThresholdNanos) {
+            return;
+        }
+        this.lastDecreaseNanos = now;
+        this.limit = Math.max(this.minLimit, this.limit * this.backoffRatio);
+    }
+
+    private synchronized void increase(final int inFlightBefore) {
+        if (inFlightBefore * 2 >= this.limit) {
+            this.limit = Math.min(this.maxLimit, this.limit + 1.0 / this.limit);
+        }
+    }
+}
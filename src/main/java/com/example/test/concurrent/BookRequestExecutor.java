@@ -0,0 +1,148 @@
+package com.example.test.concurrent;
+
+import com.example.test.datasource.PrimaryPin;
+import com.example.test.timing.RequestTiming;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded executor for the service calls of the async book endpoints.
+ * A full queue rejects the call right away with {@link RejectedExecutionException}, a call which does not
+ * complete within the timeout fails with {@link TimeoutException}; writes only time out before they start.
+ * Calls which already timed out while queued are dropped instead of being run, so a stalled database does
+ * not leave a backlog of dead work.
+ * Pool, queue and execution time are published as {@code executor.*} metrics with {@code name=book-api}.
+ * <p>
+ * Deliberately not an {@link java.util.concurrent.Executor} bean, which would replace the application task
+ * executor of Spring Boot.
+ */
+@Slf4j
+public class BookRequestExecutor {
+
+    private static final String NAME = "book-api";
+
+    private final ThreadPoolExecutor threadPool;
+
+    private final ExecutorService executorService;
+
+    private final long timeoutNanos;
+
+    private final Counter rejected;
+
+    private final Counter timedOut;
+
+    private final Counter expired;
+
+    public BookRequestExecutor(final int poolSize, final int queueCapacity, final Duration timeout,
+                               final MeterRegistry meterRegistry) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.threadPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, NAME + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executorService = ExecutorServiceMetrics.monitor(meterRegistry, this.threadPool, NAME,
+                Collections.emptyList());
+        this.timeoutNanos = timeout.toNanos();
+        this.rejected = meterRegistry.counter("bookstore.async.rejected");
+        this.timedOut = meterRegistry.counter("bookstore.async.timeouts");
+        this.expired = meterRegistry.counter("bookstore.async.expired");
+    }
+
+    /**
+     * Runs the supplier on the pool, with the timing context, the request and the primary pin of the calling
+     * request. The worker binds its own attributes over the servlet request: the attributes of the calling
+     * thread are completed once the controller method returns and reject any write from the worker after that.
+     *
+     * @throws RejectedExecutionException if the queue is full.
+     */
+    public <T> CompletableFuture<T> supply(final Supplier<T> supplier) {
+        return this.submit(supplier)
+                .orTimeout(this.timeoutNanos, TimeUnit.NANOSECONDS)
+                .whenComplete((result, ex) -> {
+                    if (ex instanceof TimeoutException) {
+                        this.timedOut.increment();
+                    }
+                });
+    }
+
+    /**
+     * Runs a write like {@link #supply(Supplier)}, but the timeout only applies while it is queued: a write
+     * which expires there fails without being run, a started write is awaited until it completes, so a
+     * timeout always means the write was not applied.
+     *
+     * @throws RejectedExecutionException if the queue is full.
+     */
+    public <T> CompletableFuture<T> supplyWrite(final Supplier<T> supplier) {
+        return this.submit(supplier);
+    }
+
+    public void shutdown() {
+        this.executorService.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(final Supplier<T> supplier) {
+        final RequestTiming timing = RequestTiming.current();
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        final HttpServletRequest request = attributes instanceof ServletRequestAttributes
+                ? ((ServletRequestAttributes) attributes).getRequest()
+                : null;
+        final boolean pinned = PrimaryPin.isPinned();
+        final long deadline = System.nanoTime() + this.timeoutNanos;
+        try {
+            return CompletableFuture.supplyAsync(() -> this.call(supplier, timing, request, pinned, deadline),
+                    this.executorService);
+        } catch (final RejectedExecutionException ex) {
+            this.rejected.increment();
+            log.warn("Rejected book request, active={} queued={}",
+                    this.threadPool.getActiveCount(), this.threadPool.getQueue().size());
+            throw ex;
+        }
+    }
+
+    private <T> T call(final Supplier<T> supplier, final RequestTiming timing, final HttpServletRequest request,
+                       final boolean pinned, final long deadline) {
+        if (System.nanoTime() - deadline >= 0L) {
+            this.expired.increment();
+            throw new CompletionException(new TimeoutException("Request expired in the queue"));
+        }
+        if (timing != null) {
+            RequestTiming.bind(timing);
+        }
+        if (request != null) {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        }
+        if (pinned) {
+            PrimaryPin.pin();
+        }
+        try {
+            return supplier.get();
+        } finally {
+            RequestTiming.unbind();
+            RequestContextHolder.resetRequestAttributes();
+            PrimaryPin.unpin();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.test.concurrent;
+
+import com.example.test.domain.Book;
+import com.example.test.event.BookChangedEvent;
+import com.example.test.repository.BookRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind pipeline inserting created books in group commits.
+ * Books are queued in a lock-free queue bounded by a CAS maintained counter and taken by a single flusher
+ * thread, which commits a group once it holds {@code maxBatchSize} books or {@code maxDelay} passed since
+ * its first book. A group is inserted with one JDBC batch in one transaction; if that fails its books are
+ * retried one transaction each, so a single bad book does not fail the others. Any failure completes the
+ * futures of its books, the flusher keeps running. A book counts against the queue capacity until its group
+ * is committed. Callers wait at most the commit timeout, the book may still be committed after it.
+ * Queue depth, group size and commit latency are published as {@code bookstore.write-behind.*} metrics.
+ */
+@Slf4j
+public class GroupCommitBookWriter {
+
+    private final BookRepository bookRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int maxBatchSize;
+
+    private final long maxDelayNanos;
+
+    private final int queueCapacity;
+
+    private final long offerTimeoutNanos;
+
+    private final long commitTimeoutNanos;
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    private final Thread flusher;
+
+    private volatile boolean running = true;
+
+    /**
+     * Whether the flusher found the queue empty and parks until a book is submitted.
+     */
+    private volatile boolean idle;
+
+    private final DistributionSummary batchSize;
+
+    private final Timer commitLatency;
+
+    private final Counter rejected;
+
+    public GroupCommitBookWriter(final BookRepository bookRepository, final EntityManager entityManager,
+                                 final TransactionTemplate transactionTemplate,
+                                 final ApplicationEventPublisher eventPublisher,
+                                 final int maxBatchSize, final Duration maxDelay, final int queueCapacity,
+                                 final Duration offerTimeout, final Duration commitTimeout,
+                                 final MeterRegistry meterRegistry) {
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.queueCapacity = queueCapacity;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.commitTimeoutNanos = commitTimeout.toNanos();
+        meterRegistry.gauge("bookstore.write-behind.queue.depth", this.queueSize);
+        this.batchSize = DistributionSummary.builder("bookstore.write-behind.batch.size")
+                .register(meterRegistry);
+        this.commitLatency = Timer.builder("bookstore.write-behind.commit.latency")
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter("bookstore.write-behind.rejected");
+        this.flusher = new Thread(this::flushLoop, "write-behind");
+        this.flusher.setDaemon(true);
+    }
+
+    public void start() {
+        this.flusher.start();
+    }
+
+    /**
+     * Queues the book for insertion, an id set on the book is ignored.
+     *
+     * @return the saved book, completed once its group committed, or with a {@link java.util.concurrent.TimeoutException}
+     * after the commit timeout.
+     * @throws RejectedExecutionException if the queue stays full for the offer timeout.
+     */
+    public CompletableFuture<Book> submit(final Book book) {
+        if (!this.running || !this.reserve()) {
+            this.rejected.increment();
+            throw new RejectedExecutionException("Write-behind queue is full");
+        }
+        book.setId(null);
+        final Pending pending = new Pending(book);
+        this.queue.offer(pending);
+        if (this.idle || this.queueSize.get() >= this.maxBatchSize) {
+            LockSupport.unpark(this.flusher);
+        }
+        return pending.future.orTimeout(this.commitTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public int getQueueSize() {
+        return this.queueSize.get();
+    }
+
+    /**
+     * Stops accepting books and commits the queued ones.
+     */
+    public void shutdown() throws InterruptedException {
+        this.running = false;
+        LockSupport.unpark(this.flusher);
+        this.flusher.join(TimeUnit.SECONDS.toMillis(30));
+        Pending pending;
+        while ((pending = this.queue.poll()) != null) {
+            pending.future.completeExceptionally(new RejectedExecutionException("Write-behind was shut down"));
+        }
+    }
+
+    private boolean reserve() {
+        final long deadline = System.nanoTime() + this.offerTimeoutNanos;
+        long backoff = 1_000L;
+        while (true) {
+            final int size = this.queueSize.get();
+            if (size < this.queueCapacity) {
+                if (this.queueSize.compareAndSet(size, size + 1)) {
+                    return true;
+                }
+                continue;
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0L || !this.running) {
+                return false;
+            }
+            LockSupport.parkNanos(Math.min(backoff, remaining));
+            backoff = Math.min(backoff * 2L, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    private void flushLoop() {
+        final List<Pending> group = new ArrayList<>(this.maxBatchSize);
+        while (this.running || !this.queue.isEmpty()) {
+            final Pending first = this.queue.poll();
+            if (first == null) {
+                // a submit after the idle flag is set unparks, one before it is seen by the check
+                this.idle = true;
+                if (this.queue.isEmpty()) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+                }
+                this.idle = false;
+                continue;
+            }
+            group.add(first);
+            final long deadline = System.nanoTime() + this.maxDelayNanos;
+            while (group.size() < this.maxBatchSize) {
+                final Pending next = this.queue.poll();
+                if (next != null) {
+                    group.add(next);
+                    continue;
+                }
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L || !this.running) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            this.commit(group);
+            this.queueSize.addAndGet(-group.size());
+            group.clear();
+        }
+    }
+
+    private void commit(final List<Pending> group) {
+        final long start = System.nanoTime();
+        try {
+            this.insert(group);
+            this.batchSize.record(group.size());
+            group.forEach(pending -> pending.future.complete(pending.book));
+        } catch (final RuntimeException ex) {
+            log.warn("Group commit of {} books failed, retrying them one by one", group.size(), ex);
+            for (final Pending pending : group) {
+                pending.book.setId(null);
+                try {
+                    this.insert(List.of(pending));
+                    this.batchSize.record(1);
+                    pending.future.complete(pending.book);
+                } catch (final Throwable single) {
+                    pending.future.completeExceptionally(single);
+                }
+            }
+        } catch (final Throwable ex) {
+            log.error("Group commit of {} books failed", group.size(), ex);
+            group.forEach(pending -> pending.future.completeExceptionally(ex));
+        } finally {
+            this.commitLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void insert(final List<Pending> group) {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.entityManager.unwrap(Session.class).setJdbcBatchSize(group.size());
+            for (final Pending pending : group) {
+                this.bookRepository.save(pending.book);
+                this.eventPublisher.publishEvent(BookChangedEvent.created(pending.book));
+            }
+        });
+    }
+
+    private static final class Pending {
+
+        private final Book book;
+
+        private final CompletableFuture<Book> future = new CompletableFuture<>();
+
+        private Pending(final Book book) {
+            this.book = book;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.test.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the load, callers arriving while it is
+ * in flight wait for it and share its result or exception. A load is forgotten as soon as it finishes, so a
+ * caller arriving afterwards, e.g. after a write, never gets an older result.
+ * <p>
+ * In-flight loads are kept in lock-striped maps, each holding at most {@code maxInFlight / stripes} keys;
+ * a caller finding its stripe full runs its own load. Coalesced and bypassing callers are counted as
+ * {@code bookstore.single-flight.coalesced} and {@code bookstore.single-flight.bypassed}.
+ *
+ * @param <K> key type.
+ * @param <V> result type, shared by the coalesced callers and therefore not to be modified.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>>[] stripes;
+
+    private final int maxKeysPerStripe;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Counter coalesced;
+
+    private final Counter bypassed;
+
+    @SuppressWarnings("unchecked")
+    public SingleFlight(final String name, final int stripes, final int maxInFlight, final MeterRegistry meterRegistry) {
+        final int stripeCount = Integer.highestOneBit(Math.max(stripes, 1) * 2 - 1);
+        this.stripes = new Map[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new HashMap<>();
+        }
+        this.maxKeysPerStripe = Math.max(maxInFlight / stripeCount, 1);
+        final Tags tags = Tags.of("name", name);
+        meterRegistry.gauge("bookstore.single-flight.in-flight", tags, this.inFlight);
+        this.coalesced = meterRegistry.counter("bookstore.single-flight.coalesced", tags);
+        this.bypassed = meterRegistry.counter("bookstore.single-flight.bypassed", tags);
+    }
+
+    /**
+     * @return result of the load in flight for the key, or of the given loader if there is none.
+     */
+    public V execute(final K key, final Supplier<V> loader) {
+        final Map<K, CompletableFuture<V>> stripe = this.stripes[SingleFlight.spread(key.hashCode())
+                & (this.stripes.length - 1)];
+        final CompletableFuture<V> current;
+        final CompletableFuture<V> flight;
+        synchronized (stripe) {
+            current = stripe.get(key);
+            if (current != null || stripe.size() >= this.maxKeysPerStripe) {
+                flight = null;
+            } else {
+                flight = new CompletableFuture<>();
+                stripe.put(key, flight);
+            }
+        }
+        if (current != null) {
+            this.coalesced.increment();
+            return SingleFlight.await(current);
+        }
+        if (flight == null) {
+            this.bypassed.increment();
+            return loader.get();
+        }
+        this.inFlight.incrementAndGet();
+        try {
+            final V result = loader.get();
+            this.land(stripe, key);
+            flight.complete(result);
+            return result;
+        } catch (final RuntimeException | Error ex) {
+            this.land(stripe, key);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    private void land(final Map<K, CompletableFuture<V>> stripe, final K key) {
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+        this.inFlight.decrementAndGet();
+    }
+
+    private static <V> V await(final CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.test.concurrent;
+
+/**
+ * Token bucket refilled continuously at a fixed rate up to its capacity.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+
+    private final double tokensPerNano;
+
+    private double tokens;
+
+    private long refilledAtNanos;
+
+    public TokenBucket(final int capacity, final double tokensPerSecond) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000.0;
+        this.tokens = capacity;
+        this.refilledAtNanos = System.nanoTime();
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next token is available.
+     */
+    public synchronized long tryConsume() {
+        this.refill();
+        if (this.tokens >= 1.0) {
+            this.tokens -= 1.0;
+            return 0L;
+        }
+        return (long) Math.ceil((1.0 - this.tokens) / this.tokensPerNano);
+    }
+
+    private void refill() {
+        final long now = System.nanoTime();
+        this.tokens = Math.min(this.capacity, this.tokens + (now - this.refilledAtNanos) * this.tokensPerNano);
+        this.refilledAtNanos = now;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.test.config;
+
+import com.example.test.concurrent.BookRequestExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Configuration class for the async request mode of the book API.
+ */
+@Configuration
+@EnableConfigurationProperties(AsyncModeProperties.class)
+@ConditionalOnProperty(prefix = "bookstore.async", name = "enabled", havingValue = "true")
+@Profile("!reactive")
+public class AsyncModeConfig {
+
+    /**
+     * @return bounded executor running the service calls of the async controller.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public BookRequestExecutor bookRequestExecutor(final AsyncModeProperties properties,
+                                                   final MeterRegistry meterRegistry) {
+        return new BookRequestExecutor(properties.getPoolSize(), properties.getQueueCapacity(),
+                properties.getTimeout(), meterRegistry);
+    }
+}
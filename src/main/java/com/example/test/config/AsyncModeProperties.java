@@ -0,0 +1,37 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the async request mode, where the book endpoints run service calls on a bounded executor.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.async")
+public class AsyncModeProperties {
+
+    /**
+     * Whether the book endpoints return futures instead of blocking the servlet thread.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of threads running service calls, this also bounds the concurrent database work.
+     */
+    private int poolSize = 16;
+
+    /**
+     * Number of calls waiting for a thread before new requests are rejected with 503.
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Time after which a request is answered with 504, measured from submission; writes only time out before
+     * they start.
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+}
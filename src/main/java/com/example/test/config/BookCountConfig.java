@@ -0,0 +1,34 @@
+package com.example.test.config;
+
+import com.example.test.cache.BookCounter;
+import com.example.test.repository.BookRepository;
+import com.example.test.sharding.ShardedBookStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Configuration class for the total count of the book list.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(BookCountProperties.class)
+@ConditionalOnProperty(prefix = "bookstore.total-count", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class BookCountConfig {
+
+    /**
+     * @return counter reconciled against the shards in the sharded persistence mode, else against the repository.
+     */
+    @Bean
+    public BookCounter bookCounter(final BookRepository bookRepository,
+                                   final ObjectProvider<ShardedBookStore> shardedBookStore,
+                                   final MeterRegistry meterRegistry) {
+        final ShardedBookStore store = shardedBookStore.getIfAvailable();
+        return new BookCounter(store != null ? store::count : bookRepository::count, meterRegistry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the total count of the book list.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.total-count")
+public class BookCountProperties {
+
+    /**
+     * Whether HEAD /api/v1/books is answered and the book list carries the X-Total-Count header.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Delay between two reconciliations of the counter with a count query.
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,32 @@
+package com.example.test.config;
+
+import com.example.test.cache.BookFacetIndex;
+import com.example.test.repository.BookRepository;
+import com.example.test.sharding.ShardedBookStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Configuration class for the bitmap index behind the author facets.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(BookFacetProperties.class)
+@ConditionalOnProperty(prefix = "bookstore.facets", name = "enabled", havingValue = "true")
+public class BookFacetConfig {
+
+    /**
+     * @return index built once the application is ready and then periodically, from the shards in the sharded
+     * persistence mode, else from the repository.
+     */
+    @Bean
+    public BookFacetIndex bookFacetIndex(final BookRepository bookRepository,
+                                         final ObjectProvider<ShardedBookStore> shardedBookStore) {
+        final ShardedBookStore store = shardedBookStore.getIfAvailable();
+        return new BookFacetIndex(store != null ? store : bookRepository);
+    }
+}
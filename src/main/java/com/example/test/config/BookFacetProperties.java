@@ -0,0 +1,36 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the author facets and author listings.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.facets")
+public class BookFacetProperties {
+
+    /**
+     * Whether books are indexed by author and title word and the facet endpoints are served.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of authors returned at most by the author facets.
+     */
+    private int maxFacets = 100;
+
+    /**
+     * Number of books returned at most on one page of an author listing.
+     */
+    private int maxPageSize = 100;
+
+    /**
+     * Delay between two full rebuilds of the index.
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(30);
+}
@@ -0,0 +1,14 @@
+package com.example.test.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Configuration class for the bulk import of books.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(BookImportProperties.class)
+public class BookImportConfig {
+}
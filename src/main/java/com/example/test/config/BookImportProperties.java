@@ -0,0 +1,39 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the bulk import of books from CSV or NDJSON.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.import")
+public class BookImportProperties {
+
+    /**
+     * Number of rows inserted in one transaction, also the JDBC batch size.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Number of threads writing chunks.
+     */
+    private int poolSize = 2;
+
+    /**
+     * Number of chunks waiting for a writer before reading of the input pauses.
+     */
+    private int queueCapacity = 4;
+
+    /**
+     * Number of rejected rows reported with their line and errors in the status of a job.
+     */
+    private int maxErrorRows = 100;
+
+    /**
+     * Number of characters of the longest row, a longer one is rejected and reading resumes at the next line.
+     */
+    private int maxRecordLength = 64 * 1024;
+}
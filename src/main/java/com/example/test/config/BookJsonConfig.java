@@ -0,0 +1,110 @@
+package com.example.test.config;
+
+import com.example.test.cache.BookJsonCache;
+import com.example.test.converter.http.BookJsonHttpMessageConverter;
+import com.example.test.converter.http.BookJsonWriter;
+import com.example.test.dto.BookDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Configuration class for writing book responses through the hand written serializer
+ * and from pre-serialized JSON.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(BookJsonProperties.class)
+@Profile("!reactive")
+public class BookJsonConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    private final BookJsonProperties properties;
+
+    private final ObjectProvider<BookJsonCache> bookJsonCache;
+
+    public BookJsonConfig(final ObjectMapper objectMapper, final BookJsonProperties properties,
+                          final ObjectProvider<BookJsonCache> bookJsonCache) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.bookJsonCache = bookJsonCache;
+    }
+
+    /**
+     * @return serializer writing with the factory of the application object mapper.
+     */
+    @Bean
+    public BookJsonWriter bookJsonWriter() {
+        return new BookJsonWriter(this.objectMapper.getFactory());
+    }
+
+    /**
+     * @return cache of the serialized books.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "bookstore.json.cache", name = "enabled", havingValue = "true")
+    public BookJsonCache bookJsonCache(final BookJsonWriter bookJsonWriter) {
+        final Function<BookDto, byte[]> serializer = this.isFastWriterUsable()
+                ? bookJsonWriter::toBytes
+                : BookJsonConfig.objectMapperSerializer(this.objectMapper.writer());
+        return new BookJsonCache(serializer, this.properties.getCache().getMaxSize().toBytes());
+    }
+
+    /**
+     * Registers the book converter in front of the Jackson converter.
+     */
+    @Override
+    public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+        final BookJsonCache cache = this.bookJsonCache.getIfAvailable();
+        if (cache == null && !this.isFastWriterUsable()) {
+            return;
+        }
+        converters.add(0, new BookJsonHttpMessageConverter(this.bookJsonWriter(), cache));
+    }
+
+    /**
+     * The hand written serializer only reproduces the default object mapper output, so it is not used
+     * when dates are written as timestamps, output is indented or null properties are excluded.
+     */
+    private boolean isFastWriterUsable() {
+        if (!this.properties.isFastWriterEnabled()) {
+            return false;
+        }
+        final JsonInclude.Include inclusion = this.objectMapper.getSerializationConfig()
+                .getDefaultPropertyInclusion()
+                .getValueInclusion();
+        final boolean compatible = !this.objectMapper.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                && !this.objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT)
+                && (inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS);
+        if (!compatible) {
+            log.warn("BookJsonWriter disabled, object mapper configuration is not the default one");
+        }
+        return compatible;
+    }
+
+    private static Function<BookDto, byte[]> objectMapperSerializer(final ObjectWriter writer) {
+        return bookDto -> {
+            try {
+                return writer.writeValueAsBytes(bookDto);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+}
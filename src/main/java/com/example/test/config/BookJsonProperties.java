@@ -0,0 +1,37 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of the book JSON writing: the hand written serializer and the cache of pre-serialized JSON.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.json")
+public class BookJsonProperties {
+
+    /**
+     * Whether book responses are written by the hand written serializer instead of the object mapper.
+     */
+    private boolean fastWriterEnabled = true;
+
+    private final Cache cache = new Cache();
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /**
+         * Whether book responses are written from the cache.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Upper bound of the cached JSON bytes.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+    }
+}
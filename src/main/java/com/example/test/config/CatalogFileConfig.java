@@ -0,0 +1,41 @@
+package com.example.test.config;
+
+import com.example.test.cache.BookDeletionLog;
+import com.example.test.cache.CatalogFileStore;
+import com.example.test.repository.BookRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Configuration class for the memory-mapped catalog file.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(CatalogFileProperties.class)
+@ConditionalOnProperty(prefix = "bookstore.catalog-file", name = "enabled", havingValue = "true")
+public class CatalogFileConfig {
+
+    /**
+     * @return log of the deleted books, read by the replay of the catalog file.
+     */
+    @Bean(initMethod = "start")
+    public BookDeletionLog bookDeletionLog(final NamedParameterJdbcTemplate jdbcTemplate,
+                                           final CatalogFileProperties properties) {
+        return new BookDeletionLog(jdbcTemplate, properties.getDeletionRetention());
+    }
+
+    /**
+     * @return store mapping the file of the previous run before the application starts serving.
+     */
+    @Bean(initMethod = "open")
+    public CatalogFileStore catalogFileStore(final BookRepository bookRepository,
+                                             final BookDeletionLog bookDeletionLog,
+                                             final CatalogFileProperties properties) {
+        return new CatalogFileStore(bookRepository, bookDeletionLog, properties.getPath(),
+                properties.getReplayOverlap());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Settings of the memory-mapped catalog file serving book lookups right after startup.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.catalog-file")
+public class CatalogFileProperties {
+
+    /**
+     * Whether the catalog file is written and book lookups are served from it.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Location of the file, shared by the instances of a node or copied into new ones.
+     */
+    private Path path = Paths.get("bookstore-catalog.bin");
+
+    /**
+     * Time between two rewrites of the file, also the longest time a change of another instance is not seen.
+     */
+    private Duration writeInterval = Duration.ofMinutes(10);
+
+    /**
+     * How far before the file's latest change the replay starts, covering transactions which committed
+     * after the file was written with an earlier timestamp.
+     */
+    private Duration replayOverlap = Duration.ofMinutes(1);
+
+    /**
+     * How long deleted book ids are kept for the replay; a file whose latest change is older is rewritten
+     * on startup instead of being replayed.
+     */
+    private Duration deletionRetention = Duration.ofDays(7);
+}
@@ -0,0 +1,62 @@
+package com.example.test.config;
+
+import com.example.test.cache.BookCounter;
+import com.example.test.cache.CompressedCatalogCache;
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.filter.CompressedCatalogFilter;
+import com.example.test.repository.BookRepository;
+import com.example.test.sharding.ShardedBookStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Configuration class for serving the book list from a precompressed catalog snapshot.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bookstore.catalog-snapshot", name = "enabled", havingValue = "true")
+@Profile("!reactive")
+public class CompressedCatalogConfig {
+
+    /**
+     * @return snapshot regenerated on a single background thread, read from the shards in the sharded
+     * persistence mode, else from the repository.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public CompressedCatalogCache compressedCatalogCache(final BookRepository bookRepository,
+                                                         final ObjectProvider<ShardedBookStore> shardedBookStore,
+                                                         final BookConverter bookConverter,
+                                                         final ObjectMapper objectMapper) {
+        final ShardedBookStore store = shardedBookStore.getIfAvailable();
+        return new CompressedCatalogCache(store != null ? store : bookRepository, bookConverter,
+                objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, BookDto.class)),
+                Executors.newSingleThreadExecutor(runnable -> {
+                    final Thread thread = new Thread(runnable, "catalog-snapshot");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    /**
+     * @return registration of the filter answering the list endpoint from the snapshot.
+     */
+    @Bean
+    public FilterRegistrationBean<CompressedCatalogFilter> compressedCatalogFilter(
+            final CompressedCatalogCache compressedCatalogCache,
+            final ObjectProvider<BookCounter> bookCounter) {
+        final FilterRegistrationBean<CompressedCatalogFilter> registration = new FilterRegistrationBean<>(
+                new CompressedCatalogFilter(compressedCatalogCache, bookCounter.getIfAvailable()));
+        registration.addUrlPatterns("/api/v1/books");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
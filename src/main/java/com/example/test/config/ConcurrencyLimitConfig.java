@@ -0,0 +1,51 @@
+package com.example.test.config;
+
+import com.example.test.concurrent.AimdConcurrencyLimit;
+import com.example.test.concurrent.TokenBucket;
+import com.example.test.filter.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the adaptive concurrency limits of the book API.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "bookstore.limiter", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    /**
+     * @return registration of the filter which sheds book requests over the limits, ahead of the timing.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            final ConcurrencyLimitProperties properties, final MeterRegistry meterRegistry) {
+        final ConcurrencyLimitProperties.Quota quota = properties.getQuota();
+        final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+                ConcurrencyLimitConfig.limit("read", properties.getRead(), meterRegistry),
+                ConcurrencyLimitConfig.limit("write", properties.getWrite(), meterRegistry),
+                quota.isEnabled() ? () -> new TokenBucket(quota.getCapacity(), quota.getRefillPerSecond()) : null,
+                quota.isTrustClientHeader() ? quota.getClientHeader() : null, quota.getMaxClients(),
+                Duration.ofNanos((long) Math.ceil(quota.getCapacity() / quota.getRefillPerSecond() * 1e9)),
+                meterRegistry);
+        final FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/v1/books", "/api/v1/books/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    private static AimdConcurrencyLimit limit(final String name, final ConcurrencyLimitProperties.Limit limit,
+                                              final MeterRegistry meterRegistry) {
+        return new AimdConcurrencyLimit(name, limit.getInitial(), limit.getMin(), limit.getMax(),
+                limit.getLatencyThreshold(), limit.getBackoffRatio(), meterRegistry);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the adaptive concurrency limits and client quotas in front of the book API.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.limiter")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Whether requests to the book API are admitted by the concurrency limits.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Limit of GET, HEAD and OPTIONS requests.
+     */
+    private Limit read = new Limit(20, 2, 200, Duration.ofMillis(100));
+
+    /**
+     * Limit of all other requests.
+     */
+    private Limit write = new Limit(10, 1, 100, Duration.ofMillis(250));
+
+    /**
+     * Per-client request quota.
+     */
+    private Quota quota = new Quota();
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        /**
+         * Number of concurrent requests admitted before any latency was measured.
+         */
+        private int initial;
+
+        /**
+         * Lowest number of concurrent requests the limit backs off to.
+         */
+        private int min;
+
+        /**
+         * Highest number of concurrent requests the limit grows to.
+         */
+        private int max;
+
+        /**
+         * Latency above which a request lowers the limit, also the shortest time between two decreases.
+         */
+        private Duration latencyThreshold;
+
+        /**
+         * Factor the limit is multiplied with on a slow or failed request, at most once per latency threshold.
+         */
+        private double backoffRatio = 0.9;
+
+        public Limit() {
+        }
+
+        Limit(final int initial, final int min, final int max, final Duration latencyThreshold) {
+            this.initial = initial;
+            this.min = min;
+            this.max = max;
+            this.latencyThreshold = latencyThreshold;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Quota {
+
+        /**
+         * Whether each client is limited to a token bucket of requests.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of requests a client may burst.
+         */
+        private int capacity = 50;
+
+        /**
+         * Number of requests per second a client is refilled with.
+         */
+        private double refillPerSecond = 20;
+
+        /**
+         * Header identifying the client, clients without it are identified by their address.
+         */
+        private String clientHeader = "X-Client-Id";
+
+        /**
+         * Whether the client header is set by a trusted proxy; otherwise it is ignored, as any client could send
+         * a new value to get a fresh bucket.
+         */
+        private boolean trustClientHeader = false;
+
+        /**
+         * Number of client buckets held, the least recently used one is dropped beyond it.
+         */
+        private int maxClients = 10_000;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.test.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration class for the conversion between entities and dtos.
+ */
+@Configuration
+@EnableConfigurationProperties(ConverterProperties.class)
+public class ConverterConfig {
+
+    /**
+     * @return pool of the parallel conversions, separate from the common pool used by other parallel streams.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "bookstore.converter", name = "parallel-enabled", havingValue = "true")
+    public ForkJoinPool conversionPool(final ConverterProperties properties) {
+        if (properties.getParallelThreshold() == Integer.MAX_VALUE) {
+            throw new IllegalStateException("bookstore.converter.parallel-enabled requires "
+                    + "bookstore.converter.parallel-threshold");
+        }
+        final AtomicInteger threadCount = new AtomicInteger();
+        return new ForkJoinPool(properties.getParallelism(), pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("conversion-" + threadCount.incrementAndGet());
+            return thread;
+        }, null, false);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the parallel conversion of large collections between entities and dtos.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.converter")
+public class ConverterProperties {
+
+    /**
+     * Whether collections of at least parallelThreshold elements are converted on a dedicated pool.
+     */
+    private boolean parallelEnabled = false;
+
+    /**
+     * Collection size from which the conversion runs in parallel. Unset by default, as no size was measured
+     * where the parallel path beats the sequential one; it has to be set together with parallelEnabled.
+     */
+    private int parallelThreshold = Integer.MAX_VALUE;
+
+    /**
+     * Number of threads of the conversion pool.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+}
@@ -0,0 +1,97 @@
+package com.example.test.config;
+
+import com.example.test.datasource.RoutingDataSource;
+import com.example.test.filter.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class for routing read-only transactions to replicas. The primary is built from
+ * {@code spring.datasource}, replaces the auto-configured DataSource and is closed with the context.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@ConditionalOnProperty(prefix = "bookstore.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final DataSourceRoutingProperties routingProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    public DataSourceRoutingConfig(final DataSourceProperties dataSourceProperties,
+                                   final DataSourceRoutingProperties routingProperties,
+                                   final MeterRegistry meterRegistry) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.routingProperties = routingProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @return DataSource which defers the choice of primary or replica to the first statement,
+     * when the read-only flag of the transaction is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        return new LazyConnectionDataSourceProxy(this.routingDataSource());
+    }
+
+    /**
+     * @return router over the primary and replica pools, not an autowire candidate as it must not be
+     * used without the lazy proxy.
+     */
+    @Bean(destroyMethod = "close", autowireCandidate = false)
+    public RoutingDataSource routingDataSource() {
+        final HikariDataSource primary = this.dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        final List<HikariDataSource> replicas = new ArrayList<>();
+        for (final DataSourceRoutingProperties.Replica replica : this.routingProperties.getReplicas()) {
+            final HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername() != null
+                            ? replica.getUsername() : this.dataSourceProperties.determineUsername())
+                    .password(replica.getPassword() != null
+                            ? replica.getPassword() : this.dataSourceProperties.determinePassword())
+                    .build();
+            dataSource.setPoolName("replica-" + replicas.size());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            replicas.add(dataSource);
+        }
+        return new RoutingDataSource(primary, replicas, this.routingProperties.getSelection(), this.meterRegistry);
+    }
+
+    /**
+     * @return registration of the filter which keeps the reads of writing clients on the primary.
+     */
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        final FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(this.routingProperties.getReadYourWritesWindow()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        registration.setEnabled(!this.routingProperties.getReadYourWritesWindow().isZero());
+        return registration;
+    }
+}
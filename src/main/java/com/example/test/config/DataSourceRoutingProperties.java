@@ -0,0 +1,56 @@
+package com.example.test.config;
+
+import com.example.test.datasource.ReplicaSelection;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the read/write routing: read-only transactions on replicas, everything else on the primary,
+ * which stays configured as {@code spring.datasource}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    /**
+     * Whether read-only transactions are routed to the replicas.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How the replica of a read-only transaction is picked.
+     */
+    private ReplicaSelection selection = ReplicaSelection.ROUND_ROBIN;
+
+    /**
+     * Time after a write during which the reads of the same client go to the primary, 0 disables it.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        /**
+         * JDBC url of the replica.
+         */
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Maximum size of the replica pool.
+         */
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.test.config;
+
+import com.example.test.invalidation.BookInvalidationBroadcaster;
+import com.example.test.invalidation.InvalidationBus;
+import com.example.test.invalidation.JdbcInvalidationBus;
+import com.example.test.invalidation.LoopbackInvalidationBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Configuration class for the cross-instance invalidation of book caches.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(InvalidationProperties.class)
+@ConditionalOnProperty(prefix = "bookstore.invalidation", name = "enabled", havingValue = "true")
+public class InvalidationConfig {
+
+    /**
+     * The single thread sending batches and polling the table, kept apart from the scheduled jobs
+     * so a long catalog rewrite does not delay invalidations.
+     */
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+        final Thread thread = new Thread(runnable, "invalidation-1");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @return bus of the configured transport.
+     */
+    @Bean(destroyMethod = "close")
+    public InvalidationBus invalidationBus(final InvalidationProperties properties,
+                                           final NamedParameterJdbcTemplate jdbcTemplate) {
+        if (properties.getTransport() == InvalidationProperties.Transport.LOOPBACK) {
+            return new LoopbackInvalidationBus(properties.getChannel());
+        }
+        final JdbcInvalidationBus bus = new JdbcInvalidationBus(jdbcTemplate, this.executor,
+                properties.getPollInterval(), properties.getGapTimeout(), properties.getRetention());
+        bus.start();
+        return bus;
+    }
+
+    /**
+     * @return broadcaster of the committed changes of this instance, started once created.
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public BookInvalidationBroadcaster bookInvalidationBroadcaster(final InvalidationBus invalidationBus,
+                                                                   final ApplicationEventPublisher eventPublisher,
+                                                                   final InvalidationProperties properties,
+                                                                   final MeterRegistry meterRegistry) {
+        return new BookInvalidationBroadcaster(invalidationBus, eventPublisher, this.executor,
+                properties.getBatchInterval(), properties.getMaxBatchSize(), meterRegistry);
+    }
+}
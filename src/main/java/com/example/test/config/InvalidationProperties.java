@@ -0,0 +1,64 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the bus invalidating the caches of the other instances after committed book changes.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.invalidation")
+public class InvalidationProperties {
+
+    public enum Transport {
+        /**
+         * Application contexts of the same JVM.
+         */
+        LOOPBACK,
+        /**
+         * Table polled in the shared database.
+         */
+        JDBC
+    }
+
+    /**
+     * Whether committed changes are broadcast to, and received from, the other instances.
+     */
+    private boolean enabled = false;
+
+    private Transport transport = Transport.JDBC;
+
+    /**
+     * Time ids are collected before they are sent as one batch.
+     */
+    private Duration batchInterval = Duration.ofMillis(100);
+
+    /**
+     * Number of ids sent in one batch at most.
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * Name shared by the contexts connected by the loopback transport.
+     */
+    private String channel = "books";
+
+    /**
+     * Delay between two polls of the invalidation table.
+     */
+    private Duration pollInterval = Duration.ofMillis(250);
+
+    /**
+     * Time a skipped sequence number of the invalidation table is waited for before it is given up.
+     */
+    private Duration gapTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Age after which rows of the invalidation table are deleted.
+     */
+    private Duration retention = Duration.ofMinutes(10);
+}
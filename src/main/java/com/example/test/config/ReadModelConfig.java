@@ -0,0 +1,25 @@
+package com.example.test.config;
+
+import com.example.test.cache.BookReadModel;
+import com.example.test.repository.BookRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Configuration class for the in-memory read model which serves book reads without the database.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bookstore.read-model", name = "enabled", havingValue = "true")
+@Profile("!reactive")
+public class ReadModelConfig {
+
+    /**
+     * @return read model loaded from the repository once the application is ready.
+     */
+    @Bean
+    public BookReadModel bookReadModel(final BookRepository bookRepository) {
+        return new BookReadModel(bookRepository);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.test.config;
+
+import com.example.test.cache.RelatedBookIndex;
+import com.example.test.repository.BookRepository;
+import com.example.test.sharding.ShardedBookStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Configuration class for the precomputed related books.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(RelatedBookProperties.class)
+@ConditionalOnProperty(prefix = "bookstore.related", name = "enabled", havingValue = "true")
+public class RelatedBookConfig {
+
+    /**
+     * @return index built once the application is ready and then periodically, from the shards in the sharded
+     * persistence mode, else from the repository, with committed changes applied on a single background thread.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public RelatedBookIndex relatedBookIndex(final BookRepository bookRepository,
+                                             final ObjectProvider<ShardedBookStore> shardedBookStore,
+                                             final RelatedBookProperties properties) {
+        final ShardedBookStore store = shardedBookStore.getIfAvailable();
+        return new RelatedBookIndex(store != null ? store : bookRepository, properties.getMaxRelated(),
+                properties.getMaxPostings(), Executors.newSingleThreadExecutor(runnable -> {
+                    final Thread thread = new Thread(runnable, "related-books");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the precomputed related books.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.related")
+public class RelatedBookProperties {
+
+    /**
+     * Whether related books are indexed and served at /api/v1/books/{id}/related.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of related books kept per book, larger limits are cut to it.
+     */
+    private int maxRelated = 20;
+
+    /**
+     * Number of books of one author or title word considered as candidates, the ones with the lowest ids.
+     */
+    private int maxPostings = 1_000;
+
+    /**
+     * Delay between two full rebuilds of the index.
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(30);
+}
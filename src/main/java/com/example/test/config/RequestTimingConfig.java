@@ -0,0 +1,41 @@
+package com.example.test.config;
+
+import com.example.test.aspect.RequestTimingAspect;
+import com.example.test.filter.RequestTimingFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration class for the per-request timing of the book API.
+ */
+@Configuration
+@EnableConfigurationProperties(RequestTimingProperties.class)
+@ConditionalOnProperty(prefix = "bookstore.timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Profile("!reactive")
+public class RequestTimingConfig {
+
+    /**
+     * @return registration of the filter which binds the timing context to api requests.
+     */
+    @Bean
+    public FilterRegistrationBean<RequestTimingFilter> requestTimingFilter(final RequestTimingProperties properties) {
+        final FilterRegistrationBean<RequestTimingFilter> registration =
+                new FilterRegistrationBean<>(new RequestTimingFilter(properties));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * @return aspect recording repository, converter and controller time.
+     */
+    @Bean
+    public RequestTimingAspect requestTimingAspect() {
+        return new RequestTimingAspect();
+    }
+}
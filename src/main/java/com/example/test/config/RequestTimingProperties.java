@@ -0,0 +1,31 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the per-request timing (Server-Timing header and slow request sampling).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.timing")
+public class RequestTimingProperties {
+
+    /**
+     * Whether requests are timed at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Requests slower than this are candidates for the structured log record.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /**
+     * Fraction (0..1) of slow requests which are logged, 0 disables sampling.
+     */
+    private double sampleRate = 0.0;
+}
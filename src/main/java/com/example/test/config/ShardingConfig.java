@@ -0,0 +1,111 @@
+package com.example.test.config;
+
+import com.example.test.sharding.BookShard;
+import com.example.test.sharding.ShardedBookStore;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration class for the sharded persistence mode. Each shard gets its own pool, closed with the context,
+ * and its schema is created on startup. Startup fails if a feature which only reads or writes spring.datasource
+ * is enabled as well, its books would not be the ones served.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "bookstore.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    private static final List<String> UNSHARDED_FEATURES = List.of("bookstore.write-behind", "bookstore.read-model",
+            "bookstore.catalog-file");
+
+    /**
+     * @return pools of the configured shards, in their configured order.
+     */
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(final ShardingProperties properties,
+                                             final DataSourceProperties dataSourceProperties,
+                                             final Environment environment) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("bookstore.sharding.enabled requires bookstore.sharding.shards");
+        }
+        for (final String feature : UNSHARDED_FEATURES) {
+            if (environment.getProperty(feature + ".enabled", Boolean.class, false)) {
+                throw new IllegalStateException("bookstore.sharding.enabled cannot be combined with " + feature
+                        + ".enabled, which only uses spring.datasource");
+            }
+        }
+        final List<HikariDataSource> dataSources = new ArrayList<>();
+        for (final ShardingProperties.Shard shard : properties.getShards()) {
+            final HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername() != null
+                            ? shard.getUsername() : dataSourceProperties.determineUsername())
+                    .password(shard.getPassword() != null
+                            ? shard.getPassword() : dataSourceProperties.determinePassword())
+                    .build();
+            dataSource.setPoolName("shard-" + dataSources.size());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            dataSources.add(dataSource);
+        }
+        return new ShardDataSources(dataSources);
+    }
+
+    /**
+     * @return store routing books to the shards, with the schema of every shard created.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ShardedBookStore shardedBookStore(final ShardDataSources shardDataSources,
+                                             final ShardingProperties properties,
+                                             final MeterRegistry meterRegistry) {
+        final List<HikariDataSource> dataSources = shardDataSources.dataSources;
+        final List<BookShard> shards = new ArrayList<>(dataSources.size());
+        for (int i = 0; i < dataSources.size(); i++) {
+            final BookShard shard = new BookShard(i, dataSources.size(), dataSources.get(i));
+            shard.createSchema();
+            shards.add(shard);
+        }
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadPoolExecutor scatterExecutor = new ThreadPoolExecutor(properties.getScatterThreads(),
+                properties.getScatterThreads(), 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "shard-scatter-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        return new ShardedBookStore(shards, scatterExecutor, meterRegistry);
+    }
+
+    /**
+     * Holder of the shard pools, which are not beans themselves so they do not compete with the
+     * auto-configured DataSource.
+     */
+    public static class ShardDataSources {
+
+        private final List<HikariDataSource> dataSources;
+
+        ShardDataSources(final List<HikariDataSource> dataSources) {
+            this.dataSources = List.copyOf(dataSources);
+        }
+
+        public void close() {
+            this.dataSources.forEach(HikariDataSource::close);
+        }
+    }
+}
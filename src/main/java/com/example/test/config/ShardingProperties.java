@@ -0,0 +1,52 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the sharded persistence mode, in which books are partitioned across the shard databases
+ * by id instead of being stored through {@code spring.datasource}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.sharding")
+public class ShardingProperties {
+
+    /**
+     * Whether books are stored in the shards.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of threads querying the shards of a list in parallel.
+     */
+    private int scatterThreads = 8;
+
+    /**
+     * Shard databases, their order decides which ids they hold and must not change.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Shard {
+
+        /**
+         * JDBC url of the shard.
+         */
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Maximum size of the shard pool.
+         */
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.test.config;
+
+import com.example.test.concurrent.SingleFlight;
+import com.example.test.domain.Book;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.Optional;
+
+/**
+ * Configuration class for the coalescing of concurrent book lookups.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(SingleFlightProperties.class)
+@ConditionalOnProperty(prefix = "bookstore.single-flight", name = "enabled", havingValue = "true")
+public class SingleFlightConfig {
+
+    /**
+     * @return single flight of the database lookups of books by id.
+     */
+    @Bean
+    public SingleFlight<Long, Optional<Book>> bookByIdSingleFlight(final SingleFlightProperties properties,
+                                                                   final MeterRegistry meterRegistry) {
+        return new SingleFlight<>("book-by-id", properties.getStripes(), properties.getMaxInFlight(), meterRegistry);
+    }
+}
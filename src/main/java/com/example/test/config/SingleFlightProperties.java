@@ -0,0 +1,29 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the coalescing of concurrent book lookups of the same id.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.single-flight")
+public class SingleFlightProperties {
+
+    /**
+     * Whether concurrent lookups of the same id share one database query.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of independently locked maps the in-flight lookups are spread over, rounded up to a power of two.
+     */
+    private int stripes = 16;
+
+    /**
+     * Number of distinct ids looked up at once above which further lookups are not coalesced.
+     */
+    private int maxInFlight = 1024;
+}
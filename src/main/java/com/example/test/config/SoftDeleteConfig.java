@@ -0,0 +1,34 @@
+package com.example.test.config;
+
+import com.example.test.repository.BookRepository;
+import com.example.test.tombstone.BookTombstones;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Configuration class for the soft deletion of books.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(SoftDeleteProperties.class)
+@ConditionalOnProperty(prefix = "bookstore.soft-delete", name = "enabled", havingValue = "true")
+public class SoftDeleteConfig {
+
+    /**
+     * @return tombstones purged periodically.
+     */
+    @Bean
+    public BookTombstones bookTombstones(final BookRepository bookRepository,
+                                         final PlatformTransactionManager transactionManager,
+                                         final SoftDeleteProperties properties,
+                                         final MeterRegistry meterRegistry) {
+        return new BookTombstones(bookRepository, new TransactionTemplate(transactionManager),
+                properties.getRetention(), properties.getBatchSize(), properties.getBatchPause(), meterRegistry);
+    }
+}
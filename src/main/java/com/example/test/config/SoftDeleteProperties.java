@@ -0,0 +1,41 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the soft deletion of books.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.soft-delete")
+public class SoftDeleteProperties {
+
+    /**
+     * Whether a delete marks the book as deleted instead of removing the row.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Age from which soft deleted books are removed by the purge.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Delay between two purges.
+     */
+    private Duration purgeInterval = Duration.ofMinutes(10);
+
+    /**
+     * Number of books removed per transaction of the purge.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Pause of the purge between two batches.
+     */
+    private Duration batchPause = Duration.ofMillis(100);
+}
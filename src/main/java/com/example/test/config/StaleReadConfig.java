@@ -0,0 +1,48 @@
+package com.example.test.config;
+
+import com.example.test.cache.StaleBookCache;
+import com.example.test.cache.StaleWhileRevalidateCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration class for the stale-while-revalidate reads of books.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(StaleReadProperties.class)
+@ConditionalOnProperty(prefix = "bookstore.stale-reads", name = "enabled", havingValue = "true")
+public class StaleReadConfig {
+
+    /**
+     * @return cache of single books and of the book list, reloaded on a bounded pool.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public StaleBookCache staleBookCache(final StaleReadProperties properties, final MeterRegistry meterRegistry) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadPoolExecutor refreshExecutor = new ThreadPoolExecutor(properties.getRefreshThreads(),
+                properties.getRefreshThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getRefreshQueueCapacity()),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "stale-reads-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        return new StaleBookCache(
+                new StaleWhileRevalidateCache<>("book", properties.getSoftTtl(), properties.getHardTtl(),
+                        properties.getMaxEntries(), refreshExecutor, meterRegistry),
+                new StaleWhileRevalidateCache<>("book-list", properties.getSoftTtl(), properties.getHardTtl(),
+                        1, refreshExecutor, meterRegistry),
+                refreshExecutor);
+    }
+}
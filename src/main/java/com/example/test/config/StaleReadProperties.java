@@ -0,0 +1,46 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the stale-while-revalidate reads of books.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.stale-reads")
+public class StaleReadProperties {
+
+    /**
+     * Whether getById and the book list are served from the stale-while-revalidate cache.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Age after which a value is reloaded in the background and served stale meanwhile.
+     */
+    private Duration softTtl = Duration.ofSeconds(5);
+
+    /**
+     * Age up to which a value is served while it cannot be reloaded, older values are loaded by the reader.
+     */
+    private Duration hardTtl = Duration.ofMinutes(5);
+
+    /**
+     * Number of books cached, further books are read from the database.
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * Number of threads reloading stale values.
+     */
+    private int refreshThreads = 2;
+
+    /**
+     * Number of reloads waiting for a thread, further stale values are reloaded by a later read.
+     */
+    private int refreshQueueCapacity = 256;
+}
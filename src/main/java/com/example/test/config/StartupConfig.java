@@ -0,0 +1,26 @@
+package com.example.test.config;
+
+import com.example.test.startup.StartupTimingReporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.metrics.ApplicationStartup;
+
+/**
+ * Configuration class for the startup timing report.
+ */
+@Configuration
+@EnableConfigurationProperties(StartupProperties.class)
+public class StartupConfig {
+
+    /**
+     * @return reporter of the steps recorded by the application startup, if it buffers them.
+     */
+    @Bean
+    public StartupTimingReporter startupTimingReporter(final ApplicationStartup applicationStartup,
+                                                       final ObjectMapper objectMapper,
+                                                       final StartupProperties properties) {
+        return new StartupTimingReporter(applicationStartup, objectMapper, properties);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of the startup timing report.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.startup")
+public class StartupProperties {
+
+    /**
+     * File the timings are written to as JSON once the application is ready, none if not set.
+     */
+    private Path reportPath;
+
+    /**
+     * Number of beans reported with their own instantiation time.
+     */
+    private int slowestBeans = 15;
+
+    /**
+     * Whether the application exits once it is ready, for training runs writing an AppCDS archive.
+     */
+    private boolean exitAfterStart = false;
+}
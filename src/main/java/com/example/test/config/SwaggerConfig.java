@@ -1,7 +1,9 @@
 package com.example.test.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import springfox.documentation.builders.ApiInfoBuilder;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
@@ -18,6 +20,8 @@ import java.util.List;
  */
 @Configuration
 @EnableSwagger2
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "bookstore.docs", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfig {
 
     /**
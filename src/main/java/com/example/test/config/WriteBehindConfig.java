@@ -0,0 +1,41 @@
+package com.example.test.config;
+
+import com.example.test.concurrent.GroupCommitBookWriter;
+import com.example.test.repository.BookRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Configuration class for the write-behind creation of books.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(WriteBehindProperties.class)
+@ConditionalOnProperty(prefix = "bookstore.write-behind", name = "enabled", havingValue = "true")
+public class WriteBehindConfig {
+
+    /**
+     * @return pipeline committing created books in groups on its own thread.
+     */
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    public GroupCommitBookWriter groupCommitBookWriter(final BookRepository bookRepository,
+                                                      final EntityManager entityManager,
+                                                      final PlatformTransactionManager transactionManager,
+                                                      final ApplicationEventPublisher eventPublisher,
+                                                      final WriteBehindProperties properties,
+                                                      final MeterRegistry meterRegistry) {
+        return new GroupCommitBookWriter(bookRepository, entityManager, new TransactionTemplate(transactionManager),
+                eventPublisher, properties.getMaxBatchSize(), properties.getMaxDelay(),
+                properties.getQueueCapacity(), properties.getOfferTimeout(), properties.getCommitTimeout(),
+                meterRegistry);
+    }
+}
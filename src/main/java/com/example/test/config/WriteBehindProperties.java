@@ -0,0 +1,47 @@
+package com.example.test.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the write-behind creation, where created books are queued and inserted in group commits.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bookstore.write-behind")
+public class WriteBehindProperties {
+
+    /**
+     * Whether created books are inserted in group commits.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of queued books which are committed together at most, also the JDBC batch size.
+     */
+    private int maxBatchSize = 64;
+
+    /**
+     * Time a group waits for more books after its first one before it is committed.
+     */
+    private Duration maxDelay = Duration.ofMillis(5);
+
+    /**
+     * Number of books waiting for a commit before creation is rejected or blocked.
+     */
+    private int queueCapacity = 4096;
+
+    /**
+     * How long a creation waits for room in a full queue, 0 rejects right away with 503.
+     */
+    private Duration offerTimeout = Duration.ZERO;
+
+    /**
+     * How long a creation waits for its group commit before it is answered with 504, the book may still be
+     * committed after it.
+     */
+    private Duration commitTimeout = Duration.ofSeconds(5);
+}
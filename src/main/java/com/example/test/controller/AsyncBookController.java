@@ -0,0 +1,97 @@
+package com.example.test.controller;
+
+import com.example.test.concurrent.BookRequestExecutor;
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.service.BookService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Book endpoints of the async request mode: service calls run on the bounded {@link BookRequestExecutor}
+ * and the servlet thread is released while they wait for the database. Reads time out with 504; writes only
+ * while they are queued, a started write is answered with its outcome however long it takes.
+ */
+@Api(value = "AsyncBookController")
+@ApiResponses(value = {
+        @ApiResponse(code = 404, message = "Not Found"),
+        @ApiResponse(code = 503, message = "Service Unavailable"),
+        @ApiResponse(code = 504, message = "Gateway Timeout")
+})
+@RestController
+@RequestMapping("/api/v1/books")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "bookstore.async", name = "enabled", havingValue = "true")
+@Profile("!reactive")
+public class AsyncBookController {
+
+    private final BookService bookService;
+
+    private final BookConverter bookConverter;
+
+    private final BookRequestExecutor bookRequestExecutor;
+
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Success|Created")
+    })
+    @ApiOperation(value = "Create new Book.")
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public CompletableFuture<BookDto> createBook(@Valid @RequestBody BookDto bookDto) {
+        return this.bookRequestExecutor.supplyWrite(() -> this.bookService.create(bookDto, this.bookConverter));
+    }
+
+    @ApiResponse(code = 200, message = "Success|OK")
+    @ApiOperation(value = "Update existing Book by Id.")
+    @PutMapping("/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public CompletableFuture<BookDto> updateBook(@PathVariable("id") Long id,
+                                                 @Valid @RequestBody BookDto bookDto) {
+        return this.bookRequestExecutor.supplyWrite(() -> this.bookService.update(id, bookDto, this.bookConverter));
+    }
+
+
+    @ApiResponse(code = 200, message = "Success|OK")
+    @ApiOperation(value = "Get list of Books.")
+    @GetMapping
+    public CompletableFuture<Collection<BookDto>> getBooks() {
+        return this.bookRequestExecutor.supply(() -> this.bookService.getBooks(this.bookConverter));
+    }
+
+    @ApiResponse(code = 200, message = "Success|OK")
+    @ApiOperation(value = "Get existing Book by Id.")
+    @GetMapping("/{id}")
+    public CompletableFuture<BookDto> getBook(@PathVariable("id") Long id) {
+        return this.bookRequestExecutor.supply(() -> this.bookService.getById(id, this.bookConverter));
+    }
+
+    @ApiResponse(code = 202, message = "Success|Accepted")
+    @ApiOperation(value = "Delete existing Book by Id.")
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public CompletableFuture<Void> deleteBook(@PathVariable("id") Long id) {
+        return this.bookRequestExecutor.supplyWrite(() -> {
+            this.bookService.deleteById(id);
+            return null;
+        });
+    }
+}
@@ -8,6 +8,8 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,7 +22,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
-import java.util.List;
+import java.util.Collection;
 
 @Api(value = "BookController")
 @ApiResponses(value = {
@@ -29,6 +31,8 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/v1/books")
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "bookstore.async", name = "enabled", havingValue = "false", matchIfMissing = true)
+@Profile("!reactive")
 public class BookController {
 
     private final BookService bookService;
@@ -58,7 +62,7 @@ public class BookController {
     @ApiResponse(code = 200, message = "Success|OK")
     @ApiOperation(value = "Get list of Books.")
     @GetMapping
-    public List<BookDto> getBooks() {
+    public Collection<BookDto> getBooks() {
         return this.bookService.getBooks(this.bookConverter);
     }
 
@@ -0,0 +1,35 @@
+package com.example.test.controller;
+
+import com.example.test.cache.BookCounter;
+import com.example.test.handler.TotalCountResponseBodyAdvice;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+@Api(value = "BookCountController")
+@RestController
+@RequestMapping("/api/v1/books")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "bookstore.total-count", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+@Profile("!reactive")
+public class BookCountController {
+
+    private final BookCounter bookCounter;
+
+    @ApiResponse(code = 200, message = "Success|OK")
+    @ApiOperation(value = "Get the number of Books in the X-Total-Count header, without the list.")
+    @RequestMapping(method = RequestMethod.HEAD)
+    public ResponseEntity<Void> headBooks() {
+        return ResponseEntity.ok()
+                .header(TotalCountResponseBodyAdvice.HEADER_NAME, Long.toString(this.bookCounter.get()))
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.test.controller;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.AuthorFacetDto;
+import com.example.test.dto.BookPageDto;
+import com.example.test.service.BookFacetService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Api(value = "BookFacetController")
+@RestController
+@RequestMapping("/api/v1/books")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "bookstore.facets", name = "enabled", havingValue = "true")
+@Profile("!reactive")
+public class BookFacetController {
+
+    private final BookFacetService bookFacetService;
+
+    private final BookConverter bookConverter;
+
+    @ApiResponse(code = 200, message = "Success|OK")
+    @ApiOperation(value = "Get number of Books per author, most first, optionally of Books with the given title words.")
+    @GetMapping("/facets/authors")
+    public List<AuthorFacetDto> getAuthorFacets(@RequestParam(value = "title", required = false) String title,
+                                                @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return this.bookFacetService.getAuthorFacets(title, limit);
+    }
+
+    @ApiResponse(code = 200, message = "Success|OK")
+    @ApiOperation(value = "Get page of Books of an author in id order, optionally with the given title words.")
+    @GetMapping(value = "/by-author")
+    public BookPageDto getBooksByAuthor(@RequestParam("author") String author,
+                                        @RequestParam(value = "title", required = false) String title,
+                                        @RequestParam(value = "page", defaultValue = "0") int page,
+                                        @RequestParam(value = "size", defaultValue = "20") int size) {
+        return this.bookFacetService.getBooksByAuthor(author, title, page, size, this.bookConverter);
+    }
+}
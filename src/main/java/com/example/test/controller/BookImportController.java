@@ -0,0 +1,75 @@
+package com.example.test.controller;
+
+import com.example.test.dto.BookImportStatusDto;
+import com.example.test.imports.BookImportJob;
+import com.example.test.imports.ImportFormat;
+import com.example.test.service.BookImportService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+
+@Api(value = "BookImportController")
+@ApiResponses(value = {
+        @ApiResponse(code = 404, message = "Not Found")
+})
+@RestController
+@RequestMapping("/api/v1/books/imports")
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class BookImportController {
+
+    private final BookImportService bookImportService;
+
+    /**
+     * The body is read while the request is handled, the response is sent once it has been read
+     * and the last chunks may still be being written.
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "Success|Accepted")
+    })
+    @ApiOperation(value = "Import Books from CSV with a header row or from NDJSON.")
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<BookImportStatusDto> importBooks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                           HttpServletRequest request) throws IOException {
+        final BookImportJob job = this.bookImportService.importBooks(ImportFormat.ofMediaType(contentType),
+                Channels.newChannel(request.getInputStream()));
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequestUri()
+                        .path("/{jobId}")
+                        .buildAndExpand(job.getId())
+                        .toUri())
+                .body(job.toStatus());
+    }
+
+    @ApiResponse(code = 200, message = "Success|OK")
+    @ApiOperation(value = "Get progress of an Import by Id.")
+    @GetMapping("/{jobId}")
+    public BookImportStatusDto getImport(@PathVariable("jobId") String jobId) {
+        return this.bookImportService.getStatus(jobId);
+    }
+
+    @ApiResponse(code = 200, message = "Success|OK")
+    @ApiOperation(value = "Get progress of recent Imports.")
+    @GetMapping
+    public List<BookImportStatusDto> getImports() {
+        return this.bookImportService.getStatuses();
+    }
+}
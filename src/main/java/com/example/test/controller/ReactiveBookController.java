@@ -0,0 +1,67 @@
+package com.example.test.controller;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.service.ReactiveBookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+/**
+ * Book endpoints of the reactive stack, same contract as {@link BookController}.
+ * The list is written as one JSON array for {@code application/json}; with {@code application/x-ndjson}
+ * every book is written as soon as it is read, under the backpressure of the connection.
+ */
+@RestController
+@RequestMapping("/api/v1/books")
+@RequiredArgsConstructor
+@Profile("reactive")
+public class ReactiveBookController {
+
+    private final ReactiveBookService bookService;
+
+    private final BookConverter bookConverter;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<BookDto> createBook(@Valid @RequestBody BookDto bookDto) {
+        return this.bookService.create(bookDto, this.bookConverter);
+    }
+
+    @PutMapping("/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<BookDto> updateBook(@PathVariable("id") Long id,
+                                    @Valid @RequestBody BookDto bookDto) {
+        return this.bookService.update(id, bookDto, this.bookConverter);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<BookDto> getBooks() {
+        return this.bookService.getBooks(this.bookConverter);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<BookDto> getBook(@PathVariable("id") Long id) {
+        return this.bookService.getById(id, this.bookConverter);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Mono<Void> deleteBook(@PathVariable("id") Long id) {
+        return this.bookService.deleteById(id);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.test.controller;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.service.RelatedBookService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Api(value = "RelatedBookController")
+@ApiResponses(value = {
+        @ApiResponse(code = 404, message = "Not Found")
+})
+@RestController
+@RequestMapping("/api/v1/books")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "bookstore.related", name = "enabled", havingValue = "true")
+@Profile("!reactive")
+public class RelatedBookController {
+
+    private final RelatedBookService relatedBookService;
+
+    private final BookConverter bookConverter;
+
+    @ApiResponse(code = 200, message = "Success|OK")
+    @ApiOperation(value = "Get Books by the same author or with a similar title, best first.")
+    @GetMapping("/{id}/related")
+    public List<BookDto> getRelatedBooks(@PathVariable("id") Long id,
+                                         @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return this.relatedBookService.getRelated(id, limit, this.bookConverter);
+    }
+}
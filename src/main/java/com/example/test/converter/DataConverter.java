@@ -3,11 +3,27 @@ package com.example.test.converter;
 import lombok.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.lang.Nullable;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+/**
+ * Conversion between entities and dtos. The collection conversions fill collections sized for the result and
+ * switch to a parallel conversion on {@link #getConversionPool()} once a collection reaches
+ * {@link #getParallelThreshold()}; the stream and iterator conversions are lazy.
+ */
 public interface DataConverter<E, D> {
 
     @NonNull
@@ -20,41 +36,154 @@ public interface DataConverter<E, D> {
         throw new UnsupportedOperationException("Not Implemented!");
     }
 
+    /**
+     * @return pool of the parallel conversions, null to always convert sequentially.
+     */
+    @Nullable
+    default ForkJoinPool getConversionPool() {
+        return null;
+    }
+
+    /**
+     * @return collection size from which conversions run in parallel on the conversion pool.
+     */
+    default int getParallelThreshold() {
+        return Integer.MAX_VALUE;
+    }
+
     @NonNull
     default List<E> toEntityList(@NonNull List<D> dtos) {
-        return dtos.stream()
-                .map(DataConverter.this::toEntity)
-                .collect(Collectors.toList());
+        return DataConverter.convertToList(dtos, this::toEntity, this.getConversionPool(),
+                this.getParallelThreshold());
     }
 
     @NonNull
     default List<D> toDtoList(@NonNull List<E> entities) {
-        return entities.stream()
-                .map(DataConverter.this::toDto)
-                .collect(Collectors.toList());
+        return DataConverter.convertToList(entities, this::toDto, this.getConversionPool(),
+                this.getParallelThreshold());
+    }
+
+    /**
+     * @return read-only list converting each entity when it is accessed, so a list which is only
+     * iterated once, e.g. while it is written to the response, never holds all dtos at the same time.
+     * Every access converts again and the converter is called on this object, not through its proxy,
+     * so the view is meant for single-pass writers only; services stream through a {@link LazyDtoCollection}.
+     */
+    @NonNull
+    default List<D> toDtoListView(@NonNull List<E> entities) {
+        return new AbstractList<>() {
+            @Override
+            public D get(int index) {
+                return DataConverter.this.toDto(entities.get(index));
+            }
+
+            @Override
+            public int size() {
+                return entities.size();
+            }
+        };
+    }
+
+    /**
+     * @return stream converting each entity when it is consumed.
+     */
+    @NonNull
+    default Stream<D> toDtoStream(@NonNull Stream<E> entities) {
+        return entities.map(this::toDto);
+    }
+
+    /**
+     * @return stream converting each dto when it is consumed.
+     */
+    @NonNull
+    default Stream<E> toEntityStream(@NonNull Stream<D> dtos) {
+        return dtos.map(this::toEntity);
+    }
+
+    /**
+     * @return iterator converting each entity when it is reached.
+     */
+    @NonNull
+    default Iterator<D> toDtoIterator(@NonNull Iterator<E> entities) {
+        return DataConverter.convertLazily(entities, this::toDto);
+    }
+
+    /**
+     * @return iterator converting each dto when it is reached.
+     */
+    @NonNull
+    default Iterator<E> toEntityIterator(@NonNull Iterator<D> dtos) {
+        return DataConverter.convertLazily(dtos, this::toEntity);
     }
 
     @NonNull
     default Page<D> toDtoPage(@NonNull Page<E> page) {
-        final List<D> dtos = page
-                .getContent()
-                .stream()
-                .map(DataConverter.this::toDto)
-                .collect(Collectors.toList());
-        return new PageImpl<>(dtos, page.getPageable(), page.getTotalElements());
+        return new PageImpl<>(this.toDtoList(page.getContent()), page.getPageable(), page.getTotalElements());
     }
 
     @NonNull
     default Set<E> toEntitySet(@NonNull Set<D> dtos) {
-        return dtos.stream()
-                .map(DataConverter.this::toEntity)
-                .collect(Collectors.toSet());
+        return DataConverter.convertToSet(dtos, this::toEntity, this.getConversionPool(),
+                this.getParallelThreshold());
     }
 
     @NonNull
     default Set<D> toDtoSet(@NonNull Set<E> entities) {
-        return entities.stream()
-                .map(DataConverter.this::toDto)
-                .collect(Collectors.toSet());
+        return DataConverter.convertToSet(entities, this::toDto, this.getConversionPool(),
+                this.getParallelThreshold());
+    }
+
+    private static <S, T> List<T> convertToList(final List<S> sources, final Function<S, T> conversion,
+                                                final ForkJoinPool pool, final int parallelThreshold) {
+        if (pool != null && sources.size() >= parallelThreshold) {
+            return DataConverter.convertInParallel(
+                    sources instanceof RandomAccess ? sources : new ArrayList<>(sources), conversion, pool);
+        }
+        final List<T> targets = new ArrayList<>(sources.size());
+        for (final S source : sources) {
+            targets.add(conversion.apply(source));
+        }
+        return targets;
+    }
+
+    private static <S, T> Set<T> convertToSet(final Collection<S> sources, final Function<S, T> conversion,
+                                              final ForkJoinPool pool, final int parallelThreshold) {
+        final Set<T> targets = new HashSet<>(Math.max(16, (int) (sources.size() / 0.75f) + 1));
+        if (pool != null && sources.size() >= parallelThreshold) {
+            targets.addAll(DataConverter.convertInParallel(new ArrayList<>(sources), conversion, pool));
+            return targets;
+        }
+        for (final S source : sources) {
+            targets.add(conversion.apply(source));
+        }
+        return targets;
+    }
+
+    /**
+     * Converts the elements of a random access list by index into a list of the same size. A parallel stream
+     * started from a task of the pool runs on that pool instead of the common pool.
+     */
+    private static <S, T> List<T> convertInParallel(final List<S> sources, final Function<S, T> conversion,
+                                                    final ForkJoinPool pool) {
+        final List<T> targets = new ArrayList<>(Collections.nCopies(sources.size(), null));
+        pool.submit(() -> IntStream.range(0, sources.size())
+                        .parallel()
+                        .forEach(index -> targets.set(index, conversion.apply(sources.get(index)))))
+                .join();
+        return targets;
+    }
+
+    private static <S, T> Iterator<T> convertLazily(final Iterator<S> sources, final Function<S, T> conversion) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return sources.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return conversion.apply(sources.next());
+            }
+        };
     }
 }
@@ -0,0 +1,57 @@
+package com.example.test.converter;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Read-only collection of the dtos of some entities, converted one at a time while it is iterated, so the
+ * response writer streams the rows without an intermediate list of all dtos. Each entity is converted by a
+ * call on the given converter, normally the Spring proxy, so the conversions are seen by the aspects.
+ * <p>
+ * It can be iterated once only, a second iteration fails instead of converting everything again. For the same
+ * reason {@link #toString()} does not list the elements, frameworks log return values before they are written.
+ */
+public final class LazyDtoCollection<E, D> extends AbstractCollection<D> {
+
+    private final Collection<E> entities;
+
+    private final DataConverter<E, D> converter;
+
+    private boolean iterated;
+
+    public LazyDtoCollection(final Collection<E> entities, final DataConverter<E, D> converter) {
+        this.entities = entities;
+        this.converter = converter;
+    }
+
+    @Override
+    public Iterator<D> iterator() {
+        if (this.iterated) {
+            throw new IllegalStateException("LazyDtoCollection can only be iterated once");
+        }
+        this.iterated = true;
+        final Iterator<E> sources = this.entities.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return sources.hasNext();
+            }
+
+            @Override
+            public D next() {
+                return LazyDtoCollection.this.converter.toDto(sources.next());
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return this.entities.size();
+    }
+
+    @Override
+    public String toString() {
+        return "LazyDtoCollection[size=" + this.entities.size() + (this.iterated ? ", iterated]" : "]");
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.test.converter.http;
+
+import com.example.test.cache.BookJsonCache;
+import com.example.test.dto.BookDto;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes {@link BookDto} and collections of it as JSON through the {@link BookJsonWriter}, with the
+ * same output as the Jackson converter. Lists are streamed row by row; with a {@link BookJsonCache}
+ * single books are written from the cache and lists by concatenating the cached fragments.
+ * Reading is left to the Jackson converter.
+ */
+public class BookJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final byte[] EMPTY_ARRAY = {'[', ']'};
+
+    private final BookJsonWriter bookJsonWriter;
+
+    @Nullable
+    private final BookJsonCache bookJsonCache;
+
+    public BookJsonHttpMessageConverter(final BookJsonWriter bookJsonWriter,
+                                        @Nullable final BookJsonCache bookJsonCache) {
+        super(MediaType.APPLICATION_JSON);
+        this.bookJsonWriter = bookJsonWriter;
+        this.bookJsonCache = bookJsonCache;
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return BookDto.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * Collections are accepted here as well, their element type is checked by the generic canRead/canWrite.
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(final Class<?> clazz) {
+        return BookDto.class.isAssignableFrom(clazz) || Collection.class.isAssignableFrom(clazz)
+                ? this.getSupportedMediaTypes()
+                : Collections.emptyList();
+    }
+
+    @Override
+    public boolean canRead(final Type type, @Nullable final Class<?> contextClass, @Nullable final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable final Type type, final Class<?> clazz, @Nullable final MediaType mediaType) {
+        if (!this.canWrite(mediaType)) {
+            return false;
+        }
+        if (BookDto.class.isAssignableFrom(clazz)) {
+            return true;
+        }
+        if (type == null || !Collection.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        final Class<?> elementType = ResolvableType.forType(type).asCollection().resolveGeneric(0);
+        return elementType != null && BookDto.class.isAssignableFrom(elementType);
+    }
+
+    @Override
+    protected Long getContentLength(final Object object, @Nullable final MediaType contentType) {
+        return object instanceof BookDto && this.bookJsonCache != null
+                ? (long) this.bookJsonCache.get((BookDto) object).length
+                : null;
+    }
+
+    @Override
+    protected void writeInternal(final Object object, @Nullable final Type type,
+                                 final HttpOutputMessage outputMessage) throws IOException {
+        final OutputStream body = outputMessage.getBody();
+        if (this.bookJsonCache == null) {
+            if (object instanceof BookDto) {
+                body.write(this.bookJsonWriter.toBytes((BookDto) object));
+            } else {
+                this.bookJsonWriter.writeAll((Collection<?>) object, body);
+            }
+            return;
+        }
+        if (object instanceof BookDto) {
+            body.write(this.bookJsonCache.get((BookDto) object));
+            return;
+        }
+        final Collection<?> books = (Collection<?>) object;
+        if (books.isEmpty()) {
+            body.write(EMPTY_ARRAY);
+            return;
+        }
+        char separator = '[';
+        for (final Object book : books) {
+            body.write(separator);
+            body.write(this.bookJsonCache.get((BookDto) book));
+            separator = ',';
+        }
+        body.write(']');
+    }
+
+    @Override
+    public Object read(final Type type, @Nullable final Class<?> contextClass, final HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("Not Implemented!");
+    }
+
+    @Override
+    protected Object readInternal(final Class<?> clazz, final HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("Not Implemented!");
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.test.converter.http;
+
+import com.example.test.dto.BookDto;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Hand written serializer of {@link BookDto} on top of the streaming {@link JsonGenerator}.
+ * Produces the same bytes as the default object mapper (properties in declaration order,
+ * nulls included, ISO local date times) without reflective bean serialization,
+ * and caches the formatted timestamps.
+ */
+public class BookJsonWriter {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString AUTHOR = new SerializedString("author");
+    private static final SerializedString ISBN = new SerializedString("isbn");
+
+    private final JsonFactory jsonFactory;
+
+    private final TimestampFormatCache timestamps =
+            new TimestampFormatCache(DateTimeFormatter.ISO_LOCAL_DATE_TIME, 1024);
+
+    public BookJsonWriter(final JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * @return UTF-8 JSON of the book.
+     */
+    public byte[] toBytes(final BookDto bookDto) {
+        try (ByteArrayBuilder buffer = new ByteArrayBuilder(512)) {
+            try (JsonGenerator generator = this.jsonFactory.createGenerator(buffer, JsonEncoding.UTF8)) {
+                this.write(generator, bookDto);
+            }
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the books as JSON array one by one, so a lazily converted list is never materialized.
+     * The output stream is flushed but not closed.
+     */
+    public void writeAll(final Iterable<?> books, final OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = this.jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (final Object book : books) {
+                this.write(generator, (BookDto) book);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    public void write(final JsonGenerator generator, final BookDto bookDto) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        if (bookDto.getId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(bookDto.getId());
+        }
+        generator.writeFieldName(CREATED_AT);
+        this.writeTimestamp(generator, bookDto.getCreatedAt());
+        generator.writeFieldName(UPDATED_AT);
+        this.writeTimestamp(generator, bookDto.getUpdatedAt());
+        generator.writeFieldName(TITLE);
+        generator.writeString(bookDto.getTitle());
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(bookDto.getDescription());
+        generator.writeFieldName(AUTHOR);
+        generator.writeString(bookDto.getAuthor());
+        generator.writeFieldName(ISBN);
+        generator.writeString(bookDto.getIsbn());
+        generator.writeEndObject();
+    }
+
+    private void writeTimestamp(final JsonGenerator generator, final LocalDateTime timestamp) throws IOException {
+        if (timestamp == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(this.timestamps.format(timestamp));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.test.converter.http;
+
+import com.example.test.dto.BookDto;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Protobuf encoding of {@link BookDto} as described by {@code src/main/proto/book.proto}, written with the
+ * coded streams directly instead of generated message classes, so no intermediate messages are built.
+ * Null properties are not written and absent fields are read as null.
+ */
+public final class BookProtobufCodec {
+
+    static final int ID = 1;
+    static final int TITLE = 2;
+    static final int DESCRIPTION = 3;
+    static final int AUTHOR = 4;
+    static final int ISBN = 5;
+    static final int CREATED_AT = 6;
+    static final int UPDATED_AT = 7;
+
+    static final int BOOKS = 1;
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private BookProtobufCodec() {
+    }
+
+    /**
+     * Writes a {@code Book} message.
+     */
+    public static void writeBook(final BookDto bookDto, final CodedOutputStream output) throws IOException {
+        if (bookDto.getId() != null) {
+            output.writeInt64(ID, bookDto.getId());
+        }
+        writeString(output, TITLE, bookDto.getTitle());
+        writeString(output, DESCRIPTION, bookDto.getDescription());
+        writeString(output, AUTHOR, bookDto.getAuthor());
+        writeString(output, ISBN, bookDto.getIsbn());
+        if (bookDto.getCreatedAt() != null) {
+            output.writeInt64(CREATED_AT, toMicros(bookDto.getCreatedAt()));
+        }
+        if (bookDto.getUpdatedAt() != null) {
+            output.writeInt64(UPDATED_AT, toMicros(bookDto.getUpdatedAt()));
+        }
+    }
+
+    /**
+     * Writes a {@code BookList} message, each book prefixed by its computed size.
+     */
+    public static void writeBookList(final Collection<?> books, final CodedOutputStream output) throws IOException {
+        for (final Object book : books) {
+            final BookDto bookDto = (BookDto) book;
+            output.writeTag(BOOKS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(computeBookSize(bookDto));
+            writeBook(bookDto, output);
+        }
+    }
+
+    public static int computeBookSize(final BookDto bookDto) {
+        int size = 0;
+        if (bookDto.getId() != null) {
+            size += CodedOutputStream.computeInt64Size(ID, bookDto.getId());
+        }
+        size += computeStringSize(TITLE, bookDto.getTitle());
+        size += computeStringSize(DESCRIPTION, bookDto.getDescription());
+        size += computeStringSize(AUTHOR, bookDto.getAuthor());
+        size += computeStringSize(ISBN, bookDto.getIsbn());
+        if (bookDto.getCreatedAt() != null) {
+            size += CodedOutputStream.computeInt64Size(CREATED_AT, toMicros(bookDto.getCreatedAt()));
+        }
+        if (bookDto.getUpdatedAt() != null) {
+            size += CodedOutputStream.computeInt64Size(UPDATED_AT, toMicros(bookDto.getUpdatedAt()));
+        }
+        return size;
+    }
+
+    /**
+     * Reads a {@code Book} message until the end of the input or of the current limit.
+     */
+    public static BookDto readBook(final CodedInputStream input) throws IOException {
+        final BookDto bookDto = new BookDto();
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case ID:
+                    bookDto.setId(input.readInt64());
+                    break;
+                case TITLE:
+                    bookDto.setTitle(input.readStringRequireUtf8());
+                    break;
+                case DESCRIPTION:
+                    bookDto.setDescription(input.readStringRequireUtf8());
+                    break;
+                case AUTHOR:
+                    bookDto.setAuthor(input.readStringRequireUtf8());
+                    break;
+                case ISBN:
+                    bookDto.setIsbn(input.readStringRequireUtf8());
+                    break;
+                case CREATED_AT:
+                    bookDto.setCreatedAt(fromMicros(input.readInt64()));
+                    break;
+                case UPDATED_AT:
+                    bookDto.setUpdatedAt(fromMicros(input.readInt64()));
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        return bookDto;
+    }
+
+    /**
+     * Reads a {@code BookList} message.
+     */
+    public static List<BookDto> readBookList(final CodedInputStream input) throws IOException {
+        final List<BookDto> books = new ArrayList<>();
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) != BOOKS) {
+                input.skipField(tag);
+                continue;
+            }
+            final int limit = input.pushLimit(input.readRawVarint32());
+            books.add(readBook(input));
+            input.popLimit(limit);
+        }
+        return books;
+    }
+
+    private static void writeString(final CodedOutputStream output, final int field, final String value)
+            throws IOException {
+        if (value != null) {
+            output.writeString(field, value);
+        }
+    }
+
+    private static int computeStringSize(final int field, final String value) {
+        return value != null ? CodedOutputStream.computeStringSize(field, value) : 0;
+    }
+
+    static long toMicros(final LocalDateTime timestamp) {
+        return ChronoUnit.MICROS.between(EPOCH, timestamp);
+    }
+
+    static LocalDateTime fromMicros(final long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.test.converter.http;
+
+import com.example.test.dto.BookDto;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads and writes {@link BookDto} as protobuf {@code Book} and collections of it as {@code BookList},
+ * see {@link BookProtobufCodec}.
+ */
+public class BookProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public BookProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return BookDto.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * Collections are accepted here as well, their element type is checked by the generic canRead/canWrite.
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(final Class<?> clazz) {
+        return BookDto.class.isAssignableFrom(clazz) || Collection.class.isAssignableFrom(clazz)
+                ? this.getSupportedMediaTypes()
+                : Collections.emptyList();
+    }
+
+    @Override
+    public boolean canRead(final Type type, @Nullable final Class<?> contextClass, @Nullable final MediaType mediaType) {
+        return BookProtobufHttpMessageConverter.isBookOrBookCollection(type) && this.canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable final Type type, final Class<?> clazz, @Nullable final MediaType mediaType) {
+        return BookProtobufHttpMessageConverter.isBookOrBookCollection(type != null ? type : clazz)
+                && this.canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(final Type type, @Nullable final Class<?> contextClass,
+                       final HttpInputMessage inputMessage) throws IOException {
+        final CodedInputStream input = CodedInputStream.newInstance(inputMessage.getBody());
+        try {
+            return BookDto.class.isAssignableFrom(ResolvableType.forType(type).toClass())
+                    ? BookProtobufCodec.readBook(input)
+                    : BookProtobufCodec.readBookList(input);
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Not correct protobuf body.", e, inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(final Class<?> clazz, final HttpInputMessage inputMessage) throws IOException {
+        return this.read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(final Object object, @Nullable final MediaType contentType) {
+        return object instanceof BookDto ? (long) BookProtobufCodec.computeBookSize((BookDto) object) : null;
+    }
+
+    @Override
+    protected void writeInternal(final Object object, @Nullable final Type type,
+                                 final HttpOutputMessage outputMessage) throws IOException {
+        final CodedOutputStream output = CodedOutputStream.newInstance(outputMessage.getBody());
+        if (object instanceof BookDto) {
+            BookProtobufCodec.writeBook((BookDto) object, output);
+        } else {
+            BookProtobufCodec.writeBookList((Collection<?>) object, output);
+        }
+        output.flush();
+    }
+
+    private static boolean isBookOrBookCollection(final Type type) {
+        final ResolvableType resolvableType = ResolvableType.forType(type);
+        final Class<?> clazz = resolvableType.toClass();
+        if (BookDto.class.isAssignableFrom(clazz)) {
+            return true;
+        }
+        if (!Collection.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        final Class<?> elementType = resolvableType.asCollection().resolveGeneric(0);
+        return elementType != null && BookDto.class.isAssignableFrom(elementType);
+    }
+}
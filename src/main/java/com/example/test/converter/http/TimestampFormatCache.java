@@ -0,0 +1,45 @@
+package com.example.test.converter.http;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Small direct-mapped cache of formatted timestamps. Rows of the same catalog share few distinct
+ * timestamps (createdAt usually equals updatedAt), so most lookups skip the formatter.
+ * Entries are immutable and replaced as a whole, so racing threads at worst format twice.
+ */
+final class TimestampFormatCache {
+
+    private final DateTimeFormatter formatter;
+
+    private final Entry[] entries;
+
+    TimestampFormatCache(final DateTimeFormatter formatter, final int size) {
+        this.formatter = formatter;
+        this.entries = new Entry[Integer.highestOneBit(Math.max(size, 2) - 1) << 1];
+    }
+
+    String format(final LocalDateTime timestamp) {
+        final int hash = timestamp.hashCode();
+        final int index = (hash ^ (hash >>> 16)) & (this.entries.length - 1);
+        final Entry entry = this.entries[index];
+        if (entry != null && entry.timestamp.equals(timestamp)) {
+            return entry.text;
+        }
+        final String text = this.formatter.format(timestamp);
+        this.entries[index] = new Entry(timestamp, text);
+        return text;
+    }
+
+    private static final class Entry {
+
+        private final LocalDateTime timestamp;
+
+        private final String text;
+
+        private Entry(final LocalDateTime timestamp, final String text) {
+            this.timestamp = timestamp;
+            this.text = text;
+        }
+    }
+}
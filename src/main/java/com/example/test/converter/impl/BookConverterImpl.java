@@ -1,14 +1,34 @@
 package com.example.test.converter.impl;
 
+import com.example.test.config.ConverterProperties;
 import com.example.test.converter.BookConverter;
 import com.example.test.domain.Book;
 import com.example.test.dto.BookDto;
 import lombok.NonNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.ForkJoinPool;
+
 @Service
 public class BookConverterImpl implements BookConverter {
 
+    private final ForkJoinPool conversionPool;
+
+    private final int parallelThreshold;
+
+    @Autowired
+    public BookConverterImpl(final ObjectProvider<ForkJoinPool> conversionPool,
+                             final ConverterProperties properties) {
+        this(conversionPool.getIfAvailable(), properties.getParallelThreshold());
+    }
+
+    public BookConverterImpl(final ForkJoinPool conversionPool, final int parallelThreshold) {
+        this.conversionPool = conversionPool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
     @NonNull
     @Override
     public BookDto toDto(@NonNull Book book) {
@@ -36,4 +56,14 @@ public class BookConverterImpl implements BookConverter {
                 .updatedAt(book.getUpdatedAt())
                 .build();
     }
+
+    @Override
+    public ForkJoinPool getConversionPool() {
+        return this.conversionPool;
+    }
+
+    @Override
+    public int getParallelThreshold() {
+        return this.parallelThreshold;
+    }
 }
@@ -0,0 +1,25 @@
+package com.example.test.datasource;
+
+/**
+ * Thread bound flag which sends read-only transactions to the primary as well, set for clients
+ * which recently wrote so they read their own writes.
+ */
+public final class PrimaryPin {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryPin() {
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+}
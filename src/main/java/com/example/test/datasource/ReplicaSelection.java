@@ -0,0 +1,17 @@
+package com.example.test.datasource;
+
+/**
+ * Strategy picking the replica which serves a read-only transaction.
+ */
+public enum ReplicaSelection {
+
+    /**
+     * Replicas in turn.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Replica with the fewest connections in use, ties broken in turn.
+     */
+    LEAST_BUSY
+}
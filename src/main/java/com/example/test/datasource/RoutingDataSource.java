@@ -0,0 +1,96 @@
+package com.example.test.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource which hands out replica connections inside read-only transactions and primary connections otherwise,
+ * or when the current thread is pinned to the primary by {@link PrimaryPin}.
+ * The transaction attributes are only known once the transaction has begun, so this DataSource must sit behind
+ * a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which asks for the connection
+ * on the first statement.
+ */
+public class RoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private final HikariDataSource primary;
+
+    private final List<HikariDataSource> replicas;
+
+    private final ReplicaSelection selection;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter primaryRoutes;
+
+    private final Counter replicaRoutes;
+
+    public RoutingDataSource(final HikariDataSource primary, final List<HikariDataSource> replicas,
+                             final ReplicaSelection selection, final MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.primaryRoutes = meterRegistry.counter("bookstore.datasource.routes", "target", "primary");
+        this.replicaRoutes = meterRegistry.counter("bookstore.datasource.routes", "target", "replica");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return this.determineTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return this.determineTarget().getConnection(username, password);
+    }
+
+    @Override
+    public void close() {
+        this.replicas.forEach(HikariDataSource::close);
+        this.primary.close();
+    }
+
+    HikariDataSource determineTarget() {
+        if (this.replicas.isEmpty()
+                || PrimaryPin.isPinned()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            this.primaryRoutes.increment();
+            return this.primary;
+        }
+        this.replicaRoutes.increment();
+        return this.selectReplica();
+    }
+
+    HikariDataSource selectReplica() {
+        final int size = this.replicas.size();
+        final int start = Math.floorMod(this.next.getAndIncrement(), size);
+        if (this.selection == ReplicaSelection.ROUND_ROBIN) {
+            return this.replicas.get(start);
+        }
+        HikariDataSource leastBusy = null;
+        int leastActive = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            final HikariDataSource replica = this.replicas.get((start + i) % size);
+            final int active = RoutingDataSource.activeConnections(replica);
+            if (active < leastActive) {
+                leastBusy = replica;
+                leastActive = active;
+            }
+        }
+        return leastBusy;
+    }
+
+    private static int activeConnections(final HikariDataSource dataSource) {
+        final HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+}
@@ -17,6 +17,7 @@ import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -43,16 +44,31 @@ public abstract class AbstractEntity implements Serializable {
     @Column(name = "updated_at", nullable = false)
     protected LocalDateTime updatedAt;
 
+    /**
+     * Time the entity was soft deleted, null while it is live.
+     */
+    @ToString.Exclude
+    @Column(name = "deleted_at")
+    protected LocalDateTime deletedAt;
+
     @PrePersist
     public void createTimestamp() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = AbstractEntity.now();
         this.createdAt = now;
         this.updatedAt = now;
     }
 
     @PreUpdate
     public void updateTimestamp() {
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = AbstractEntity.now();
+    }
+
+    /**
+     * @return current time truncated to the microsecond precision of the timestamp columns,
+     * so the values held by a saved entity are equal to the ones read back from the database.
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     @Override
@@ -6,9 +6,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Where;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Table;
 
 @Setter
@@ -18,7 +20,8 @@ import javax.persistence.Table;
 @EqualsAndHashCode(callSuper = true, onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @Entity
-@Table(name = "book")
+@Table(name = "book", indexes = @Index(name = "idx_book_deleted_at", columnList = "deleted_at"))
+@Where(clause = "deleted_at is null")
 public class Book extends AbstractEntity {
 
     @Column(name = "title", nullable = false)
@@ -0,0 +1,18 @@
+package com.example.test.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Number of books of an author.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AuthorFacetDto {
+
+    private final String author;
+
+    private final long count;
+}
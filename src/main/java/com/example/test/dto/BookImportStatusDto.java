@@ -0,0 +1,65 @@
+package com.example.test.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progress of a bulk import of books.
+ */
+@Getter
+@ToString
+@Builder
+public class BookImportStatusDto {
+
+    private final String id;
+
+    private final String format;
+
+    /**
+     * RUNNING, COMPLETED or FAILED.
+     */
+    private final String state;
+
+    private final LocalDateTime startedAt;
+
+    private final LocalDateTime finishedAt;
+
+    private final long rowsRead;
+
+    private final long rowsImported;
+
+    private final long rowsRejected;
+
+    /**
+     * Imported rows per second since the start, up to the end of the import.
+     */
+    private final double rowsPerSecond;
+
+    /**
+     * Reason the import stopped before the end of the input, null if it did not.
+     */
+    private final String failure;
+
+    /**
+     * The first rejected rows, up to bookstore.import.max-error-rows.
+     */
+    private final List<RowError> errors;
+
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class RowError {
+
+        private final long line;
+
+        private final String message;
+
+        private final Map<String, String> errors;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.test.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * One page of a filtered book listing.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookPageDto {
+
+    private final List<BookDto> content;
+
+    /**
+     * Zero-based number of the page.
+     */
+    private final int page;
+
+    private final int size;
+
+    /**
+     * Number of books on all pages.
+     */
+    private final long totalElements;
+}
@@ -0,0 +1,44 @@
+package com.example.test.event;
+
+import com.example.test.domain.Book;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by the book service for every create, update and delete. Listeners which keep
+ * derived state (caches, indexes) should receive it after commit with a transactional event listener.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+
+    private final Long id;
+
+    /**
+     * State of the book after the change, null for {@link Type#DELETED}.
+     */
+    @ToString.Exclude
+    private final Book book;
+
+    public static BookChangedEvent created(final Book book) {
+        return new BookChangedEvent(Type.CREATED, book.getId(), book);
+    }
+
+    public static BookChangedEvent updated(final Book book) {
+        return new BookChangedEvent(Type.UPDATED, book.getId(), book);
+    }
+
+    public static BookChangedEvent deleted(final Long id) {
+        return new BookChangedEvent(Type.DELETED, id, null);
+    }
+}
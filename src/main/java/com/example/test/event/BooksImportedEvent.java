@@ -0,0 +1,19 @@
+package com.example.test.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published once a bulk import finished, instead of a {@link BookChangedEvent} per imported book.
+ * Listeners keeping derived state should rebuild or invalidate it.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BooksImportedEvent {
+
+    private final String jobId;
+
+    private final long imported;
+}
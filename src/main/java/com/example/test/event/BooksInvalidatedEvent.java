@@ -0,0 +1,32 @@
+package com.example.test.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * Published when another instance reports committed changes of books through the invalidation bus.
+ * It carries ids only, listeners keeping derived state should reload those books from the database.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BooksInvalidatedEvent {
+
+    /**
+     * Ids of the changed books, empty if {@link #all} is set.
+     */
+    private final Set<Long> ids;
+
+    /**
+     * Number of books created minus number of books deleted by the changes, not counting a bulk import.
+     */
+    private final long countDelta;
+
+    /**
+     * Whether any book may have changed, e.g. after a bulk import.
+     */
+    private final boolean all;
+}
@@ -0,0 +1,13 @@
+package com.example.test.exception;
+
+/**
+ * A write was not confirmed in time; unlike a rejection it may still take effect.
+ */
+public class WriteTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 3184976201457349125L;
+
+    public WriteTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
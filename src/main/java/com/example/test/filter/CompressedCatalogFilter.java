@@ -0,0 +1,87 @@
+package com.example.test.filter;
+
+import com.example.test.cache.BookCounter;
+import com.example.test.cache.CompressedCatalogCache;
+import com.example.test.handler.TotalCountResponseBodyAdvice;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Filter which answers GET of the book list with the precompressed catalog snapshot when the client
+ * accepts gzip encoded JSON and the snapshot is up to date, with the X-Total-Count header of the
+ * {@link BookCounter} if it is enabled. All other requests pass through.
+ */
+@RequiredArgsConstructor
+public class CompressedCatalogFilter extends OncePerRequestFilter {
+
+    private final CompressedCatalogCache compressedCatalogCache;
+
+    /**
+     * Null if the total count is disabled.
+     */
+    private final BookCounter bookCounter;
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        if (!HttpMethod.GET.matches(request.getMethod())
+                || request.getQueryString() != null
+                || !CompressedCatalogFilter.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))
+                || !CompressedCatalogFilter.prefersJson(request.getHeader(HttpHeaders.ACCEPT))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        final CompressedCatalogCache.Snapshot snapshot = this.compressedCatalogCache.getCurrent();
+        if (snapshot == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (this.bookCounter != null) {
+            response.setHeader(TotalCountResponseBodyAdvice.HEADER_NAME, Long.toString(this.bookCounter.get()));
+        }
+        response.setContentLength(snapshot.getGzipJson().length);
+        response.getOutputStream().write(snapshot.getGzipJson());
+    }
+
+    static boolean acceptsGzip(final String acceptEncoding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return false;
+        }
+        for (final String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.trim().split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    static boolean prefersJson(final String accept) {
+        if (!StringUtils.hasText(accept)) {
+            return true;
+        }
+        try {
+            final List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MediaType.sortBySpecificityAndQuality(mediaTypes);
+            return !mediaTypes.isEmpty() && mediaTypes.get(0).isCompatibleWith(MediaType.APPLICATION_JSON);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.test.filter;
+
+import com.example.test.concurrent.AimdConcurrencyLimit;
+import com.example.test.concurrent.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Filter which sheds load before it reaches the controllers: reads and writes are admitted by their own
+ * {@link AimdConcurrencyLimit}, requests over the limit are answered right away with 503. Optionally each
+ * client draws from its own {@link TokenBucket} and is answered with 429 when it is empty. Clients are
+ * identified by their address, or by a header only if a trusted proxy sets it, since any client can send it.
+ * At most {@code maxClients} buckets are held; a bucket idle for the given time is full again and dropped.
+ * Both rejections carry a Retry-After header.
+ * Rejections are counted as {@code bookstore.limiter.rejected} by limit and reason.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String BODY = "{\"message\":\"%s\",\"status\":%d,\"timestamp\":%d}";
+
+    private final AimdConcurrencyLimit readLimit;
+
+    private final AimdConcurrencyLimit writeLimit;
+
+    private final Supplier<TokenBucket> bucketFactory;
+
+    private final String clientHeader;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param bucketFactory creates the bucket of a new client, null if clients have no quota.
+     * @param clientHeader   header identifying the client, set by a trusted proxy; null to use the address.
+     * @param bucketIdleTime time after which an unused bucket is full again.
+     */
+    public ConcurrencyLimitFilter(final AimdConcurrencyLimit readLimit, final AimdConcurrencyLimit writeLimit,
+                                  final Supplier<TokenBucket> bucketFactory, final String clientHeader,
+                                  final int maxClients, final Duration bucketIdleTime,
+                                  final MeterRegistry meterRegistry) {
+        this.readLimit = readLimit;
+        this.writeLimit = writeLimit;
+        this.bucketFactory = bucketFactory;
+        this.clientHeader = clientHeader;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(bucketIdleTime)
+                .build();
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("bookstore.limiter.clients", Tags.empty(), this.buckets, Cache::estimatedSize);
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final boolean read = ConcurrencyLimitFilter.isRead(request.getMethod());
+        final String limitName = read ? "read" : "write";
+        if (this.bucketFactory != null) {
+            final long waitNanos = this.bucket(this.clientOf(request)).tryConsume();
+            if (waitNanos > 0L) {
+                this.rejected(limitName, "quota").increment();
+                ConcurrencyLimitFilter.reject(response, HttpStatus.TOO_MANY_REQUESTS,
+                        Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)),
+                        "Request quota exceeded.");
+                return;
+            }
+        }
+        final AimdConcurrencyLimit limit = read ? this.readLimit : this.writeLimit;
+        if (!limit.tryAcquire()) {
+            this.rejected(limitName, "limit").increment();
+            ConcurrencyLimitFilter.reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1L,
+                    "Server is at its concurrency limit.");
+            return;
+        }
+        final long start = System.nanoTime();
+        boolean released = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(limit, start));
+                released = true;
+            }
+        } catch (final IOException | ServletException | RuntimeException ex) {
+            limit.release(System.nanoTime() - start, true);
+            released = true;
+            throw ex;
+        } finally {
+            if (!released) {
+                limit.release(System.nanoTime() - start, response.getStatus() >= 500);
+            }
+        }
+    }
+
+    private TokenBucket bucket(final String client) {
+        return this.buckets.get(client, key -> this.bucketFactory.get());
+    }
+
+    private String clientOf(final HttpServletRequest request) {
+        final String client = this.clientHeader != null ? request.getHeader(this.clientHeader) : null;
+        return client != null && !client.isBlank() ? client : request.getRemoteAddr();
+    }
+
+    private Counter rejected(final String limitName, final String reason) {
+        return this.meterRegistry.counter("bookstore.limiter.rejected", "name", limitName, "reason", reason);
+    }
+
+    private static void reject(final HttpServletResponse response, final HttpStatus status, final long retryAfterSeconds,
+                               final String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(String.format(BODY, message, status.value(), System.currentTimeMillis()));
+    }
+
+    private static boolean isRead(final String method) {
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+
+    /**
+     * Releases the limit of an async request once it is completed.
+     */
+    private static final class ReleasingListener implements AsyncListener {
+
+        private final AimdConcurrencyLimit limit;
+
+        private final long start;
+
+        private boolean failed;
+
+        private ReleasingListener(final AimdConcurrencyLimit limit, final long start) {
+            this.limit = limit;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            final HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            this.limit.release(System.nanoTime() - this.start, this.failed || response.getStatus() >= 500);
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            this.failed = true;
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            this.failed = true;
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
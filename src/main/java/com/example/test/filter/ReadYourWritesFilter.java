@@ -0,0 +1,74 @@
+package com.example.test.filter;
+
+import com.example.test.datasource.PrimaryPin;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Filter which keeps the reads of a client on the primary for a while after the client wrote.
+ * Write requests get a cookie holding the end of the window, requests presenting a cookie which is not
+ * yet expired run with {@link PrimaryPin} set. The cookie is set before the request is processed,
+ * as the response may be committed afterwards.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "bookstore-primary-until";
+
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(final Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final long now = System.currentTimeMillis();
+        if (ReadYourWritesFilter.isWrite(request.getMethod())) {
+            final Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now + this.windowMillis));
+            cookie.setPath(request.getContextPath() + "/api");
+            cookie.setMaxAge((int) Math.max(1L, (this.windowMillis + 999L) / 1000L));
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+        if (!ReadYourWritesFilter.isPinned(request.getCookies(), now)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        PrimaryPin.pin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryPin.unpin();
+        }
+    }
+
+    private static boolean isWrite(final String method) {
+        return !HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)
+                && !HttpMethod.OPTIONS.matches(method);
+    }
+
+    private static boolean isPinned(final Cookie[] cookies, final long now) {
+        if (cookies == null) {
+            return false;
+        }
+        for (final Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > now;
+                } catch (final NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
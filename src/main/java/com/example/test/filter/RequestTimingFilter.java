@@ -0,0 +1,98 @@
+package com.example.test.filter;
+
+import com.example.test.config.RequestTimingProperties;
+import com.example.test.timing.RequestTiming;
+import com.example.test.timing.TimingPhase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Filter which binds a {@link RequestTiming} to every api request, emits the Server-Timing header
+ * for responses without body and logs a sampled fraction of slow requests.
+ * For responses with a body the header is written by the timing body advice, right before serialization.
+ * Async requests keep their timing in a request attribute and are finished by the async dispatch.
+ */
+@Slf4j
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private final RequestTimingProperties properties;
+
+    /**
+     * Source of uniform values in [0, 1) a slow request is sampled against.
+     */
+    private final DoubleSupplier random;
+
+    public RequestTimingFilter(final RequestTimingProperties properties) {
+        this(properties, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    public RequestTimingFilter(final RequestTimingProperties properties, final DoubleSupplier random) {
+        this.properties = properties;
+        this.random = random;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        RequestTiming timing = (RequestTiming) request.getAttribute(RequestTiming.ATTRIBUTE);
+        if (timing == null) {
+            timing = new RequestTiming();
+            request.setAttribute(RequestTiming.ATTRIBUTE, timing);
+        }
+        RequestTiming.bind(timing);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTiming.unbind();
+            if (!this.isAsyncStarted(request)) {
+                this.finish(request, response, timing);
+            }
+        }
+    }
+
+    private void finish(final HttpServletRequest request, final HttpServletResponse response,
+                        final RequestTiming timing) {
+        timing.endSerialization();
+        if (!response.isCommitted() && !response.containsHeader(RequestTiming.HEADER_NAME)) {
+            response.setHeader(RequestTiming.HEADER_NAME, timing.toServerTimingHeader());
+        }
+        this.sample(request, response, timing);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private void sample(final HttpServletRequest request, final HttpServletResponse response,
+                        final RequestTiming timing) {
+        final double sampleRate = this.properties.getSampleRate();
+        if (sampleRate <= 0.0) {
+            return;
+        }
+        final long totalNanos = timing.getTotalNanos();
+        if (totalNanos < this.properties.getSlowThreshold().toNanos()
+                || this.random.getAsDouble() >= sampleRate) {
+            return;
+        }
+        log.warn("Slow request method={} uri={} status={} totalMs={} dbMs={} dbCalls={} convMs={} appMs={} serMs={}",
+                request.getMethod(), request.getRequestURI(), response.getStatus(),
+                millis(totalNanos),
+                millis(timing.getElapsedNanos(TimingPhase.DB)), timing.getCount(TimingPhase.DB),
+                millis(timing.getElapsedNanos(TimingPhase.CONVERT)),
+                millis(timing.getElapsedNanos(TimingPhase.CONTROLLER)),
+                millis(timing.getElapsedNanos(TimingPhase.SERIALIZE)));
+    }
+
+    private static long millis(final long nanos) {
+        return nanos / 1_000_000L;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.test.handler;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * Error body returned by the exception handlers of the servlet and the reactive stack.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+class ErrorResponse {
+
+    private String message;
+
+    private Integer status;
+
+    private Long timestamp;
+
+    private Map<String, String> errors;
+
+}
@@ -0,0 +1,66 @@
+package com.example.test.handler;
+
+import com.example.test.exception.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * ControllerAdvice class of the reactive stack, answering with the same error bodies as
+ * {@link RestResponseEntityExceptionHandler}.
+ */
+@Slf4j
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(value = WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleWebExchangeBindException(final WebExchangeBindException ex) {
+        final Map<String, String> errors = ex.getBindingResult()
+                .getFieldErrors()
+                .stream()
+                .collect(Collectors.toMap(FieldError::getField, FieldError::getDefaultMessage));
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .status(HttpStatus.BAD_REQUEST.value())
+                .timestamp(System.currentTimeMillis())
+                .message("Not correct response body.")
+                .errors(errors)
+                .build();
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(value = EntityNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleEntityNotFoundException(final EntityNotFoundException ex) {
+        log.error("ERROR:", ex);
+        return ReactiveExceptionHandler.createResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(value = ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(final ResponseStatusException ex) {
+        return ReactiveExceptionHandler.createResponse(null, ex.getStatus());
+    }
+
+    @ExceptionHandler(value = Throwable.class)
+    public ResponseEntity<ErrorResponse> handleThrowable(final Throwable ex) {
+        log.error("ERROR:", ex);
+        return ReactiveExceptionHandler.createResponse("Server can't process the request.",
+                HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private static ResponseEntity<ErrorResponse> createResponse(final String message, final HttpStatus status) {
+        return new ResponseEntity<>(ErrorResponse.builder()
+                .status(status.value())
+                .timestamp(System.currentTimeMillis())
+                .message(message)
+                .build(), status);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.test.handler;
+
+import com.example.test.cache.ReadFreshness;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * ControllerAdvice class which writes the Age and Warning headers of a response served from
+ * a stale-while-revalidate cache, as recorded in the {@link ReadFreshness} of the request.
+ */
+@ControllerAdvice
+@Profile("!reactive")
+public class ReadFreshnessResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(final MethodParameter returnType,
+                            final Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(final Object body, final MethodParameter returnType,
+                                  final MediaType selectedContentType,
+                                  final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  final ServerHttpRequest request, final ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest)) {
+            return body;
+        }
+        final Object freshness = ((ServletServerHttpRequest) request).getServletRequest()
+                .getAttribute(ReadFreshness.ATTRIBUTE);
+        if (freshness instanceof ReadFreshness) {
+            final ReadFreshness read = (ReadFreshness) freshness;
+            response.getHeaders().set(HttpHeaders.AGE, Long.toString(read.getAgeSeconds()));
+            final String warning = read.toWarningHeader();
+            if (warning != null) {
+                response.getHeaders().set(HttpHeaders.WARNING, warning);
+            }
+        }
+        return body;
+    }
+}
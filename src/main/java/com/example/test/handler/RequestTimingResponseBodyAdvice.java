@@ -0,0 +1,40 @@
+package com.example.test.handler;
+
+import com.example.test.timing.RequestTiming;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * ControllerAdvice class which writes the Server-Timing header right before the body is serialized
+ * and starts the serialization phase of the current {@link RequestTiming}. A list converted while it is
+ * written is therefore only in the timing logged after the request, its conversion overlaps {@code ser}.
+ */
+@ControllerAdvice
+@Profile("!reactive")
+public class RequestTimingResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(final MethodParameter returnType,
+                            final Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(final Object body, final MethodParameter returnType,
+                                  final MediaType selectedContentType,
+                                  final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  final ServerHttpRequest request, final ServerHttpResponse response) {
+        final RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            response.getHeaders().set(RequestTiming.HEADER_NAME, timing.toServerTimingHeader());
+            timing.beginSerialization();
+        }
+        return body;
+    }
+}
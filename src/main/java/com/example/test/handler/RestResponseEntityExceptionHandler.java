@@ -1,15 +1,11 @@
 package com.example.test.handler;
 
 import com.example.test.exception.EntityNotFoundException;
-import com.fasterxml.jackson.annotation.JsonInclude;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
+import com.example.test.exception.WriteTimeoutException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.ConversionNotSupportedException;
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -34,6 +30,8 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
@@ -41,6 +39,7 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @ControllerAdvice
+@Profile("!reactive")
 public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
 
     /**
@@ -212,6 +211,24 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
                 RestResponseEntityExceptionHandler.createBody(ex, HttpStatus.NOT_FOUND),
                 HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler(value = RejectedExecutionException.class)
+    protected ResponseEntity<ErrorResponse> handleRejectedExecutionException(final RuntimeException ex) {
+        log.warn("Request rejected: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(RestResponseEntityExceptionHandler.createBody("Server is busy, retry later.",
+                        HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    @ExceptionHandler(value = {TimeoutException.class, WriteTimeoutException.class})
+    protected ResponseEntity<ErrorResponse> handleTimeoutException(final Exception ex) {
+        log.warn("Request timed out: {}", ex.getMessage());
+        return new ResponseEntity<>(
+                RestResponseEntityExceptionHandler.createBody("Server did not respond in time.",
+                        HttpStatus.GATEWAY_TIMEOUT),
+                HttpStatus.GATEWAY_TIMEOUT);
+    }
 //
 //    @ExceptionHandler(value = BadRequestException.class)
 //    protected ResponseEntity<ErrorResponse> handleBadRequest(final RuntimeException ex) {
@@ -238,10 +255,14 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
     }
 
     private static ErrorResponse createBody(final Throwable obj, final HttpStatus status) {
+        return RestResponseEntityExceptionHandler.createBody(obj.getMessage(), status);
+    }
+
+    private static ErrorResponse createBody(final String message, final HttpStatus status) {
         return ErrorResponse.builder()
                 .status(status.value())
                 .timestamp(System.currentTimeMillis())
-                .message(obj.getMessage())
+                .message(message)
                 .build();
     }
 
@@ -252,22 +273,4 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
                 .message("Server can't process the request.")
                 .build();
     }
-
-    @Setter
-    @Getter
-    @NoArgsConstructor
-    @AllArgsConstructor
-    @Builder
-    @JsonInclude(JsonInclude.Include.NON_NULL)
-    private static class ErrorResponse {
-
-        private String message;
-
-        private Integer status;
-
-        private Long timestamp;
-
-        private Map<String, String> errors;
-
-    }
 }
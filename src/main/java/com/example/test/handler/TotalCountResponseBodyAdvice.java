@@ -0,0 +1,59 @@
+package com.example.test.handler;
+
+import com.example.test.cache.BookCounter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.Collection;
+
+/**
+ * ControllerAdvice class which writes the X-Total-Count header, taken from the {@link BookCounter},
+ * on the book list.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "bookstore.total-count", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+@Profile("!reactive")
+public class TotalCountResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER_NAME = "X-Total-Count";
+
+    private static final String BOOKS_PATH = "/api/v1/books";
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final BookCounter bookCounter;
+
+    @Override
+    public boolean supports(final MethodParameter returnType,
+                            final Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(final Object body, final MethodParameter returnType,
+                                  final MediaType selectedContentType,
+                                  final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  final ServerHttpRequest request, final ServerHttpResponse response) {
+        if (body instanceof Collection
+                && request instanceof ServletServerHttpRequest
+                && HttpMethod.GET.equals(request.getMethod())
+                && BOOKS_PATH.equals(URL_PATH_HELPER.getPathWithinApplication(
+                        ((ServletServerHttpRequest) request).getServletRequest()))) {
+            response.getHeaders().set(HEADER_NAME, Long.toString(this.bookCounter.get()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.test.imports;
+
+import com.example.test.dto.BookImportStatusDto;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State of one bulk import. Counters are updated by the reading thread and the chunk writers concurrently.
+ * <p>
+ * The job is done once the input has been read and every chunk has been written, tracked by a count of
+ * pending parts where the reader holds one part and each submitted chunk another.
+ */
+public class BookImportJob {
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Getter
+    private final String id = UUID.randomUUID().toString();
+
+    @Getter
+    private final ImportFormat format;
+
+    private final int maxErrorRows;
+
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+
+    private final AtomicLong rowsImported = new AtomicLong();
+
+    private final AtomicLong rowsRejected = new AtomicLong();
+
+    private final List<BookImportStatusDto.RowError> errors = new ArrayList<>();
+
+    private final AtomicInteger pendingParts = new AtomicInteger(1);
+
+    /**
+     * Completed once the job is finished and listeners were notified.
+     */
+    @Getter
+    private final CompletableFuture<BookImportJob> completion = new CompletableFuture<>();
+
+    private volatile State state = State.RUNNING;
+
+    private volatile String failure;
+
+    private volatile LocalDateTime finishedAt;
+
+    private volatile long finishNanos;
+
+    public BookImportJob(final ImportFormat format, final int maxErrorRows) {
+        this.format = format;
+        this.maxErrorRows = maxErrorRows;
+    }
+
+    public State getState() {
+        return this.state;
+    }
+
+    public long getRowsImported() {
+        return this.rowsImported.get();
+    }
+
+    public long getRowsRejected() {
+        return this.rowsRejected.get();
+    }
+
+    public void rowRead() {
+        this.rowsRead.incrementAndGet();
+    }
+
+    public void imported(final int rows) {
+        this.rowsImported.addAndGet(rows);
+    }
+
+    public void reject(final long line, final String message, final Map<String, String> fieldErrors) {
+        this.rowsRejected.incrementAndGet();
+        synchronized (this.errors) {
+            if (this.errors.size() < this.maxErrorRows) {
+                this.errors.add(new BookImportStatusDto.RowError(line, message, fieldErrors));
+            }
+        }
+    }
+
+    public void fail(final String failure) {
+        this.failure = failure;
+    }
+
+    public void chunkSubmitted() {
+        this.pendingParts.incrementAndGet();
+    }
+
+    /**
+     * Marks a chunk, or the reading of the input, as done.
+     *
+     * @return true if it was the last part and the job is now finished.
+     */
+    public boolean partDone() {
+        if (this.pendingParts.decrementAndGet() != 0) {
+            return false;
+        }
+        this.finishNanos = System.nanoTime();
+        this.finishedAt = LocalDateTime.now();
+        this.state = this.failure == null ? State.COMPLETED : State.FAILED;
+        return true;
+    }
+
+    public BookImportStatusDto toStatus() {
+        final State currentState = this.state;
+        final long endNanos = currentState == State.RUNNING ? System.nanoTime() : this.finishNanos;
+        final double seconds = Math.max(endNanos - this.startNanos, 1L) / 1_000_000_000.0;
+        final List<BookImportStatusDto.RowError> errorRows;
+        synchronized (this.errors) {
+            errorRows = new ArrayList<>(this.errors);
+        }
+        return BookImportStatusDto.builder()
+                .id(this.id)
+                .format(this.format.name())
+                .state(currentState.name())
+                .startedAt(this.startedAt)
+                .finishedAt(this.finishedAt)
+                .rowsRead(this.rowsRead.get())
+                .rowsImported(this.rowsImported.get())
+                .rowsRejected(this.rowsRejected.get())
+                .rowsPerSecond(Math.round(this.rowsImported.get() / seconds * 10.0) / 10.0)
+                .failure(this.failure)
+                .errors(errorRows)
+                .build();
+    }
+}
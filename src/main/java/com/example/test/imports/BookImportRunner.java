@@ -0,0 +1,52 @@
+package com.example.test.imports;
+
+import com.example.test.service.BookImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Imports the files given as {@code --import=<path>} on startup, the format is taken from the extension
+ * (.csv, .ndjson or .jsonl).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class BookImportRunner implements ApplicationRunner {
+
+    static final String OPTION = "import";
+
+    /**
+     * Only resolved when a file is given, so the import service stays lazy under lazy initialization.
+     */
+    private final ObjectProvider<BookImportService> bookImportService;
+
+    @Override
+    public void run(final ApplicationArguments args) throws Exception {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        for (final String file : args.getOptionValues(OPTION)) {
+            final Path path = Paths.get(file);
+            final ImportFormat format = ImportFormat.ofFileName(path.getFileName().toString());
+            if (format == null) {
+                throw new IllegalArgumentException("Unsupported import file " + file);
+            }
+            final BookImportJob job;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                job = this.bookImportService.getObject().importBooks(format, channel);
+            }
+            log.info("Import of {} finished {}", path, job.getCompletion().get().toStatus());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.test.imports;
+
+import com.example.test.dto.BookDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One row of an import: the parsed book, or the reason it could not be parsed.
+ */
+@Getter
+@AllArgsConstructor
+public class BookRow {
+
+    /**
+     * Number of the line the row starts at.
+     */
+    private final long line;
+
+    /**
+     * Parsed book, null if the row is malformed.
+     */
+    private final BookDto book;
+
+    /**
+     * Reason the row could not be parsed, null if it was.
+     */
+    private final String error;
+}
@@ -0,0 +1,27 @@
+package com.example.test.imports;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Incremental reader of the rows of an import.
+ */
+public interface BookRowReader {
+
+    /**
+     * @return the next row, or null at the end of the input.
+     */
+    BookRow next() throws IOException;
+
+    /**
+     * @param maxRecordLength number of characters of the longest row, longer rows are rejected.
+     * @param bookReader      reader of {@link com.example.test.dto.BookDto} used for NDJSON rows.
+     */
+    static BookRowReader of(final ImportFormat format, final ReadableByteChannel channel, final int maxRecordLength,
+                            final ObjectReader bookReader) {
+        final ChannelLineReader lines = new ChannelLineReader(channel, maxRecordLength);
+        return format == ImportFormat.CSV ? new CsvBookRowReader(lines) : new NdjsonBookRowReader(lines, bookReader);
+    }
+}
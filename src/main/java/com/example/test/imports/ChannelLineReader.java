@@ -0,0 +1,118 @@
+package com.example.test.imports;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads UTF-8 lines from a channel through fixed size buffers, so the input is never held in memory as a whole.
+ * Lines end with LF or CRLF, a leading byte order mark is dropped. A line longer than the maximum length is
+ * cut and flagged, the rest of it is skipped, so the next line is read from its start.
+ */
+final class ChannelLineReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+
+    private final int maxLineLength;
+
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private final StringBuilder line = new StringBuilder(256);
+
+    private boolean endOfInput;
+
+    private long lineNumber;
+
+    private boolean lineTooLong;
+
+    ChannelLineReader(final ReadableByteChannel channel, final int maxLineLength) {
+        this.channel = channel;
+        this.maxLineLength = maxLineLength;
+        this.chars.flip();
+    }
+
+    /**
+     * @return the next line without its terminator, cut to the maximum length, or null at the end of the input.
+     */
+    String readLine() throws IOException {
+        this.line.setLength(0);
+        this.lineTooLong = false;
+        while (true) {
+            while (this.chars.hasRemaining()) {
+                final char c = this.chars.get();
+                if (c == '\n') {
+                    return this.finishLine();
+                }
+                // one more for a CR before the LF
+                if (this.line.length() <= this.maxLineLength) {
+                    this.line.append(c);
+                } else {
+                    this.lineTooLong = true;
+                }
+            }
+            if (this.endOfInput) {
+                return this.line.length() > 0 ? this.finishLine() : null;
+            }
+            this.fill();
+        }
+    }
+
+    /**
+     * @return number of the line returned last, starting at 1.
+     */
+    long getLineNumber() {
+        return this.lineNumber;
+    }
+
+    /**
+     * @return whether the line returned last was longer than the maximum length and is cut.
+     */
+    boolean isLineTooLong() {
+        return this.lineTooLong;
+    }
+
+    int getMaxLineLength() {
+        return this.maxLineLength;
+    }
+
+    private String finishLine() {
+        int length = this.line.length();
+        if (length > 0 && this.line.charAt(length - 1) == '\r') {
+            length--;
+        }
+        final int start = this.lineNumber++ == 0 && length > 0 && this.line.charAt(0) == '\uFEFF' ? 1 : 0;
+        if (length - start > this.maxLineLength) {
+            this.lineTooLong = true;
+            length = start + this.maxLineLength;
+        }
+        return this.line.substring(start, length);
+    }
+
+    private void fill() throws IOException {
+        this.chars.clear();
+        while (this.chars.position() == 0 && !this.endOfInput) {
+            if (this.channel.read(this.bytes) < 0) {
+                this.endOfInput = true;
+            }
+            this.bytes.flip();
+            this.decoder.decode(this.bytes, this.chars, this.endOfInput);
+            if (this.endOfInput) {
+                this.decoder.flush(this.chars);
+            }
+            this.bytes.compact();
+        }
+        this.chars.flip();
+    }
+}
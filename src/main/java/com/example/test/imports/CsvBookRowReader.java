@@ -0,0 +1,142 @@
+package com.example.test.imports;
+
+import com.example.test.dto.BookDto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads books from CSV as described by RFC 4180: fields may be quoted, quoted fields may contain
+ * commas, line breaks and doubled quotes. The first non-blank line is the header, columns other than
+ * title, description, author and isbn are ignored. Blank lines are skipped. A record longer than the maximum
+ * length, including a quoted field left open, is rejected at that length and reading resumes at the next line.
+ */
+class CsvBookRowReader implements BookRowReader {
+
+    private static final String[] COLUMNS = {"title", "description", "author", "isbn"};
+
+    private final ChannelLineReader lines;
+
+    private int[] columnIndexes;
+
+    /**
+     * Why the last record could not be parsed.
+     */
+    private String recordError;
+
+    CsvBookRowReader(final ChannelLineReader lines) {
+        this.lines = lines;
+    }
+
+    @Override
+    public BookRow next() throws IOException {
+        if (this.columnIndexes == null) {
+            final String header = this.nextNonBlankLine();
+            if (header == null) {
+                return null;
+            }
+            this.columnIndexes = CsvBookRowReader.columnIndexes(this.parseRecord(header));
+        }
+        final String line = this.nextNonBlankLine();
+        if (line == null) {
+            return null;
+        }
+        final long lineNumber = this.lines.getLineNumber();
+        final List<String> fields = this.parseRecord(line);
+        if (fields == null) {
+            return new BookRow(lineNumber, null, this.recordError);
+        }
+        return new BookRow(lineNumber, BookDto.builder()
+                .title(this.field(fields, 0))
+                .description(this.field(fields, 1))
+                .author(this.field(fields, 2))
+                .isbn(this.field(fields, 3))
+                .build(), null);
+    }
+
+    private String nextNonBlankLine() throws IOException {
+        String line;
+        do {
+            line = this.lines.readLine();
+        } while (line != null && line.isBlank());
+        return line;
+    }
+
+    private String field(final List<String> fields, final int column) {
+        final int index = this.columnIndexes[column];
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    /**
+     * @return the fields of the record starting at the line, null with the {@link #recordError} if it is longer
+     * than the maximum length or a quoted field is not closed before the end of the input.
+     */
+    private List<String> parseRecord(final String firstLine) throws IOException {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        String line = firstLine;
+        int length = line.length();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (this.lines.isLineTooLong() || length > this.lines.getMaxLineLength()) {
+                this.recordError = "Row longer than " + this.lines.getMaxLineLength() + " characters";
+                return null;
+            }
+            if (i == line.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                line = this.lines.readLine();
+                if (line == null) {
+                    this.recordError = "Unterminated quoted field";
+                    return null;
+                }
+                length += 1 + line.length();
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            final char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+    }
+
+    private static int[] columnIndexes(final List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("Unterminated or too long CSV header");
+        }
+        final int[] indexes = new int[COLUMNS.length];
+        for (int column = 0; column < COLUMNS.length; column++) {
+            indexes[column] = -1;
+            for (int i = 0; i < header.size(); i++) {
+                if (COLUMNS[column].equals(header.get(i).trim().toLowerCase(Locale.ROOT))) {
+                    indexes[column] = i;
+                }
+            }
+            if (indexes[column] < 0) {
+                throw new IllegalArgumentException("CSV header has no column " + COLUMNS[column]);
+            }
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.test.imports;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Supported formats of a book import.
+ */
+public enum ImportFormat {
+
+    /**
+     * Comma separated values with a header row naming the columns title, description, author and isbn.
+     */
+    CSV("text/csv"),
+
+    /**
+     * One JSON object per line, with the properties of a book.
+     */
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    ImportFormat(final String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return this.mediaType;
+    }
+
+    /**
+     * @return the format of the content type, or null if it is not supported.
+     */
+    public static ImportFormat ofMediaType(final MediaType contentType) {
+        for (final ImportFormat format : values()) {
+            if (MediaType.parseMediaType(format.mediaType).isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the format of the file extension, or null if it is not supported.
+     */
+    public static ImportFormat ofFileName(final String fileName) {
+        final String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.test.imports;
+
+import com.example.test.dto.BookDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * Reads one book per line, blank lines are skipped and lines over the maximum length rejected.
+ */
+@RequiredArgsConstructor
+class NdjsonBookRowReader implements BookRowReader {
+
+    private final ChannelLineReader lines;
+
+    private final ObjectReader bookReader;
+
+    @Override
+    public BookRow next() throws IOException {
+        String line;
+        do {
+            line = this.lines.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        if (this.lines.isLineTooLong()) {
+            return new BookRow(this.lines.getLineNumber(), null,
+                    "Row longer than " + this.lines.getMaxLineLength() + " characters");
+        }
+        try {
+            return new BookRow(this.lines.getLineNumber(), this.bookReader.readValue(line, BookDto.class), null);
+        } catch (final JsonProcessingException ex) {
+            return new BookRow(this.lines.getLineNumber(), null, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.test.invalidation;
+
+import com.example.test.event.BookChangedEvent;
+import com.example.test.event.BooksImportedEvent;
+import com.example.test.event.BooksInvalidatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends the ids of books committed by this instance over the {@link InvalidationBus} and republishes the
+ * batches of other instances as {@link BooksInvalidatedEvent}. Ids are collected for one batch interval, so
+ * repeated changes of a book are sent once and many changes share one message. The net number of books created
+ * in the interval travels with the first batch, so that receivers can move their counters without a query.
+ * <p>
+ * Published as {@code bookstore.invalidation.ids} and {@code bookstore.invalidation.batches} by direction.
+ */
+@Slf4j
+public class BookInvalidationBroadcaster {
+
+    private final InvalidationBus bus;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ScheduledExecutorService executor;
+
+    private final Duration batchInterval;
+
+    private final int maxBatchSize;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong pendingCountDelta = new AtomicLong();
+
+    private final AtomicBoolean pendingAll = new AtomicBoolean();
+
+    private final Counter idsSent;
+
+    private final Counter batchesSent;
+
+    private final Counter idsReceived;
+
+    private final Counter batchesReceived;
+
+    public BookInvalidationBroadcaster(final InvalidationBus bus, final ApplicationEventPublisher eventPublisher,
+                                       final ScheduledExecutorService executor, final Duration batchInterval,
+                                       final int maxBatchSize, final MeterRegistry meterRegistry) {
+        this.bus = bus;
+        this.eventPublisher = eventPublisher;
+        this.executor = executor;
+        this.batchInterval = batchInterval;
+        this.maxBatchSize = maxBatchSize;
+        this.idsSent = meterRegistry.counter("bookstore.invalidation.ids", "direction", "sent");
+        this.batchesSent = meterRegistry.counter("bookstore.invalidation.batches", "direction", "sent");
+        this.idsReceived = meterRegistry.counter("bookstore.invalidation.ids", "direction", "received");
+        this.batchesReceived = meterRegistry.counter("bookstore.invalidation.batches", "direction", "received");
+    }
+
+    public void start() {
+        this.bus.subscribe(this::receive);
+        final long intervalMs = this.batchInterval.toMillis();
+        this.executor.scheduleWithFixedDelay(this::flushQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(final BookChangedEvent event) {
+        if (event.getType() == BookChangedEvent.Type.CREATED) {
+            this.pendingCountDelta.incrementAndGet();
+        } else if (event.getType() == BookChangedEvent.Type.DELETED) {
+            this.pendingCountDelta.decrementAndGet();
+        }
+        this.pending.add(event.getId());
+    }
+
+    @EventListener
+    public void onBooksImported(final BooksImportedEvent event) {
+        if (event.getImported() > 0) {
+            this.pendingAll.set(true);
+        }
+    }
+
+    /**
+     * Sends the ids collected since the last flush, split into batches of at most the max batch size.
+     * Ids and count delta of a batch which could not be sent are kept for the next flush.
+     *
+     * @return number of batches sent.
+     */
+    public int flush() {
+        int batches = 0;
+        if (this.pendingAll.getAndSet(false)) {
+            try {
+                this.bus.publish(Set.of(), 0, true);
+            } catch (final RuntimeException ex) {
+                this.pendingAll.set(true);
+                throw ex;
+            }
+            batches++;
+        }
+        final List<Set<Long>> idBatches = new ArrayList<>();
+        final Iterator<Long> iterator = this.pending.iterator();
+        while (iterator.hasNext()) {
+            final Set<Long> batch = new HashSet<>(Math.min(this.pending.size(), this.maxBatchSize) * 2);
+            while (iterator.hasNext() && batch.size() < this.maxBatchSize) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+            idBatches.add(batch);
+        }
+        // taken after the ids: a change moves the delta before adding its id, so every id taken is counted
+        long countDelta = this.pendingCountDelta.getAndSet(0);
+        if (idBatches.isEmpty()) {
+            this.pendingCountDelta.addAndGet(countDelta);
+        }
+        for (int i = 0; i < idBatches.size(); i++) {
+            final Set<Long> batch = idBatches.get(i);
+            try {
+                this.bus.publish(batch, countDelta, false);
+            } catch (final RuntimeException ex) {
+                idBatches.subList(i, idBatches.size()).forEach(this.pending::addAll);
+                this.pendingCountDelta.addAndGet(countDelta);
+                throw ex;
+            }
+            countDelta = 0;
+            this.idsSent.increment(batch.size());
+            batches++;
+        }
+        this.batchesSent.increment(batches);
+        return batches;
+    }
+
+    /**
+     * Sends what is still pending and stops sending and receiving.
+     */
+    public void close() {
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        this.flushQuietly();
+        this.bus.close();
+    }
+
+    private void receive(final InvalidationBatch batch) {
+        this.idsReceived.increment(batch.getIds().size());
+        this.batchesReceived.increment();
+        log.debug("BookInvalidationBroadcaster received {}", batch);
+        this.eventPublisher.publishEvent(new BooksInvalidatedEvent(batch.getIds(), batch.getCountDelta(),
+                batch.isAll()));
+    }
+
+    private void flushQuietly() {
+        try {
+            this.flush();
+        } catch (final RuntimeException ex) {
+            log.warn("BookInvalidationBroadcaster flush failed, pending ids are sent with the next batch", ex);
+        }
+    }
+}
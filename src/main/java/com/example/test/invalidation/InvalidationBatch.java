@@ -0,0 +1,33 @@
+package com.example.test.invalidation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * Ids of books changed by one instance, sent over an {@link InvalidationBus}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class InvalidationBatch {
+
+    /**
+     * Id of the bus instance which sent the batch.
+     */
+    private final String origin;
+
+    private final Set<Long> ids;
+
+    /**
+     * Number of books created minus number of books deleted by the changes of the batch.
+     */
+    private final long countDelta;
+
+    /**
+     * Whether any book may have changed, in which case the ids are not listed.
+     */
+    private final boolean all;
+}
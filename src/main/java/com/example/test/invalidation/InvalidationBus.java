@@ -0,0 +1,33 @@
+package com.example.test.invalidation;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts ids of changed books between the instances of the application. A batch is delivered to the
+ * subscribers of every other instance, never back to the sending one. Delivery is at least once, so
+ * subscribers must treat an invalidation as idempotent.
+ */
+public interface InvalidationBus {
+
+    /**
+     * @return id of this instance, stamped on the batches it sends.
+     */
+    String getOrigin();
+
+    /**
+     * Sends the ids with the net number of books they created, or with {@code all} an invalidation of every
+     * book, to the other instances.
+     */
+    void publish(Set<Long> ids, long countDelta, boolean all);
+
+    /**
+     * Starts delivering the batches of the other instances to the subscriber.
+     */
+    void subscribe(Consumer<InvalidationBatch> subscriber);
+
+    /**
+     * Stops delivering batches to this instance.
+     */
+    void close();
+}
@@ -0,0 +1,233 @@
+package com.example.test.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bus over a table of the shared database: a batch is inserted as one row per id (a row without id
+ * invalidates every book) with the count delta on its first row, every instance polls the rows after the last
+ * sequence number it has seen.
+ * <p>
+ * Sequence numbers are taken at insert but become visible at commit, so a lower number can show up after a
+ * higher one was read. Numbers skipped by a poll are therefore asked for again by the following polls until
+ * they appear or the gap timeout passes. Rows older than the retention are purged.
+ */
+@Slf4j
+public class JdbcInvalidationBus implements InvalidationBus {
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS book_invalidation ("
+            + "seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+            + "origin VARCHAR(36) NOT NULL, "
+            + "book_id BIGINT, "
+            + "count_delta BIGINT DEFAULT 0 NOT NULL, "
+            + "created_at TIMESTAMP NOT NULL)";
+
+    private static final String ADD_COUNT_DELTA = "ALTER TABLE book_invalidation "
+            + "ADD COLUMN IF NOT EXISTS count_delta BIGINT DEFAULT 0 NOT NULL";
+
+    private static final String INSERT = "INSERT INTO book_invalidation (origin, book_id, count_delta, created_at) "
+            + "VALUES (:origin, :bookId, :countDelta, :createdAt)";
+
+    private static final String SELECT_AFTER = "SELECT seq, origin, book_id, count_delta FROM book_invalidation "
+            + "WHERE seq > :after ORDER BY seq";
+
+    private static final String SELECT_AFTER_OR_GAPS = "SELECT seq, origin, book_id, count_delta "
+            + "FROM book_invalidation WHERE seq > :after OR seq IN (:gaps) ORDER BY seq";
+
+    private static final String SELECT_LAST = "SELECT COALESCE(MAX(seq), 0) FROM book_invalidation";
+
+    private static final String PURGE = "DELETE FROM book_invalidation WHERE created_at < :before";
+
+    private static final int MAX_GAPS = 1_000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ScheduledExecutorService executor;
+
+    private final Duration pollInterval;
+
+    private final long gapTimeoutNanos;
+
+    private final Duration retention;
+
+    private final String origin = UUID.randomUUID().toString();
+
+    /**
+     * Skipped sequence numbers by the time they were first missed, only accessed by the polling thread.
+     */
+    private final Map<Long, Long> gaps = new HashMap<>();
+
+    private long lastSeq;
+
+    private volatile Consumer<InvalidationBatch> subscriber;
+
+    public JdbcInvalidationBus(final NamedParameterJdbcTemplate jdbcTemplate, final ScheduledExecutorService executor,
+                               final Duration pollInterval, final Duration gapTimeout, final Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.executor = executor;
+        this.pollInterval = pollInterval;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.retention = retention;
+    }
+
+    /**
+     * Creates the table if needed and starts after the rows already in it.
+     */
+    public void start() {
+        this.jdbcTemplate.getJdbcTemplate().execute(CREATE_TABLE);
+        this.jdbcTemplate.getJdbcTemplate().execute(ADD_COUNT_DELTA);
+        this.lastSeq = this.jdbcTemplate.queryForObject(SELECT_LAST, new MapSqlParameterSource(), Long.class);
+    }
+
+    @Override
+    public String getOrigin() {
+        return this.origin;
+    }
+
+    @Override
+    public void publish(final Set<Long> ids, final long countDelta, final boolean all) {
+        final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        final List<MapSqlParameterSource> rows = new ArrayList<>(ids.size() + 1);
+        if (all) {
+            rows.add(this.row(null, rows.isEmpty() ? countDelta : 0, now));
+        }
+        for (final Long id : ids) {
+            rows.add(this.row(id, rows.isEmpty() ? countDelta : 0, now));
+        }
+        this.jdbcTemplate.batchUpdate(INSERT, rows.toArray(new MapSqlParameterSource[0]));
+    }
+
+    @Override
+    public void subscribe(final Consumer<InvalidationBatch> subscriber) {
+        this.subscriber = subscriber;
+        final long intervalMs = this.pollInterval.toMillis();
+        this.executor.scheduleWithFixedDelay(this::pollQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        final long purgeMs = Math.max(intervalMs, this.retention.toMillis() / 2);
+        this.executor.scheduleWithFixedDelay(this::purgeQuietly, purgeMs, purgeMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        this.subscriber = null;
+    }
+
+    /**
+     * Delivers the rows of other instances committed since the last poll as one batch per origin.
+     *
+     * @return number of rows read.
+     */
+    public int poll() {
+        final Consumer<InvalidationBatch> current = this.subscriber;
+        if (current == null) {
+            return 0;
+        }
+        this.expireGaps();
+        final MapSqlParameterSource parameters = new MapSqlParameterSource("after", this.lastSeq);
+        final String sql;
+        if (this.gaps.isEmpty()) {
+            sql = SELECT_AFTER;
+        } else {
+            sql = SELECT_AFTER_OR_GAPS;
+            parameters.addValue("gaps", this.gaps.keySet());
+        }
+        final Map<String, Set<Long>> idsByOrigin = new HashMap<>();
+        final Map<String, Long> countDeltaByOrigin = new HashMap<>();
+        final Set<String> allByOrigin = new HashSet<>();
+        final int[] rows = new int[1];
+        this.jdbcTemplate.query(sql, parameters, resultSet -> {
+            rows[0]++;
+            final long seq = resultSet.getLong(1);
+            this.advance(seq);
+            final String rowOrigin = resultSet.getString(2);
+            if (this.origin.equals(rowOrigin)) {
+                return;
+            }
+            final long bookId = resultSet.getLong(3);
+            if (resultSet.wasNull()) {
+                allByOrigin.add(rowOrigin);
+            } else {
+                idsByOrigin.computeIfAbsent(rowOrigin, key -> new HashSet<>()).add(bookId);
+            }
+            countDeltaByOrigin.merge(rowOrigin, resultSet.getLong(4), Long::sum);
+        });
+        for (final String rowOrigin : allByOrigin) {
+            current.accept(new InvalidationBatch(rowOrigin, Set.of(), countDeltaByOrigin.get(rowOrigin), true));
+            idsByOrigin.remove(rowOrigin);
+        }
+        idsByOrigin.forEach((rowOrigin, ids) -> current.accept(
+                new InvalidationBatch(rowOrigin, ids, countDeltaByOrigin.get(rowOrigin), false)));
+        return rows[0];
+    }
+
+    /**
+     * Deletes the rows older than the retention.
+     *
+     * @return number of rows deleted.
+     */
+    public int purge() {
+        return this.jdbcTemplate.update(PURGE, new MapSqlParameterSource("before",
+                Timestamp.valueOf(LocalDateTime.now().minus(this.retention))));
+    }
+
+    private void advance(final long seq) {
+        if (this.gaps.remove(seq) != null || seq <= this.lastSeq) {
+            return;
+        }
+        final long now = System.nanoTime();
+        for (long skipped = this.lastSeq + 1; skipped < seq && this.gaps.size() < MAX_GAPS; skipped++) {
+            this.gaps.put(skipped, now);
+        }
+        this.lastSeq = seq;
+    }
+
+    private void expireGaps() {
+        final long now = System.nanoTime();
+        final Iterator<Long> missedAt = this.gaps.values().iterator();
+        while (missedAt.hasNext()) {
+            if (now - missedAt.next() > this.gapTimeoutNanos) {
+                missedAt.remove();
+            }
+        }
+    }
+
+    private MapSqlParameterSource row(final Long bookId, final long countDelta, final Timestamp createdAt) {
+        return new MapSqlParameterSource("origin", this.origin)
+                .addValue("bookId", bookId, Types.BIGINT)
+                .addValue("countDelta", countDelta)
+                .addValue("createdAt", createdAt);
+    }
+
+    private void pollQuietly() {
+        try {
+            this.poll();
+        } catch (final RuntimeException ex) {
+            log.warn("JdbcInvalidationBus poll failed", ex);
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            final int purged = this.purge();
+            log.debug("JdbcInvalidationBus purged rows={}", purged);
+        } catch (final RuntimeException ex) {
+            log.warn("JdbcInvalidationBus purge failed", ex);
+        }
+    }
+}
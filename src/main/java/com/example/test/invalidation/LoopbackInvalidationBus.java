@@ -0,0 +1,55 @@
+package com.example.test.invalidation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Bus connecting the application contexts of one JVM which use the same channel, batches are handed to the
+ * subscribers of the other contexts on the publishing thread. Meant for tests and single-machine setups
+ * running several contexts side by side.
+ */
+public class LoopbackInvalidationBus implements InvalidationBus {
+
+    private static final Map<String, List<LoopbackInvalidationBus>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+
+    private final String origin = UUID.randomUUID().toString();
+
+    private final List<Consumer<InvalidationBatch>> subscribers = new CopyOnWriteArrayList<>();
+
+    public LoopbackInvalidationBus(final String channel) {
+        this.channel = channel;
+        CHANNELS.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(this);
+    }
+
+    @Override
+    public String getOrigin() {
+        return this.origin;
+    }
+
+    @Override
+    public void publish(final Set<Long> ids, final long countDelta, final boolean all) {
+        final InvalidationBatch batch = new InvalidationBatch(this.origin, Set.copyOf(ids), countDelta, all);
+        for (final LoopbackInvalidationBus member : CHANNELS.getOrDefault(this.channel, List.of())) {
+            if (member != this) {
+                member.subscribers.forEach(subscriber -> subscriber.accept(batch));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(final Consumer<InvalidationBatch> subscriber) {
+        this.subscribers.add(subscriber);
+    }
+
+    @Override
+    public void close() {
+        CHANNELS.getOrDefault(this.channel, List.of()).remove(this);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.test.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.LayoutBase;
+
+import java.util.Map;
+
+/**
+ * Compact one-line JSON layout, e.g.
+ * {@code {"ts":1660000000000,"level":"INFO","logger":"c.e.t.s.i.BookServiceImpl","thread":"exec-1","msg":"..."}}.
+ * Written by hand into a single builder so a record costs one buffer and one string,
+ * without an object mapper or intermediate maps.
+ */
+public class JsonLayout extends LayoutBase<ILoggingEvent> {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @Override
+    public String doLayout(final ILoggingEvent event) {
+        final String message = event.getFormattedMessage();
+        final StringBuilder builder = new StringBuilder(128 + (message != null ? message.length() : 0));
+        builder.append("{\"ts\":").append(event.getTimeStamp());
+        builder.append(",\"level\":\"").append(event.getLevel().toString()).append('"');
+        JsonLayout.appendField(builder, "logger", event.getLoggerName());
+        JsonLayout.appendField(builder, "thread", event.getThreadName());
+        JsonLayout.appendField(builder, "msg", message);
+        final Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null && !mdc.isEmpty()) {
+            builder.append(",\"mdc\":{");
+            boolean first = true;
+            for (final Map.Entry<String, String> entry : mdc.entrySet()) {
+                if (!first) {
+                    builder.append(',');
+                }
+                first = false;
+                JsonLayout.appendString(builder, entry.getKey());
+                builder.append(':');
+                JsonLayout.appendString(builder, entry.getValue());
+            }
+            builder.append('}');
+        }
+        final IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            JsonLayout.appendField(builder, "exception", ThrowableProxyUtil.asString(throwable));
+        }
+        return builder.append('}').append(CoreConstants.LINE_SEPARATOR).toString();
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/json";
+    }
+
+    private static void appendField(final StringBuilder builder, final String name, final String value) {
+        builder.append(",\"").append(name).append("\":");
+        JsonLayout.appendString(builder, value);
+    }
+
+    static void appendString(final StringBuilder builder, final String value) {
+        if (value == null) {
+            builder.append("null");
+            return;
+        }
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        builder.append('"');
+    }
+}
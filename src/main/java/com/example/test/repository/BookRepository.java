@@ -2,7 +2,39 @@ package com.example.test.repository;
 
 import com.example.test.domain.Book;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+import java.time.LocalDateTime;
+import java.util.List;
 
+public interface BookRepository extends JpaRepository<Book, Long>, BookSource {
+
+    List<Book> findByUpdatedAtAfter(LocalDateTime updatedAt);
+
+    /**
+     * Soft deletes a live book with a single update, without loading it.
+     *
+     * @return number of books deleted, 0 if there is no live book with the id.
+     */
+    @Modifying
+    @Query("UPDATE Book b SET b.deletedAt = :now, b.updatedAt = :now WHERE b.id = :id AND b.deletedAt IS NULL")
+    int softDeleteById(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Ids of the books soft deleted after the given time, which the other queries filter out.
+     */
+    @Query(value = "SELECT id FROM book WHERE deleted_at > :since", nativeQuery = true)
+    List<Long> findIdsDeletedAfter(@Param("since") LocalDateTime since);
+
+    /**
+     * Removes up to {@code limit} books soft deleted before the given time, lowest ids first.
+     *
+     * @return number of books removed.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM book WHERE id IN (SELECT id FROM book WHERE deleted_at < :before "
+            + "ORDER BY id FETCH FIRST :limit ROWS ONLY)", nativeQuery = true)
+    int purgeDeletedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
 }
@@ -0,0 +1,19 @@
+package com.example.test.repository;
+
+import com.example.test.domain.Book;
+
+import java.util.List;
+
+/**
+ * Bulk reads of the books the caches and indexes are built from: the {@link BookRepository}, or the
+ * {@link com.example.test.sharding.ShardedBookStore} in the sharded persistence mode.
+ */
+public interface BookSource {
+
+    List<Book> findAll();
+
+    /**
+     * @return the books found, in no particular order; ids without a book are skipped.
+     */
+    List<Book> findAllById(Iterable<Long> ids);
+}
@@ -0,0 +1,100 @@
+package com.example.test.repository;
+
+import com.example.test.domain.Book;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC repository of the reactive stack, written against {@link DatabaseClient}.
+ * Not a Spring Data repository interface: {@link Book} is a JPA entity, so the JPA module would claim
+ * such an interface as well. Timestamps are set through the entity callbacks, as Hibernate does.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveBookRepository {
+
+    private static final String SELECT = "SELECT id, created_at, updated_at, title, description, author, isbn FROM book";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Book> findById(final Long id) {
+        return this.databaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveBookRepository::toBook)
+                .one();
+    }
+
+    public Flux<Book> findAll() {
+        return this.databaseClient.sql(SELECT + " ORDER BY id")
+                .map(ReactiveBookRepository::toBook)
+                .all();
+    }
+
+    /**
+     * Inserts the book with a generated id, an id set on the book is ignored.
+     */
+    public Mono<Book> insert(final Book book) {
+        book.createTimestamp();
+        return this.databaseClient.sql("INSERT INTO book (created_at, updated_at, title, description, author, isbn) "
+                        + "VALUES (:createdAt, :updatedAt, :title, :description, :author, :isbn)")
+                .bind("createdAt", book.getCreatedAt())
+                .bind("updatedAt", book.getUpdatedAt())
+                .bind("title", book.getTitle())
+                .bind("description", book.getDescription())
+                .bind("author", book.getAuthor())
+                .bind("isbn", book.getIsbn())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    book.setId(id);
+                    return book;
+                });
+    }
+
+    public Mono<Book> update(final Book book) {
+        book.updateTimestamp();
+        return this.databaseClient.sql("UPDATE book SET updated_at = :updatedAt, title = :title, "
+                        + "description = :description, author = :author, isbn = :isbn WHERE id = :id")
+                .bind("id", book.getId())
+                .bind("updatedAt", book.getUpdatedAt())
+                .bind("title", book.getTitle())
+                .bind("description", book.getDescription())
+                .bind("author", book.getAuthor())
+                .bind("isbn", book.getIsbn())
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(book);
+    }
+
+    /**
+     * @return whether a book was deleted.
+     */
+    public Mono<Boolean> deleteById(final Long id) {
+        return this.databaseClient.sql("DELETE FROM book WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+
+    private static Book toBook(final Row row) {
+        return Book.builder()
+                .id(row.get("id", Long.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .author(row.get("author", String.class))
+                .isbn(row.get("isbn", String.class))
+                .build();
+    }
+}
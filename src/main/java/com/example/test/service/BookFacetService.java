@@ -0,0 +1,33 @@
+package com.example.test.service;
+
+import com.example.test.converter.DataConverter;
+import com.example.test.domain.Book;
+import com.example.test.dto.AuthorFacetDto;
+import com.example.test.dto.BookDto;
+import com.example.test.dto.BookPageDto;
+import lombok.NonNull;
+
+import java.util.List;
+
+public interface BookFacetService {
+
+    /**
+     * @param title words the counted books must have in their title, null to count all books.
+     * @return the authors with the most books, most first.
+     */
+    @NonNull
+    List<AuthorFacetDto> getAuthorFacets(String title,
+                                         int limit);
+
+    /**
+     * @param title words the listed books must have in their title, null to list all books of the author.
+     * @return the page of the author's books in id order.
+     */
+    @NonNull
+    BookPageDto getBooksByAuthor(@NonNull String author,
+                                 String title,
+                                 int page,
+                                 int size,
+                                 @NonNull DataConverter<Book, BookDto> converter);
+
+}
@@ -0,0 +1,29 @@
+package com.example.test.service;
+
+import com.example.test.dto.BookImportStatusDto;
+import com.example.test.imports.BookImportJob;
+import com.example.test.imports.ImportFormat;
+import lombok.NonNull;
+
+import java.nio.channels.ReadableByteChannel;
+import java.util.List;
+
+public interface BookImportService {
+
+    /**
+     * Reads the books from the channel on the calling thread and inserts them in chunks on the import
+     * writers. Reading pauses while all writers are busy and their queue is full.
+     *
+     * @return the job, which may still be writing its last chunks.
+     */
+    @NonNull
+    BookImportJob importBooks(@NonNull ImportFormat format,
+                              @NonNull ReadableByteChannel channel);
+
+    @NonNull
+    BookImportStatusDto getStatus(@NonNull String jobId);
+
+    @NonNull
+    List<BookImportStatusDto> getStatuses();
+
+}
@@ -6,7 +6,7 @@ import com.example.test.dto.BookDto;
 import lombok.NonNull;
 import org.springframework.data.domain.Sort;
 
-import java.util.List;
+import java.util.Collection;
 import java.util.UUID;
 
 public interface BookService {
@@ -24,7 +24,10 @@ public interface BookService {
                    @NonNull BookDto bookDto,
                    @NonNull DataConverter<Book, BookDto> converter);
 
-    @NonNull List<BookDto> getBooks(@NonNull DataConverter<Book, BookDto> converter);
+    /**
+     * @return the books, converted by the given converter while the result is iterated; it can be iterated once.
+     */
+    @NonNull Collection<BookDto> getBooks(@NonNull DataConverter<Book, BookDto> converter);
 
     void deleteById(@NonNull Long id);
 
@@ -0,0 +1,29 @@
+package com.example.test.service;
+
+import com.example.test.converter.DataConverter;
+import com.example.test.domain.Book;
+import com.example.test.dto.BookDto;
+import lombok.NonNull;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBookService {
+
+    @NonNull
+    Mono<BookDto> getById(@NonNull Long id,
+                          @NonNull DataConverter<Book, BookDto> converter);
+
+    @NonNull
+    Mono<BookDto> create(@NonNull BookDto bookDto,
+                         @NonNull DataConverter<Book, BookDto> converter);
+
+    @NonNull
+    Mono<BookDto> update(@NonNull Long id,
+                         @NonNull BookDto bookDto,
+                         @NonNull DataConverter<Book, BookDto> converter);
+
+    @NonNull Flux<BookDto> getBooks(@NonNull DataConverter<Book, BookDto> converter);
+
+    @NonNull Mono<Void> deleteById(@NonNull Long id);
+
+}
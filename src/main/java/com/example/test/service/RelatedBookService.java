@@ -0,0 +1,20 @@
+package com.example.test.service;
+
+import com.example.test.converter.DataConverter;
+import com.example.test.domain.Book;
+import com.example.test.dto.BookDto;
+import lombok.NonNull;
+
+import java.util.List;
+
+public interface RelatedBookService {
+
+    /**
+     * @return up to {@code limit} books related to the book, best first, read from the precomputed index.
+     */
+    @NonNull
+    List<BookDto> getRelated(@NonNull Long id,
+                             int limit,
+                             @NonNull DataConverter<Book, BookDto> converter);
+
+}
@@ -0,0 +1,104 @@
+package com.example.test.service.impl;
+
+import com.example.test.cache.BookFacetIndex;
+import com.example.test.config.BookFacetProperties;
+import com.example.test.converter.DataConverter;
+import com.example.test.domain.Book;
+import com.example.test.dto.AuthorFacetDto;
+import com.example.test.dto.BookDto;
+import com.example.test.dto.BookPageDto;
+import com.example.test.repository.BookRepository;
+import com.example.test.service.BookFacetService;
+import com.example.test.sharding.ShardedBookStore;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Not transactional on purpose: counts and pages are computed from the {@link BookFacetIndex}, only the books
+ * of a page are read by id in the repository's own transaction, or from their shards in the sharded
+ * persistence mode.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "bookstore.facets", name = "enabled", havingValue = "true")
+public class BookFacetServiceImpl implements BookFacetService {
+
+    private final BookFacetIndex bookFacetIndex;
+
+    private final BookRepository bookRepository;
+
+    private final Optional<ShardedBookStore> shardedBookStore;
+
+    private final BookFacetProperties properties;
+
+    @NonNull
+    @Override
+    public List<AuthorFacetDto> getAuthorFacets(String title,
+                                                int limit) {
+        log.info("GetAuthorFacets BookFacetService was invoked with title={} limit={}", title, limit);
+        final List<AuthorFacetDto> facets = this.bookFacetIndex
+                .countByAuthor(BookFacetServiceImpl.words(title), BookFacetServiceImpl.clamp(limit, this.properties.getMaxFacets()))
+                .stream()
+                .map(count -> new AuthorFacetDto(count.getAuthor(), count.getCount()))
+                .collect(Collectors.toList());
+        log.info("GetAuthorFacets BookFacetService ended facets={}", facets.size());
+        return facets;
+    }
+
+    @NonNull
+    @Override
+    public BookPageDto getBooksByAuthor(@NonNull String author,
+                                        String title,
+                                        int page,
+                                        int size,
+                                        @NonNull DataConverter<Book, BookDto> converter) {
+        log.info("GetBooksByAuthor BookFacetService was invoked with title={} page={} size={}", title, page, size);
+        final int pageSize = BookFacetServiceImpl.clamp(size, this.properties.getMaxPageSize());
+        final BookFacetIndex.IdPage idPage = this.bookFacetIndex.findIds(author, BookFacetServiceImpl.words(title),
+                Math.max(0, page), pageSize);
+        final List<BookDto> content = new ArrayList<>(idPage.getIds().length);
+        if (idPage.getIds().length > 0) {
+            final List<Long> ids = new ArrayList<>(idPage.getIds().length);
+            for (final long id : idPage.getIds()) {
+                ids.add(id);
+            }
+            final Map<Long, Book> books = new HashMap<>(ids.size() * 2);
+            final List<Book> found = this.shardedBookStore.isPresent()
+                    ? this.shardedBookStore.get().findAllById(ids)
+                    : this.bookRepository.findAllById(ids);
+            for (final Book book : found) {
+                books.put(book.getId(), book);
+            }
+            for (final Long id : ids) {
+                final Book book = books.get(id);
+                if (book != null) {
+                    content.add(converter.toDto(book));
+                }
+            }
+        }
+        log.info("GetBooksByAuthor BookFacetService ended contentSize={} total={}",
+                content.size(), idPage.getTotal());
+        return new BookPageDto(content, Math.max(0, page), pageSize, idPage.getTotal());
+    }
+
+    private static int clamp(final int requested, final int max) {
+        return Math.max(1, Math.min(requested, max));
+    }
+
+    private static String[] words(final String title) {
+        return title == null ? new String[0] : BookFacetIndex.words(title);
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.test.service.impl;
+
+import com.example.test.config.BookImportProperties;
+import com.example.test.converter.BookConverter;
+import com.example.test.domain.Book;
+import com.example.test.dto.BookDto;
+import com.example.test.dto.BookImportStatusDto;
+import com.example.test.event.BooksImportedEvent;
+import com.example.test.exception.EntityNotFoundException;
+import com.example.test.imports.BookImportJob;
+import com.example.test.imports.BookRow;
+import com.example.test.imports.BookRowReader;
+import com.example.test.imports.ImportFormat;
+import com.example.test.repository.BookRepository;
+import com.example.test.service.BookImportService;
+import com.example.test.sharding.ShardedBookStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Imports books in chunks, each chunk inserted with JDBC batching in its own transaction by a bounded pool
+ * of writers. The reader takes a permit per chunk, one for each writer and queue slot, so a slow database
+ * pauses the reading of the input instead of buffering it. In the sharded persistence mode the rows are
+ * inserted one by one through the {@link ShardedBookStore}, which has no transaction spanning the shards.
+ * <p>
+ * No {@link com.example.test.event.BookChangedEvent} is published per imported book, a single
+ * {@link BooksImportedEvent} is published once the job is finished.
+ */
+@Slf4j
+@Service
+@Profile("!reactive")
+public class BookImportServiceImpl implements BookImportService {
+
+    private static final String NAME = "book-import";
+
+    private static final int RETAINED_JOBS = 100;
+
+    private final BookRepository bookRepository;
+
+    private final Optional<ShardedBookStore> shardedBookStore;
+
+    private final BookConverter bookConverter;
+
+    private final Validator validator;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ObjectReader bookReader;
+
+    private final BookImportProperties properties;
+
+    private final ThreadPoolExecutor writers;
+
+    private final Semaphore writePermits;
+
+    private final Map<String, BookImportJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, BookImportJob> eldest) {
+            return this.size() > RETAINED_JOBS;
+        }
+    };
+
+    public BookImportServiceImpl(final BookRepository bookRepository,
+                                 final Optional<ShardedBookStore> shardedBookStore,
+                                 final BookConverter bookConverter, final Validator validator, final EntityManager entityManager,
+                                 final PlatformTransactionManager transactionManager,
+                                 final ApplicationEventPublisher eventPublisher, final ObjectMapper objectMapper,
+                                 final BookImportProperties properties) {
+        this.bookRepository = bookRepository;
+        this.shardedBookStore = shardedBookStore;
+        this.bookConverter = bookConverter;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.bookReader = objectMapper.readerFor(BookDto.class);
+        this.properties = properties;
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(properties.getPoolSize(), properties.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, NAME + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // the permits bound the queued chunks, a bounded queue could still be full while a permit is free
+        this.writePermits = new Semaphore(properties.getPoolSize() + properties.getQueueCapacity());
+    }
+
+    @NonNull
+    @Override
+    public BookImportJob importBooks(@NonNull ImportFormat format,
+                                     @NonNull ReadableByteChannel channel) {
+        final BookImportJob job = new BookImportJob(format, this.properties.getMaxErrorRows());
+        synchronized (this.jobs) {
+            this.jobs.put(job.getId(), job);
+        }
+        log.info("ImportBooks BookImportService was invoked jobId={} format={}", job.getId(), format);
+        final BookRowReader rows = BookRowReader.of(format, channel, this.properties.getMaxRecordLength(),
+                this.bookReader);
+        List<BookRow> chunk = new ArrayList<>(this.properties.getChunkSize());
+        try {
+            for (BookRow row = rows.next(); row != null; row = rows.next()) {
+                job.rowRead();
+                if (this.isValid(job, row)) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == this.properties.getChunkSize()) {
+                    this.submit(job, chunk);
+                    chunk = new ArrayList<>(this.properties.getChunkSize());
+                }
+            }
+            if (!chunk.isEmpty()) {
+                this.submit(job, chunk);
+            }
+        } catch (final IOException | IllegalArgumentException ex) {
+            log.error("ImportBooks BookImportService failed to read jobId={}", job.getId(), ex);
+            job.fail(ex.getMessage());
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            job.fail("Import was interrupted");
+        }
+        this.partDone(job);
+        return job;
+    }
+
+    @NonNull
+    @Override
+    public BookImportStatusDto getStatus(@NonNull String jobId) {
+        final BookImportJob job;
+        synchronized (this.jobs) {
+            job = this.jobs.get(jobId);
+        }
+        if (job == null) {
+            throw new EntityNotFoundException(String.format("Import with id=%s was not found.", jobId));
+        }
+        return job.toStatus();
+    }
+
+    @NonNull
+    @Override
+    public List<BookImportStatusDto> getStatuses() {
+        final List<BookImportJob> retained;
+        synchronized (this.jobs) {
+            retained = new ArrayList<>(this.jobs.values());
+        }
+        return retained.stream()
+                .map(BookImportJob::toStatus)
+                .collect(Collectors.toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.writers.shutdownNow();
+    }
+
+    private boolean isValid(final BookImportJob job, final BookRow row) {
+        if (row.getBook() == null) {
+            job.reject(row.getLine(), row.getError(), Collections.emptyMap());
+            return false;
+        }
+        final Set<ConstraintViolation<BookDto>> violations = this.validator.validate(row.getBook());
+        if (violations.isEmpty()) {
+            return true;
+        }
+        final Map<String, String> errors = new TreeMap<>();
+        for (final ConstraintViolation<BookDto> violation : violations) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        job.reject(row.getLine(), "Not correct row.", errors);
+        return false;
+    }
+
+    private void submit(final BookImportJob job, final List<BookRow> chunk) throws InterruptedException {
+        this.writePermits.acquire();
+        job.chunkSubmitted();
+        try {
+            this.writers.execute(() -> {
+                try {
+                    this.write(job, chunk);
+                } finally {
+                    this.writePermits.release();
+                    this.partDone(job);
+                }
+            });
+        } catch (final RuntimeException ex) {
+            this.writePermits.release();
+            this.partDone(job);
+            throw ex;
+        }
+    }
+
+    /**
+     * Inserts the chunk in one transaction, or row by row if it fails so that only the offending rows
+     * are rejected.
+     */
+    private void write(final BookImportJob job, final List<BookRow> chunk) {
+        if (this.shardedBookStore.isPresent()) {
+            this.writeSharded(job, chunk, this.shardedBookStore.get());
+            return;
+        }
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> {
+                this.entityManager.unwrap(Session.class).setJdbcBatchSize(chunk.size());
+                this.bookRepository.saveAll(chunk.stream()
+                        .map(this::toEntity)
+                        .collect(Collectors.toList()));
+            });
+            job.imported(chunk.size());
+        } catch (final RuntimeException ex) {
+            log.warn("Import chunk failed, retrying row by row jobId={} size={}", job.getId(), chunk.size(), ex);
+            for (final BookRow row : chunk) {
+                try {
+                    this.transactionTemplate.executeWithoutResult(status ->
+                            this.bookRepository.save(this.toEntity(row)));
+                    job.imported(1);
+                } catch (final RuntimeException rowEx) {
+                    job.reject(row.getLine(), NestedExceptionUtils.getMostSpecificCause(rowEx).getMessage(),
+                            Collections.emptyMap());
+                }
+            }
+        }
+    }
+
+    private void writeSharded(final BookImportJob job, final List<BookRow> chunk, final ShardedBookStore store) {
+        for (final BookRow row : chunk) {
+            try {
+                store.insert(this.toEntity(row));
+                job.imported(1);
+            } catch (final RuntimeException ex) {
+                job.reject(row.getLine(), NestedExceptionUtils.getMostSpecificCause(ex).getMessage(),
+                        Collections.emptyMap());
+            }
+        }
+    }
+
+    private Book toEntity(final BookRow row) {
+        return this.bookConverter.toEntity(row.getBook()
+                .toBuilder()
+                .id(null)
+                .createdAt(null)
+                .updatedAt(null)
+                .build());
+    }
+
+    private void partDone(final BookImportJob job) {
+        if (!job.partDone()) {
+            return;
+        }
+        log.info("ImportBooks BookImportService ended jobId={} state={} imported={} rejected={}",
+                job.getId(), job.getState(), job.getRowsImported(), job.getRowsRejected());
+        try {
+            this.eventPublisher.publishEvent(new BooksImportedEvent(job.getId(), job.getRowsImported()));
+        } finally {
+            job.getCompletion().complete(job);
+        }
+    }
+}
@@ -1,35 +1,82 @@
 package com.example.test.service.impl;
 
+import com.example.test.cache.BookReadModel;
+import com.example.test.cache.BookRecord;
+import com.example.test.cache.CatalogFileStore;
+import com.example.test.cache.StaleBookCache;
+import com.example.test.concurrent.GroupCommitBookWriter;
+import com.example.test.concurrent.SingleFlight;
 import com.example.test.converter.DataConverter;
+import com.example.test.converter.LazyDtoCollection;
 import com.example.test.domain.Book;
 import com.example.test.dto.BookDto;
+import com.example.test.event.BookChangedEvent;
 import com.example.test.exception.EntityNotFoundException;
+import com.example.test.exception.WriteTimeoutException;
 import com.example.test.repository.BookRepository;
 import com.example.test.service.BookService;
+import com.example.test.tombstone.BookTombstones;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "bookstore.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
 public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Optional<BookReadModel> bookReadModel;
+
+    private final Optional<GroupCommitBookWriter> groupCommitBookWriter;
+
+    private final Optional<CatalogFileStore> catalogFileStore;
+
+    private final Optional<SingleFlight<Long, Optional<Book>>> bookByIdSingleFlight;
+
+    private final Optional<StaleBookCache> staleBookCache;
+
+    private final Optional<BookTombstones> bookTombstones;
+
+    /**
+     * Not transactional on purpose: the book is saved in the repository's transaction, or in a group commit
+     * of the write-behind pipeline, which the caller must not wait for while holding a connection.
+     */
     @NonNull
     @Override
-    @Transactional
     public BookDto create(@NonNull BookDto BookDto,
                           @NonNull DataConverter<Book, BookDto> converter) {
-        log.info("Create BookService was invoked with BookDto={}", BookDto);
+        log.info("Create BookService was invoked");
+        log.debug("Create BookService was invoked with BookDto={}", BookDto);
         final Book book = converter.toEntity(BookDto);
-        final BookDto savedBookDto = converter.toDto(this.bookRepository.save(book));
-        log.info("Create BookService ended savedBookDto={}", savedBookDto);
+        final Book savedBook;
+        if (this.groupCommitBookWriter.isPresent()) {
+            savedBook = BookServiceImpl.await(this.groupCommitBookWriter.get().submit(book));
+        } else {
+            savedBook = this.bookRepository.save(book);
+            this.eventPublisher.publishEvent(BookChangedEvent.created(savedBook));
+        }
+        final BookDto savedBookDto = converter.toDto(savedBook);
+        log.info("Create BookService ended id={}", savedBookDto.getId());
+        log.debug("Create BookService ended savedBookDto={}", savedBookDto);
         return savedBookDto;
     }
 
@@ -39,15 +86,19 @@ public class BookServiceImpl implements BookService {
     public BookDto update(@NonNull Long id,
                           @NonNull BookDto bookDto,
                           @NonNull DataConverter<Book, BookDto> converter) {
-        log.info("Update BookService was invoked with id={} and bookDto={}", id, bookDto);
+        log.info("Update BookService was invoked with id={}", id);
+        log.debug("Update BookService was invoked with id={} and bookDto={}", id, bookDto);
         Book book = this.bookRepository.findById(id)
                 .orElseThrow(() -> {
                     log.error("Update BookService book with id={} was not found", id);
                     return new EntityNotFoundException(String.format("Book with id=%s was not found.", id));
                 });
         BookServiceImpl.updateBookFromDto(book, bookDto);
-        final BookDto savedBookDto = converter.toDto(bookRepository.save(book));
-        log.info("Update BookService ended savedBookDto={}", savedBookDto);
+        final Book savedBook = bookRepository.saveAndFlush(book);
+        this.eventPublisher.publishEvent(BookChangedEvent.updated(savedBook));
+        final BookDto savedBookDto = converter.toDto(savedBook);
+        log.info("Update BookService ended id={}", savedBookDto.getId());
+        log.debug("Update BookService ended savedBookDto={}", savedBookDto);
         return savedBookDto;
     }
 
@@ -58,26 +109,30 @@ public class BookServiceImpl implements BookService {
         entity.setIsbn(dto.getIsbn());
     }
 
+    /**
+     * Not transactional on purpose: reads served by the read model must not acquire a connection,
+     * the repository opens its own read-only transaction when the database is hit.
+     */
     @NonNull
     @Override
-    @Transactional
     public BookDto getById(@NonNull Long id,
                            @NonNull DataConverter<Book, BookDto> converter) {
         log.info("GetById BookService was invoked with id={}", id);
-        final Book book = this.bookRepository.findById(id)
+        final Book book = this.findById(id)
                 .orElseThrow(() -> {
                     log.error("GetById BookService book with id={} was not found", id);
                     return new EntityNotFoundException(String.format("Book with id=%s was not found.", id));
                 });
         final BookDto bookDto = converter.toDto(book);
-        log.info("GetById BookService ended bookDto={}", bookDto);
+        log.info("GetById BookService ended id={}", id);
+        log.debug("GetById BookService ended bookDto={}", bookDto);
         return bookDto;
     }
 
     @Override
-    public @NonNull List<BookDto> getBooks(@NonNull DataConverter<Book, BookDto> converter) {
+    public @NonNull Collection<BookDto> getBooks(@NonNull DataConverter<Book, BookDto> converter) {
         log.info("GetBooks BookService was invoked");
-        final List<BookDto> dtoList = converter.toDtoList(this.bookRepository.findAll());
+        final Collection<BookDto> dtoList = new LazyDtoCollection<>(this.findAll(), converter);
         log.info("GetBooks BookService ended dtoListSize={}", dtoList.size());
         return dtoList;
     }
@@ -86,11 +141,81 @@ public class BookServiceImpl implements BookService {
     @Transactional
     public void deleteById(@NonNull Long id) {
         log.info("DeleteById BookService was invoked with id={}", id);
-        if (!this.bookRepository.existsById(id)) {
+        final boolean deleted = this.bookTombstones.isPresent()
+                ? this.bookTombstones.get().delete(id)
+                : this.hardDelete(id);
+        if (!deleted) {
             log.info("DeleteById BookService book with id={} was not found", id);
             throw new EntityNotFoundException(String.format("Book with id=%s was not found.", id));
         }
-        this.bookRepository.deleteById(id);
+        this.eventPublisher.publishEvent(BookChangedEvent.deleted(id));
         log.info("DeleteById BookService ended");
     }
+
+    private boolean hardDelete(final Long id) {
+        if (!this.bookRepository.existsById(id)) {
+            return false;
+        }
+        this.bookRepository.deleteById(id);
+        return true;
+    }
+
+    private static Book await(final CompletableFuture<Book> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof TimeoutException) {
+                throw new WriteTimeoutException("Book was not committed in time, it may still be.", ex.getCause());
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Looks the book up in the read model if it is loaded, otherwise in the mapped catalog file, falling back
+     * to the database on a miss so that a change which is committed but not yet applied to them is still found.
+     * Database lookups go through the stale-while-revalidate cache if enabled, and concurrent lookups of
+     * the same id are coalesced if enabled; the shared entity is only read, every caller converts it
+     * to its own DTO.
+     */
+    private Optional<Book> findById(final Long id) {
+        if (this.bookReadModel.isPresent() && this.bookReadModel.get().isLoaded()) {
+            final BookRecord record = this.bookReadModel.get().get(id);
+            if (record != null) {
+                return Optional.of(record.toEntity());
+            }
+        } else if (this.catalogFileStore.isPresent()) {
+            final BookRecord record = this.catalogFileStore.get().get(id);
+            if (record != null) {
+                return Optional.of(record.toEntity());
+            }
+        }
+        if (this.staleBookCache.isPresent()) {
+            return this.staleBookCache.get().findById(id, () -> this.loadById(id));
+        }
+        return this.loadById(id);
+    }
+
+    private Optional<Book> loadById(final Long id) {
+        if (this.bookByIdSingleFlight.isPresent()) {
+            return this.bookByIdSingleFlight.get().execute(id, () -> this.bookRepository.findById(id));
+        }
+        return this.bookRepository.findById(id);
+    }
+
+    private List<Book> findAll() {
+        if (this.bookReadModel.isPresent() && this.bookReadModel.get().isLoaded()) {
+            return this.bookReadModel.get().getAll()
+                    .stream()
+                    .map(BookRecord::toEntity)
+                    .collect(Collectors.toList());
+        }
+        if (this.staleBookCache.isPresent()) {
+            return this.staleBookCache.get().findAll(this.bookRepository::findAll);
+        }
+        return this.bookRepository.findAll();
+    }
 }
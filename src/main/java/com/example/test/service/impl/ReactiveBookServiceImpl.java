@@ -0,0 +1,91 @@
+package com.example.test.service.impl;
+
+import com.example.test.converter.DataConverter;
+import com.example.test.domain.Book;
+import com.example.test.dto.BookDto;
+import com.example.test.exception.EntityNotFoundException;
+import com.example.test.repository.ReactiveBookRepository;
+import com.example.test.service.ReactiveBookService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveBookServiceImpl implements ReactiveBookService {
+
+    private final ReactiveBookRepository bookRepository;
+
+    @NonNull
+    @Override
+    public Mono<BookDto> create(@NonNull BookDto bookDto,
+                                @NonNull DataConverter<Book, BookDto> converter) {
+        log.info("Create ReactiveBookService was invoked");
+        log.debug("Create ReactiveBookService was invoked with bookDto={}", bookDto);
+        return this.bookRepository.insert(converter.toEntity(bookDto))
+                .map(converter::toDto)
+                .doOnNext(savedBookDto -> log.info("Create ReactiveBookService ended id={}", savedBookDto.getId()));
+    }
+
+    @NonNull
+    @Override
+    @Transactional
+    public Mono<BookDto> update(@NonNull Long id,
+                                @NonNull BookDto bookDto,
+                                @NonNull DataConverter<Book, BookDto> converter) {
+        log.info("Update ReactiveBookService was invoked with id={}", id);
+        log.debug("Update ReactiveBookService was invoked with id={} and bookDto={}", id, bookDto);
+        return this.bookRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> ReactiveBookServiceImpl.notFound("Update", id)))
+                .flatMap(book -> {
+                    BookServiceImpl.updateBookFromDto(book, bookDto);
+                    return this.bookRepository.update(book);
+                })
+                .map(converter::toDto)
+                .doOnNext(savedBookDto -> log.info("Update ReactiveBookService ended id={}", savedBookDto.getId()));
+    }
+
+    @NonNull
+    @Override
+    public Mono<BookDto> getById(@NonNull Long id,
+                                 @NonNull DataConverter<Book, BookDto> converter) {
+        log.info("GetById ReactiveBookService was invoked with id={}", id);
+        return this.bookRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> ReactiveBookServiceImpl.notFound("GetById", id)))
+                .map(converter::toDto);
+    }
+
+    /**
+     * Streams the books as they are read, demand of the subscriber is propagated to the R2DBC result.
+     */
+    @Override
+    public @NonNull Flux<BookDto> getBooks(@NonNull DataConverter<Book, BookDto> converter) {
+        log.info("GetBooks ReactiveBookService was invoked");
+        return this.bookRepository.findAll()
+                .map(converter::toDto);
+    }
+
+    @NonNull
+    @Override
+    @Transactional
+    public Mono<Void> deleteById(@NonNull Long id) {
+        log.info("DeleteById ReactiveBookService was invoked with id={}", id);
+        return this.bookRepository.deleteById(id)
+                .flatMap(deleted -> deleted
+                        ? Mono.<Void>empty()
+                        : Mono.error(ReactiveBookServiceImpl.notFound("DeleteById", id)))
+                .doOnSuccess(ignored -> log.info("DeleteById ReactiveBookService ended"));
+    }
+
+    private static EntityNotFoundException notFound(final String operation, final Long id) {
+        log.error("{} ReactiveBookService book with id={} was not found", operation, id);
+        return new EntityNotFoundException(String.format("Book with id=%s was not found.", id));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.test.service.impl;
+
+import com.example.test.cache.BookRecord;
+import com.example.test.cache.RelatedBookIndex;
+import com.example.test.config.RelatedBookProperties;
+import com.example.test.converter.DataConverter;
+import com.example.test.domain.Book;
+import com.example.test.dto.BookDto;
+import com.example.test.exception.EntityNotFoundException;
+import com.example.test.service.RelatedBookService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Not transactional on purpose: related books are served from the {@link RelatedBookIndex} only.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "bookstore.related", name = "enabled", havingValue = "true")
+public class RelatedBookServiceImpl implements RelatedBookService {
+
+    private final RelatedBookIndex relatedBookIndex;
+
+    private final RelatedBookProperties properties;
+
+    @NonNull
+    @Override
+    public List<BookDto> getRelated(@NonNull Long id,
+                                    int limit,
+                                    @NonNull DataConverter<Book, BookDto> converter) {
+        log.info("GetRelated RelatedBookService was invoked with id={} limit={}", id, limit);
+        final List<BookRecord> records = this.relatedBookIndex.getRelated(id,
+                Math.max(1, Math.min(limit, this.properties.getMaxRelated())));
+        if (records == null) {
+            log.error("GetRelated RelatedBookService book with id={} was not found", id);
+            throw new EntityNotFoundException(String.format("Book with id=%s was not found.", id));
+        }
+        final List<BookDto> dtoList = new ArrayList<>(records.size());
+        for (final BookRecord record : records) {
+            dtoList.add(converter.toDto(record.toEntity()));
+        }
+        log.info("GetRelated RelatedBookService ended id={} dtoListSize={}", id, dtoList.size());
+        return dtoList;
+    }
+}
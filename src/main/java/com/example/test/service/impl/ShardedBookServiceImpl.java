@@ -0,0 +1,105 @@
+package com.example.test.service.impl;
+
+import com.example.test.converter.DataConverter;
+import com.example.test.converter.LazyDtoCollection;
+import com.example.test.domain.Book;
+import com.example.test.dto.BookDto;
+import com.example.test.event.BookChangedEvent;
+import com.example.test.exception.EntityNotFoundException;
+import com.example.test.service.BookService;
+import com.example.test.sharding.ShardedBookStore;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+
+/**
+ * Book service of the sharded persistence mode, storing books in the {@link ShardedBookStore} instead of
+ * the JPA repository. Each operation runs in a transaction of the one shard it touches.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "bookstore.sharding", name = "enabled", havingValue = "true")
+public class ShardedBookServiceImpl implements BookService {
+
+    private final ShardedBookStore shardedBookStore;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @NonNull
+    @Override
+    public BookDto create(@NonNull BookDto bookDto,
+                          @NonNull DataConverter<Book, BookDto> converter) {
+        log.info("Create BookService was invoked");
+        log.debug("Create BookService was invoked with BookDto={}", bookDto);
+        final Book savedBook = this.shardedBookStore.insert(converter.toEntity(bookDto));
+        this.eventPublisher.publishEvent(BookChangedEvent.created(savedBook));
+        final BookDto savedBookDto = converter.toDto(savedBook);
+        log.info("Create BookService ended id={} shard={}",
+                savedBookDto.getId(), this.shardedBookStore.shardOf(savedBook.getId()));
+        log.debug("Create BookService ended savedBookDto={}", savedBookDto);
+        return savedBookDto;
+    }
+
+    @NonNull
+    @Override
+    public BookDto update(@NonNull Long id,
+                          @NonNull BookDto bookDto,
+                          @NonNull DataConverter<Book, BookDto> converter) {
+        log.info("Update BookService was invoked with id={}", id);
+        log.debug("Update BookService was invoked with id={} and bookDto={}", id, bookDto);
+        final Book savedBook = this.shardedBookStore
+                .update(id, book -> BookServiceImpl.updateBookFromDto(book, bookDto))
+                .orElseThrow(() -> {
+                    log.error("Update BookService book with id={} was not found", id);
+                    return new EntityNotFoundException(String.format("Book with id=%s was not found.", id));
+                });
+        this.eventPublisher.publishEvent(BookChangedEvent.updated(savedBook));
+        final BookDto savedBookDto = converter.toDto(savedBook);
+        log.info("Update BookService ended id={}", savedBookDto.getId());
+        log.debug("Update BookService ended savedBookDto={}", savedBookDto);
+        return savedBookDto;
+    }
+
+    @NonNull
+    @Override
+    public BookDto getById(@NonNull Long id,
+                           @NonNull DataConverter<Book, BookDto> converter) {
+        log.info("GetById BookService was invoked with id={}", id);
+        final Book book = this.shardedBookStore.findById(id)
+                .orElseThrow(() -> {
+                    log.error("GetById BookService book with id={} was not found", id);
+                    return new EntityNotFoundException(String.format("Book with id=%s was not found.", id));
+                });
+        final BookDto bookDto = converter.toDto(book);
+        log.info("GetById BookService ended id={}", id);
+        log.debug("GetById BookService ended bookDto={}", bookDto);
+        return bookDto;
+    }
+
+    @Override
+    public @NonNull Collection<BookDto> getBooks(@NonNull DataConverter<Book, BookDto> converter) {
+        log.info("GetBooks BookService was invoked");
+        final Collection<BookDto> dtoList = new LazyDtoCollection<>(this.shardedBookStore.findAll(), converter);
+        log.info("GetBooks BookService ended dtoListSize={}", dtoList.size());
+        return dtoList;
+    }
+
+    @Override
+    public void deleteById(@NonNull Long id) {
+        log.info("DeleteById BookService was invoked with id={}", id);
+        if (!this.shardedBookStore.deleteById(id)) {
+            log.info("DeleteById BookService book with id={} was not found", id);
+            throw new EntityNotFoundException(String.format("Book with id=%s was not found.", id));
+        }
+        this.eventPublisher.publishEvent(BookChangedEvent.deleted(id));
+        log.info("DeleteById BookService ended");
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.test.sharding;
+
+import com.example.test.domain.Book;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * One database of a {@link ShardedBookStore}, holding the books whose id maps to its index. Ids are taken from
+ * a sequence of the shard starting at {@code index + 1} and incremented by the shard count, so every id the
+ * shard generates maps back to it without a lookup table.
+ */
+public class BookShard {
+
+    private static final String CREATE_SEQUENCE = "CREATE SEQUENCE IF NOT EXISTS book_shard_seq "
+            + "START WITH %d INCREMENT BY %d";
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS book ("
+            + "id BIGINT NOT NULL PRIMARY KEY, "
+            + "created_at TIMESTAMP NOT NULL, "
+            + "updated_at TIMESTAMP NOT NULL, "
+            + "title VARCHAR(255) NOT NULL, "
+            + "description VARCHAR(255) NOT NULL, "
+            + "author VARCHAR(255) NOT NULL, "
+            + "isbn VARCHAR(255) NOT NULL)";
+
+    private static final String NEXT_ID = "SELECT NEXT VALUE FOR book_shard_seq";
+
+    private static final String COLUMNS = "id, created_at, updated_at, title, description, author, isbn";
+
+    private static final String INSERT = "INSERT INTO book (" + COLUMNS + ") "
+            + "VALUES (:id, :createdAt, :updatedAt, :title, :description, :author, :isbn)";
+
+    private static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM book WHERE id = :id";
+
+    private static final String SELECT_BY_ID_FOR_UPDATE = SELECT_BY_ID + " FOR UPDATE";
+
+    private static final String SELECT_BY_IDS = "SELECT " + COLUMNS + " FROM book WHERE id IN (:ids)";
+
+    private static final String SELECT_ALL = "SELECT " + COLUMNS + " FROM book ORDER BY id";
+
+    private static final String COUNT = "SELECT COUNT(*) FROM book";
+
+    private static final String UPDATE = "UPDATE book SET updated_at = :updatedAt, title = :title, "
+            + "description = :description, author = :author, isbn = :isbn WHERE id = :id";
+
+    private static final String DELETE = "DELETE FROM book WHERE id = :id";
+
+    private static final RowMapper<Book> BOOK_MAPPER = (resultSet, row) -> Book.builder()
+            .id(resultSet.getLong(1))
+            .createdAt(resultSet.getObject(2, LocalDateTime.class))
+            .updatedAt(resultSet.getObject(3, LocalDateTime.class))
+            .title(resultSet.getString(4))
+            .description(resultSet.getString(5))
+            .author(resultSet.getString(6))
+            .isbn(resultSet.getString(7))
+            .build();
+
+    private final int index;
+
+    private final int shardCount;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public BookShard(final int index, final int shardCount, final DataSource dataSource) {
+        this.index = index;
+        this.shardCount = shardCount;
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Creates the id sequence and the book table if they do not exist yet.
+     */
+    public void createSchema() {
+        this.jdbcTemplate.getJdbcTemplate().execute(String.format(CREATE_SEQUENCE, this.index + 1, this.shardCount));
+        this.jdbcTemplate.getJdbcTemplate().execute(CREATE_TABLE);
+    }
+
+    /**
+     * Inserts the book with a new id of this shard, setting its id and timestamps.
+     */
+    public Book insert(final Book book) {
+        final Long id = this.jdbcTemplate.getJdbcTemplate().queryForObject(NEXT_ID, Long.class);
+        book.setId(id);
+        book.createTimestamp();
+        this.jdbcTemplate.update(INSERT, BookShard.parameters(book)
+                .addValue("createdAt", book.getCreatedAt()));
+        return book;
+    }
+
+    public Optional<Book> findById(final long id) {
+        return this.jdbcTemplate.query(SELECT_BY_ID, new MapSqlParameterSource("id", id), BOOK_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * @return the books of the shard with these ids, in no particular order.
+     */
+    public List<Book> findAllById(final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return this.jdbcTemplate.query(SELECT_BY_IDS, new MapSqlParameterSource("ids", ids), BOOK_MAPPER);
+    }
+
+    /**
+     * @return all books of the shard ordered by id.
+     */
+    public List<Book> findAll() {
+        return this.jdbcTemplate.query(SELECT_ALL, BOOK_MAPPER);
+    }
+
+    public long count() {
+        final Long count = this.jdbcTemplate.getJdbcTemplate().queryForObject(COUNT, Long.class);
+        return count == null ? 0L : count;
+    }
+
+    /**
+     * Applies the changes to the locked row and writes it back in one transaction.
+     *
+     * @return the updated book, empty if the shard does not have it.
+     */
+    public Optional<Book> update(final long id, final Consumer<Book> changes) {
+        return this.transactionTemplate.execute(status -> {
+            final Optional<Book> current = this.jdbcTemplate
+                    .query(SELECT_BY_ID_FOR_UPDATE, new MapSqlParameterSource("id", id), BOOK_MAPPER)
+                    .stream()
+                    .findFirst();
+            current.ifPresent(book -> {
+                changes.accept(book);
+                book.updateTimestamp();
+                this.jdbcTemplate.update(UPDATE, BookShard.parameters(book));
+            });
+            return current;
+        });
+    }
+
+    /**
+     * @return whether the shard had the book.
+     */
+    public boolean deleteById(final long id) {
+        return this.jdbcTemplate.update(DELETE, new MapSqlParameterSource("id", id)) > 0;
+    }
+
+    private static MapSqlParameterSource parameters(final Book book) {
+        return new MapSqlParameterSource("id", book.getId())
+                .addValue("updatedAt", book.getUpdatedAt())
+                .addValue("title", book.getTitle())
+                .addValue("description", book.getDescription())
+                .addValue("author", book.getAuthor())
+                .addValue("isbn", book.getIsbn());
+    }
+}
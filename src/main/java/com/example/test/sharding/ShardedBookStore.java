@@ -0,0 +1,211 @@
+package com.example.test.sharding;
+
+import com.example.test.domain.Book;
+import com.example.test.repository.BookSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Books partitioned across several databases by id: the shard of a book is {@code (id - 1) mod shardCount},
+ * matching the ids each {@link BookShard} generates. Lookups, updates and deletes go to that shard only;
+ * new books are placed round robin, so writes spread evenly. Lists query all shards in parallel and merge
+ * their id-ordered results, lookups of several ids query the shards holding them.
+ * <p>
+ * The shard count must not change once books are stored, moving books between shards is not supported.
+ * Published as {@code bookstore.sharding.routed} by shard and {@code bookstore.sharding.scattered}.
+ */
+public class ShardedBookStore implements BookSource {
+
+    private final List<BookShard> shards;
+
+    private final ExecutorService executor;
+
+    private final AtomicInteger nextPlacement = new AtomicInteger();
+
+    private final List<Counter> routed;
+
+    private final Counter scattered;
+
+    public ShardedBookStore(final List<BookShard> shards, final ExecutorService executor,
+                            final MeterRegistry meterRegistry) {
+        this.shards = List.copyOf(shards);
+        this.executor = executor;
+        this.routed = new ArrayList<>(shards.size());
+        for (final BookShard shard : this.shards) {
+            this.routed.add(meterRegistry.counter("bookstore.sharding.routed",
+                    "shard", Integer.toString(shard.getIndex())));
+        }
+        this.scattered = meterRegistry.counter("bookstore.sharding.scattered");
+    }
+
+    public int shardCount() {
+        return this.shards.size();
+    }
+
+    /**
+     * @return index of the shard holding the book of this id.
+     */
+    public int shardOf(final long id) {
+        return (int) Math.floorMod(id - 1, (long) this.shards.size());
+    }
+
+    public Book insert(final Book book) {
+        final int index = Math.floorMod(this.nextPlacement.getAndIncrement(), this.shards.size());
+        this.routed.get(index).increment();
+        return this.shards.get(index).insert(book);
+    }
+
+    public Optional<Book> findById(final long id) {
+        return this.route(id).findById(id);
+    }
+
+    public Optional<Book> update(final long id, final Consumer<Book> changes) {
+        return this.route(id).update(id, changes);
+    }
+
+    public boolean deleteById(final long id) {
+        return this.route(id).deleteById(id);
+    }
+
+    /**
+     * Queries every shard on the executor and merges the results.
+     *
+     * @return all books ordered by id.
+     */
+    @Override
+    public List<Book> findAll() {
+        this.scattered.increment();
+        final List<CompletableFuture<List<Book>>> results = new ArrayList<>(this.shards.size());
+        for (final BookShard shard : this.shards) {
+            results.add(CompletableFuture.supplyAsync(shard::findAll, this.executor));
+        }
+        final List<List<Book>> gathered = new ArrayList<>(results.size());
+        for (final CompletableFuture<List<Book>> result : results) {
+            gathered.add(ShardedBookStore.await(result));
+        }
+        return ShardedBookStore.mergeById(gathered);
+    }
+
+    /**
+     * Groups the ids by shard and queries the shards holding them on the executor.
+     *
+     * @return the books found, in no particular order.
+     */
+    @Override
+    public List<Book> findAllById(final Iterable<Long> ids) {
+        final List<Set<Long>> idsByShard = new ArrayList<>(this.shards.size());
+        for (int i = 0; i < this.shards.size(); i++) {
+            idsByShard.add(new HashSet<>());
+        }
+        for (final Long id : ids) {
+            idsByShard.get(this.shardOf(id)).add(id);
+        }
+        final List<CompletableFuture<List<Book>>> results = new ArrayList<>(this.shards.size());
+        for (int i = 0; i < this.shards.size(); i++) {
+            final Set<Long> shardIds = idsByShard.get(i);
+            if (!shardIds.isEmpty()) {
+                this.routed.get(i).increment();
+                final BookShard shard = this.shards.get(i);
+                results.add(CompletableFuture.supplyAsync(() -> shard.findAllById(shardIds), this.executor));
+            }
+        }
+        final List<Book> found = new ArrayList<>();
+        for (final CompletableFuture<List<Book>> result : results) {
+            found.addAll(ShardedBookStore.await(result));
+        }
+        return found;
+    }
+
+    /**
+     * @return number of books of all shards, counted on the executor.
+     */
+    public long count() {
+        this.scattered.increment();
+        final List<CompletableFuture<Long>> results = new ArrayList<>(this.shards.size());
+        for (final BookShard shard : this.shards) {
+            results.add(CompletableFuture.supplyAsync(shard::count, this.executor));
+        }
+        long count = 0L;
+        for (final CompletableFuture<Long> result : results) {
+            count += ShardedBookStore.await(result);
+        }
+        return count;
+    }
+
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Merges lists which are each ordered by id into one ordered list.
+     */
+    static List<Book> mergeById(final List<List<Book>> sorted) {
+        int size = 0;
+        final PriorityQueue<Cursor> heads = new PriorityQueue<>(Math.max(1, sorted.size()),
+                Comparator.comparingLong(cursor -> cursor.head().getId()));
+        for (final List<Book> books : sorted) {
+            size += books.size();
+            if (!books.isEmpty()) {
+                heads.add(new Cursor(books));
+            }
+        }
+        final List<Book> merged = new ArrayList<>(size);
+        while (!heads.isEmpty()) {
+            final Cursor cursor = heads.poll();
+            merged.add(cursor.head());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private BookShard route(final long id) {
+        final int index = this.shardOf(id);
+        this.routed.get(index).increment();
+        return this.shards.get(index);
+    }
+
+    private static <T> T await(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private static final class Cursor {
+
+        private final List<Book> books;
+
+        private int position;
+
+        private Cursor(final List<Book> books) {
+            this.books = books;
+        }
+
+        private Book head() {
+            return this.books.get(this.position);
+        }
+
+        private boolean advance() {
+            return ++this.position < this.books.size();
+        }
+    }
+}
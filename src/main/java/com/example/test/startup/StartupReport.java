@@ -0,0 +1,110 @@
+package com.example.test.startup;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Startup timings aggregated from the steps of a {@link StartupTimeline}: the total time per step name,
+ * and the beans which took longest to instantiate excluding the beans they depend on.
+ */
+@Getter
+@AllArgsConstructor
+public class StartupReport {
+
+    private static final String BEAN_INSTANTIATION = "spring.beans.instantiate";
+
+    /**
+     * Time from the start of the JVM until the application was ready.
+     */
+    private final long jvmUptimeMs;
+
+    /**
+     * Number of recorded steps, missing steps were dropped when the buffer was full.
+     */
+    private final int steps;
+
+    private final List<Phase> phases;
+
+    private final List<Bean> slowestBeans;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Phase {
+
+        private final String name;
+
+        private final int count;
+
+        /**
+         * Sum of the durations of the steps, nested steps of the same name are counted twice.
+         */
+        private final double totalMs;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Bean {
+
+        private final String name;
+
+        /**
+         * Instantiation time without the nested instantiation of dependencies.
+         */
+        private final double selfMs;
+
+        private final double totalMs;
+    }
+
+    public static StartupReport of(final StartupTimeline timeline, final long jvmUptimeMs, final int slowestBeans) {
+        final List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+        final Map<String, long[]> phases = new HashMap<>();
+        final Map<Long, Long> nestedNanos = new HashMap<>();
+        for (final StartupTimeline.TimelineEvent event : events) {
+            final StartupStep step = event.getStartupStep();
+            final long[] phase = phases.computeIfAbsent(step.getName(), name -> new long[2]);
+            phase[0]++;
+            phase[1] += event.getDuration().toNanos();
+            if (step.getParentId() != null) {
+                nestedNanos.merge(step.getParentId(), event.getDuration().toNanos(), Long::sum);
+            }
+        }
+        return new StartupReport(jvmUptimeMs, events.size(),
+                phases.entrySet()
+                        .stream()
+                        .map(entry -> new Phase(entry.getKey(), (int) entry.getValue()[0],
+                                StartupReport.toMillis(entry.getValue()[1])))
+                        .sorted(Comparator.comparingDouble(Phase::getTotalMs).reversed())
+                        .collect(Collectors.toList()),
+                events.stream()
+                        .filter(event -> BEAN_INSTANTIATION.equals(event.getStartupStep().getName()))
+                        .map(event -> StartupReport.toBean(event, nestedNanos))
+                        .sorted(Comparator.comparingDouble(Bean::getSelfMs).reversed())
+                        .limit(slowestBeans)
+                        .collect(Collectors.toList()));
+    }
+
+    private static Bean toBean(final StartupTimeline.TimelineEvent event, final Map<Long, Long> nestedNanos) {
+        String name = null;
+        for (final StartupStep.Tag tag : event.getStartupStep().getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                name = tag.getValue();
+            }
+        }
+        final Duration duration = event.getDuration();
+        final long selfNanos = duration.toNanos() - nestedNanos.getOrDefault(event.getStartupStep().getId(), 0L);
+        return new Bean(name, StartupReport.toMillis(selfNanos), StartupReport.toMillis(duration.toNanos()));
+    }
+
+    private static double toMillis(final long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
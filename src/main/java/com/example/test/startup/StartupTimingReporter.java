@@ -0,0 +1,68 @@
+package com.example.test.startup;
+
+import com.example.test.config.StartupProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.stream.Collectors;
+
+/**
+ * Logs the startup timings once the application is ready and writes them as JSON for CI to compare
+ * between builds. Only an application started with a {@link BufferingApplicationStartup}, as by
+ * {@code TestApplication.main}, records them.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StartupTimingReporter {
+
+    private static final int LOGGED_PHASES = 10;
+
+    private final ApplicationStartup applicationStartup;
+
+    private final ObjectMapper objectMapper;
+
+    private final StartupProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(final ApplicationReadyEvent event) {
+        if (this.applicationStartup instanceof BufferingApplicationStartup) {
+            this.report(StartupReport.of(((BufferingApplicationStartup) this.applicationStartup).drainBufferedTimeline(),
+                    ManagementFactory.getRuntimeMXBean().getUptime(), this.properties.getSlowestBeans()));
+        }
+        if (this.properties.isExitAfterStart()) {
+            log.info("Startup exits after start");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    private void report(final StartupReport report) {
+        log.info("Startup ready jvmUptimeMs={} steps={}", report.getJvmUptimeMs(), report.getSteps());
+        log.info("Startup slowest phases {}", report.getPhases()
+                .stream()
+                .limit(LOGGED_PHASES)
+                .map(phase -> phase.getName() + "=" + phase.getTotalMs() + "ms")
+                .collect(Collectors.joining(", ")));
+        log.info("Startup slowest beans {}", report.getSlowestBeans()
+                .stream()
+                .map(bean -> bean.getName() + "=" + bean.getSelfMs() + "ms")
+                .collect(Collectors.joining(", ")));
+        if (this.properties.getReportPath() == null) {
+            return;
+        }
+        try {
+            this.objectMapper.writerWithDefaultPrettyPrinter()
+                    .writeValue(this.properties.getReportPath().toFile(), report);
+            log.info("Startup report written path={}", this.properties.getReportPath());
+        } catch (final IOException ex) {
+            log.warn("Startup report could not be written path={}", this.properties.getReportPath(), ex);
+        }
+    }
+}
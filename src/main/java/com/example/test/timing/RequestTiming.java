@@ -0,0 +1,123 @@
+package com.example.test.timing;
+
+import java.util.Locale;
+
+/**
+ * Per-request timing context, bound to the request thread by the timing filter.
+ * Each phase accumulates elapsed nanoseconds and invocation count in plain arrays,
+ * so recording a phase costs two {@link System#nanoTime()} calls and no allocation.
+ * Async requests carry the context in the {@link #ATTRIBUTE} request attribute and bind it
+ * to the worker thread running the service call; a phase is only ever recorded by one thread.
+ */
+public final class RequestTiming {
+
+    public static final String HEADER_NAME = "Server-Timing";
+
+    public static final String ATTRIBUTE = RequestTiming.class.getName();
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private static final TimingPhase[] PHASES = TimingPhase.values();
+
+    private final long startNanos = System.nanoTime();
+
+    private final long[] elapsedNanos = new long[PHASES.length];
+
+    private final int[] counts = new int[PHASES.length];
+
+    private final int[] depth = new int[PHASES.length];
+
+    private long serializationStartNanos;
+
+    /**
+     * @return the timing context bound to the current thread, or null if none.
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static RequestTiming bind() {
+        return bind(new RequestTiming());
+    }
+
+    public static RequestTiming bind(final RequestTiming timing) {
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Marks the beginning of a phase. Nested calls of the same phase are only counted once,
+     * so e.g. a converter calling itself does not double the reported time.
+     *
+     * @return start timestamp to pass to {@link #end(TimingPhase, long)}, or 0 for nested calls.
+     */
+    public long begin(final TimingPhase phase) {
+        return this.depth[phase.ordinal()]++ == 0 ? System.nanoTime() : 0L;
+    }
+
+    public void end(final TimingPhase phase, final long beginNanos) {
+        final int index = phase.ordinal();
+        if (--this.depth[index] == 0 && beginNanos != 0L) {
+            this.elapsedNanos[index] += System.nanoTime() - beginNanos;
+            this.counts[index]++;
+        }
+    }
+
+    public void beginSerialization() {
+        if (this.serializationStartNanos == 0L) {
+            this.serializationStartNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Closes the serialization phase; called once the response body has been written.
+     */
+    public void endSerialization() {
+        if (this.serializationStartNanos != 0L) {
+            final int index = TimingPhase.SERIALIZE.ordinal();
+            this.elapsedNanos[index] += System.nanoTime() - this.serializationStartNanos;
+            this.counts[index]++;
+            this.serializationStartNanos = 0L;
+        }
+    }
+
+    public long getElapsedNanos(final TimingPhase phase) {
+        return this.elapsedNanos[phase.ordinal()];
+    }
+
+    public int getCount(final TimingPhase phase) {
+        return this.counts[phase.ordinal()];
+    }
+
+    public long getTotalNanos() {
+        return System.nanoTime() - this.startNanos;
+    }
+
+    /**
+     * @return value for the Server-Timing header, e.g. {@code db;dur=1.204, conv;dur=0.081, app;dur=1.530}.
+     * Phases that did not run are omitted.
+     */
+    public String toServerTimingHeader() {
+        final StringBuilder builder = new StringBuilder(64);
+        for (final TimingPhase phase : PHASES) {
+            if (this.counts[phase.ordinal()] == 0) {
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(phase.getMetricName())
+                    .append(";dur=")
+                    .append(formatMillis(this.elapsedNanos[phase.ordinal()]));
+        }
+        return builder.toString();
+    }
+
+    static String formatMillis(final long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
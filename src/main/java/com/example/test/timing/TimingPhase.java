@@ -0,0 +1,22 @@
+package com.example.test.timing;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Phases of a request whose elapsed time is tracked by {@link RequestTiming}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TimingPhase {
+
+    DB("db"),
+    CONVERT("conv"),
+    CONTROLLER("app"),
+    SERIALIZE("ser");
+
+    /**
+     * Metric name used in the Server-Timing header and in the sampled log record.
+     */
+    private final String metricName;
+}
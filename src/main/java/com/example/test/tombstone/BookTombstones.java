@@ -0,0 +1,108 @@
+package com.example.test.tombstone;
+
+import com.example.test.repository.BookRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Soft deletion of books. A delete only sets the deleted_at column of the row, which the entity's where clause
+ * then hides from every JPA read, and keeps the row as a tombstone for consumers catching up on changes.
+ * Tombstones older than the retention are purged in small batches, each in its own short transaction with
+ * a pause in between, so the purge never holds many row locks nor competes with requests for long.
+ */
+@Slf4j
+public class BookTombstones {
+
+    private final BookRepository bookRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration retention;
+
+    private final int batchSize;
+
+    private final Duration batchPause;
+
+    private final Counter deleted;
+
+    private final Counter purged;
+
+    public BookTombstones(final BookRepository bookRepository, final TransactionTemplate transactionTemplate,
+                          final Duration retention, final int batchSize, final Duration batchPause,
+                          final MeterRegistry meterRegistry) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.deleted = Counter.builder("bookstore.tombstones.deleted")
+                .description("Books soft deleted")
+                .register(meterRegistry);
+        this.purged = Counter.builder("bookstore.tombstones.purged")
+                .description("Soft deleted books removed by the purge")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Soft deletes the book, in the caller's transaction.
+     *
+     * @return whether a live book with the id existed.
+     */
+    public boolean delete(final Long id) {
+        if (this.bookRepository.softDeleteById(id, BookTombstones.now()) == 0) {
+            return false;
+        }
+        this.deleted.increment();
+        return true;
+    }
+
+    /**
+     * Removes the tombstones older than the retention, batch by batch until a batch is not full.
+     *
+     * @return number of tombstones removed.
+     */
+    @Scheduled(initialDelayString = "${bookstore.soft-delete.purge-interval:PT10M}",
+            fixedDelayString = "${bookstore.soft-delete.purge-interval:PT10M}")
+    public long purge() {
+        final long start = System.nanoTime();
+        final LocalDateTime before = BookTombstones.now().minus(this.retention);
+        long total = 0L;
+        while (true) {
+            final Integer removed = this.transactionTemplate.execute(status ->
+                    this.bookRepository.purgeDeletedBefore(before, this.batchSize));
+            final int count = removed == null ? 0 : removed;
+            total += count;
+            this.purged.increment(count);
+            if (count < this.batchSize || !this.pause()) {
+                break;
+            }
+        }
+        log.info("BookTombstones purged before={} count={} tookMs={}",
+                before, total, (System.nanoTime() - start) / 1_000_000L);
+        return total;
+    }
+
+    private boolean pause() {
+        if (this.batchPause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(this.batchPause.toMillis());
+            return true;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
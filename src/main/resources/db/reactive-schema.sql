@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS book (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at  TIMESTAMP    NOT NULL,
+    updated_at  TIMESTAMP    NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    author      VARCHAR(255) NOT NULL,
+    isbn        VARCHAR(255) NOT NULL
+);
@@ -0,0 +1,21 @@
+CREATE SEQUENCE IF NOT EXISTS hibernate_sequence START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS book (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    created_at  TIMESTAMP    NOT NULL,
+    updated_at  TIMESTAMP    NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    author      VARCHAR(255) NOT NULL,
+    isbn        VARCHAR(255) NOT NULL,
+    deleted_at  TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_book_deleted_at ON book (deleted_at);
+
+CREATE TABLE IF NOT EXISTS book_deletion (
+    book_id    BIGINT    NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_book_deletion_deleted_at ON book_deletion (deleted_at);
@@ -0,0 +1,182 @@
+package com.example.test.benchmark;
+
+import com.example.test.TestApplication;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load test of the blocking and the async request mode while the database stalls periodically.
+ * Every {@value #STALL_PERIOD_MILLIS} ms the first {@value #STALL_WINDOW_MILLIS} ms delay each statement by
+ * {@value #STALL_MILLIS} ms. Readers fetch random books, probes hit a route which never touches the database,
+ * to show whether servlet threads stay available during a stall. Run the main method with the test classpath.
+ */
+public class AsyncModeLoadHarness {
+
+    private static final int BOOKS = 100;
+
+    private static final int READERS = 128;
+
+    private static final int PROBES = 4;
+
+    private static final long STALL_PERIOD_MILLIS = 4_000L;
+
+    private static final long STALL_WINDOW_MILLIS = 1_500L;
+
+    private static final long STALL_MILLIS = 800L;
+
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+
+    private static final Duration MEASUREMENT = Duration.ofSeconds(16);
+
+    public static void main(final String[] args) throws Exception {
+        run("blocking", false);
+        run("async", true);
+    }
+
+    private static void run(final String mode, final boolean async) throws Exception {
+        final ConfigurableApplicationContext context = new SpringApplicationBuilder(TestApplication.class,
+                DatabaseStallConfig.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.test=ERROR",
+                        "--server.tomcat.threads.max=32",
+                        "--bookstore.async.enabled=" + async);
+        try {
+            final String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/v1/books";
+            final HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            for (int i = 0; i < BOOKS; i++) {
+                client.send(HttpRequest.newBuilder(URI.create(baseUrl))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                                "{\"title\":\"title %1$d\",\"description\":\"description %1$d\","
+                                        + "\"author\":\"author %1$d\",\"isbn\":\"isbn-%1$d\"}", i)))
+                        .build(), HttpResponse.BodyHandlers.discarding());
+            }
+            DatabaseStallConfig.enabled = true;
+            final LoadResult readers = new LoadResult();
+            final LoadResult probes = new LoadResult();
+            final long measureFrom = System.nanoTime() + WARMUP.toNanos();
+            final long measureTo = measureFrom + MEASUREMENT.toNanos();
+            final ExecutorService clients = Executors.newFixedThreadPool(READERS + PROBES);
+            final List<Future<LoadResult>> futures = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                futures.add(clients.submit(() -> load(client, measureFrom, measureTo,
+                        () -> baseUrl + "/" + (1 + ThreadLocalRandom.current().nextInt(BOOKS)))));
+            }
+            for (int i = 0; i < PROBES; i++) {
+                // rejected by the id conversion, answered by the dispatcher without database access
+                futures.add(clients.submit(() -> load(client, measureFrom, measureTo, () -> baseUrl + "/probe")));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                (i < READERS ? readers : probes).merge(futures.get(i).get());
+            }
+            clients.shutdown();
+            final double seconds = MEASUREMENT.toNanos() / 1e9;
+            System.out.printf(Locale.ROOT, "%-8s reads: ok=%.0f/s p50=%.0fms p99=%.0fms max=%.0fms 503=%d 504=%d other=%d"
+                            + " | probe: p50=%.0fms p99=%.0fms max=%.0fms%n",
+                    mode, readers.getOk() / seconds, readers.percentile(0.50), readers.percentile(0.99),
+                    readers.percentile(1.0), readers.getUnavailable(), readers.getTimedOut(), readers.getOther(),
+                    probes.percentile(0.50), probes.percentile(0.99), probes.percentile(1.0));
+        } finally {
+            DatabaseStallConfig.enabled = false;
+            context.close();
+        }
+    }
+
+    private static LoadResult load(final HttpClient client, final long measureFrom, final long measureTo,
+                               final UriSupplier uris) {
+        final LoadResult result = new LoadResult();
+        while (true) {
+            final long start = System.nanoTime();
+            if (start >= measureTo) {
+                return result;
+            }
+            int status;
+            try {
+                status = client.send(HttpRequest.newBuilder(URI.create(uris.get()))
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (final Exception ex) {
+                status = -1;
+            }
+            if (start >= measureFrom) {
+                result.record(status, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private interface UriSupplier {
+        String get();
+    }
+
+    /**
+     * Wraps the DataSource into a proxy which delays statements inside the stall window.
+     */
+    @TestConfiguration
+    static class DatabaseStallConfig {
+
+        static volatile boolean enabled;
+
+        @Bean
+        public static BeanPostProcessor stallingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                    if (bean instanceof DataSource) {
+                        return ProxyDataSourceBuilder.create((DataSource) bean)
+                                .name(beanName)
+                                .listener(new StallingListener())
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    private static final class StallingListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+            if (DatabaseStallConfig.enabled && System.currentTimeMillis() % STALL_PERIOD_MILLIS < STALL_WINDOW_MILLIS) {
+                try {
+                    Thread.sleep(STALL_MILLIS);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void afterQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.test.benchmark;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.converter.impl.BookConverterImpl;
+import com.example.test.domain.Book;
+import com.example.test.dto.BookDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Conversion of a book list by {@link BookConverterImpl}: the former sequential stream collected into a
+ * default-sized list, the pre-sized sequential conversion, the parallel conversion on a dedicated pool and
+ * the lazy stream and iterator conversions. Every path converts and then consumes each dto once, the list
+ * paths by iterating the list they built, so they only differ in how the dtos are produced and held.
+ * <p>
+ * The parallel path only shows a speedup on a host with as many cores as the pool's parallelism; the
+ * available processors are printed on setup. On one core the parallel and pre-sized paths stay within noise
+ * of the sequential one, bookstore.converter.parallel-threshold is meant to be read off a run on the target host.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookConversionBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    @Param({"4"})
+    private int parallelism;
+
+    private List<Book> books;
+
+    private ForkJoinPool conversionPool;
+
+    private BookConverter sequentialConverter;
+
+    private BookConverter parallelConverter;
+
+    @Setup
+    public void setUp() {
+        System.out.printf("%navailableProcessors=%d parallelism=%d%n",
+                Runtime.getRuntime().availableProcessors(), this.parallelism);
+        this.conversionPool = new ForkJoinPool(this.parallelism);
+        this.sequentialConverter = new BookConverterImpl(null, Integer.MAX_VALUE);
+        this.parallelConverter = new BookConverterImpl(this.conversionPool, 0);
+        this.books = new ArrayList<>(this.size);
+        final LocalDateTime timestamp = LocalDateTime.of(2022, 9, 1, 10, 15, 30);
+        for (int i = 0; i < this.size; i++) {
+            this.books.add(Book.builder()
+                    .id((long) i)
+                    .title("Title " + i)
+                    .description("A description of book number " + i + " which is a bit longer than the title.")
+                    .author("Author " + (i % 50))
+                    .isbn("978-0-00-" + i)
+                    .createdAt(timestamp)
+                    .updatedAt(timestamp)
+                    .build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.conversionPool.shutdown();
+    }
+
+    @Benchmark
+    public void collectingStream(final Blackhole blackhole) {
+        BookConversionBenchmark.consume(this.books.stream()
+                .map(this.sequentialConverter::toDto)
+                .collect(Collectors.toList()), blackhole);
+    }
+
+    @Benchmark
+    public void sequentialList(final Blackhole blackhole) {
+        BookConversionBenchmark.consume(this.sequentialConverter.toDtoList(this.books), blackhole);
+    }
+
+    @Benchmark
+    public void parallelList(final Blackhole blackhole) {
+        BookConversionBenchmark.consume(this.parallelConverter.toDtoList(this.books), blackhole);
+    }
+
+    @Benchmark
+    public void lazyStream(final Blackhole blackhole) {
+        this.sequentialConverter.toDtoStream(this.books.stream()).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void lazyIterator(final Blackhole blackhole) {
+        final Iterator<BookDto> dtos = this.sequentialConverter.toDtoIterator(this.books.iterator());
+        while (dtos.hasNext()) {
+            blackhole.consume(dtos.next());
+        }
+    }
+
+    private static void consume(final List<BookDto> dtos, final Blackhole blackhole) {
+        for (final BookDto dto : dtos) {
+            blackhole.consume(dto);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookConversionBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.test.benchmark;
+
+import com.example.test.converter.http.BookJsonWriter;
+import com.example.test.dto.BookDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a book list response through the default Jackson bean serializer
+ * against the hand written {@link BookJsonWriter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookJsonSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private List<BookDto> books;
+
+    private ObjectWriter listWriter;
+
+    private BookJsonWriter bookJsonWriter;
+
+    private final OutputStream sink = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Setup
+    public void setUp() {
+        final ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, BookDto.class));
+        this.bookJsonWriter = new BookJsonWriter(objectMapper.getFactory());
+        this.books = new ArrayList<>(this.size);
+        final LocalDateTime timestamp = LocalDateTime.of(2022, 9, 1, 10, 15, 30, 123_456_000);
+        for (int i = 0; i < this.size; i++) {
+            this.books.add(BookDto.builder()
+                    .id((long) i)
+                    .title("Title " + i)
+                    .description("A description of book number " + i + " which is a bit longer than the title.")
+                    .author("Author " + (i % 50))
+                    .isbn("978-0-00-" + i)
+                    .createdAt(timestamp.plusSeconds(i / 10))
+                    .updatedAt(timestamp.plusSeconds(i / 10))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void jackson() throws IOException {
+        this.listWriter.writeValue(this.sink, this.books);
+    }
+
+    @Benchmark
+    public void bookJsonWriter() throws IOException {
+        this.bookJsonWriter.writeAll(this.books, this.sink);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookJsonSerializationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
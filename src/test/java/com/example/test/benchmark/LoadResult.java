@@ -0,0 +1,80 @@
+package com.example.test.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Outcome of a load run: status counts and the latencies of the successful requests.
+ * Filled by a single client thread, per-thread results are merged at the end of the run.
+ */
+final class LoadResult {
+
+    private long[] latencies = new long[1024];
+
+    private int size;
+
+    private long ok;
+
+    private long unavailable;
+
+    private long timedOut;
+
+    private long other;
+
+    void record(final int status, final long nanos) {
+        if (status == 503) {
+            this.unavailable++;
+        } else if (status == 504) {
+            this.timedOut++;
+        } else if (status >= 200 && status < 500) {
+            this.ok++;
+            this.add(nanos);
+        } else {
+            this.other++;
+        }
+    }
+
+    void merge(final LoadResult other) {
+        for (int i = 0; i < other.size; i++) {
+            this.add(other.latencies[i]);
+        }
+        this.ok += other.ok;
+        this.unavailable += other.unavailable;
+        this.timedOut += other.timedOut;
+        this.other += other.other;
+    }
+
+    /**
+     * @return latency in milliseconds of the given percentile (0..1) of the successful requests.
+     */
+    double percentile(final double percentile) {
+        if (this.size == 0) {
+            return 0.0;
+        }
+        Arrays.sort(this.latencies, 0, this.size);
+        final int index = (int) Math.min(this.size - 1, Math.ceil(percentile * this.size) - 1);
+        return this.latencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    long getOk() {
+        return this.ok;
+    }
+
+    long getUnavailable() {
+        return this.unavailable;
+    }
+
+    long getTimedOut() {
+        return this.timedOut;
+    }
+
+    long getOther() {
+        return this.other;
+    }
+
+    private void add(final long nanos) {
+        if (this.size == this.latencies.length) {
+            this.latencies = Arrays.copyOf(this.latencies, this.size * 2);
+        }
+        this.latencies[this.size++] = nanos;
+    }
+}
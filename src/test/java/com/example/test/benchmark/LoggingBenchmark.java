@@ -0,0 +1,162 @@
+package com.example.test.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.example.test.dto.BookDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Cost on the calling thread of the service layer log statements, comparing synchronous file logging
+ * against the bounded async appender, with and without caller data (%M %L), and full {@link BookDto}
+ * payloads against the id only records.
+ * <p>
+ * Without pacing the callers outrun the file appender, the async queue passes its discarding threshold and
+ * INFO events are dropped before they are formatted, which is not the cost of a logged event. The pacing
+ * parameter spends CPU between two log calls so the queue stays below the threshold; {@link #pacingOnly()}
+ * measures the pacing alone, to be subtracted. Written and dropped events are printed on tear down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    @Param({"payload", "summary"})
+    private String content;
+
+    @Param({"false", "true"})
+    private boolean callerData;
+
+    @Param({"0", "20000"})
+    private long pacingTokens;
+
+    private LoggerContext context;
+
+    private Logger logger;
+
+    private BookDto bookDto;
+
+    private Path logFile;
+
+    private boolean payload;
+
+    private final AtomicLong calls = new AtomicLong();
+
+    @Setup
+    public void setUp() throws IOException {
+        this.logFile = Files.createTempFile("logging-benchmark", ".log");
+        this.context = new LoggerContext();
+        final boolean sync = "sync".equals(this.appender);
+
+        final PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(this.context);
+        encoder.setPattern(this.callerData
+                ? "%d{yyyy-MM-dd HH:mm:ss.SSS} %-5level %logger{36} %M %L - %msg%n"
+                : "%d{yyyy-MM-dd HH:mm:ss.SSS} %-5level %logger{36} - %msg%n");
+        encoder.start();
+
+        final FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(this.context);
+        fileAppender.setFile(this.logFile.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> rootAppender = fileAppender;
+        if (!sync) {
+            final AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(this.context);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setDiscardingThreshold(1638);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.setIncludeCallerData(this.callerData);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            rootAppender = asyncAppender;
+        }
+        this.logger = this.context.getLogger(LoggingBenchmark.class);
+        this.logger.addAppender(rootAppender);
+        this.logger.setAdditive(false);
+
+        this.payload = "payload".equals(this.content);
+        this.bookDto = BookDto.builder()
+                .id(42L)
+                .title("The Art of Computer Programming")
+                .description("x".repeat(4096))
+                .author("Donald Knuth")
+                .isbn("978-0201896831")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.context.stop();
+        final long written;
+        try (Stream<String> lines = Files.lines(this.logFile)) {
+            written = lines.count();
+        }
+        System.out.printf("%nappender=%s content=%s callerData=%s pacingTokens=%d calls=%d written=%d dropped=%d%n",
+                this.appender, this.content, this.callerData, this.pacingTokens,
+                this.calls.get(), written, this.calls.get() - written);
+        Files.deleteIfExists(this.logFile);
+    }
+
+    @Benchmark
+    public void pacingOnly() {
+        Blackhole.consumeCPU(this.pacingTokens);
+    }
+
+    @Benchmark
+    public void logCreate() {
+        Blackhole.consumeCPU(this.pacingTokens);
+        this.calls.incrementAndGet();
+        if (this.payload) {
+            this.logger.info("Create BookService ended savedBookDto={}", this.bookDto);
+        } else {
+            this.logger.info("Create BookService ended id={}", this.bookDto.getId());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoggingBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
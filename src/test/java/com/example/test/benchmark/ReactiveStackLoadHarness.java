@@ -0,0 +1,120 @@
+package com.example.test.benchmark;
+
+import com.example.test.TestApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load test of the servlet/JPA stack against the WebFlux/R2DBC stack ({@code reactive} profile)
+ * at growing connection counts. Every connection is a virtual user fetching random books back to back
+ * with a non-blocking client, so the client does not need a thread per connection.
+ * Run the main method with the test classpath.
+ */
+public class ReactiveStackLoadHarness {
+
+    private static final int BOOKS = 100;
+
+    private static final int[] CONNECTIONS = {64, 512, 2048};
+
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+
+    private static final Duration MEASUREMENT = Duration.ofSeconds(8);
+
+    public static void main(final String[] args) throws Exception {
+        run("servlet", "--spring.datasource.url=jdbc:h2:mem:load-servlet");
+        run("reactive", "--spring.profiles.active=reactive");
+    }
+
+    private static void run(final String stack, final String stackArgument) throws Exception {
+        final ConfigurableApplicationContext context = new SpringApplicationBuilder(TestApplication.class)
+                .run("--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.test=ERROR",
+                        stackArgument);
+        final ExecutorService clientExecutor = Executors.newFixedThreadPool(4, runnable -> {
+            final Thread thread = new Thread(runnable, "load-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/v1/books";
+            final HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(clientExecutor)
+                    .build();
+            final List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < BOOKS; i++) {
+                final String body = client.send(HttpRequest.newBuilder(URI.create(baseUrl))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                                "{\"title\":\"title %1$d\",\"description\":\"description %1$d\","
+                                        + "\"author\":\"author %1$d\",\"isbn\":\"isbn-%1$d\"}", i)))
+                        .build(), HttpResponse.BodyHandlers.ofString()).body();
+                ids.add(Long.valueOf(body.replaceAll("^.*\"id\":(\\d+).*$", "$1")));
+            }
+            for (final int connections : CONNECTIONS) {
+                final long measureFrom = System.nanoTime() + WARMUP.toNanos();
+                final long measureTo = measureFrom + MEASUREMENT.toNanos();
+                final List<CompletableFuture<LoadResult>> users = new ArrayList<>(connections);
+                for (int i = 0; i < connections; i++) {
+                    final CompletableFuture<LoadResult> done = new CompletableFuture<>();
+                    next(client, baseUrl, ids, measureFrom, measureTo, new LoadResult(), done);
+                    users.add(done);
+                }
+                final LoadResult result = new LoadResult();
+                for (final CompletableFuture<LoadResult> user : users) {
+                    result.merge(user.get());
+                }
+                System.out.printf(Locale.ROOT, "%-8s connections=%4d ok=%.0f/s p50=%.1fms p99=%.1fms max=%.1fms"
+                                + " errors=%d%n",
+                        stack, connections, result.getOk() / (MEASUREMENT.toNanos() / 1e9),
+                        result.percentile(0.50), result.percentile(0.99), result.percentile(1.0),
+                        result.getUnavailable() + result.getTimedOut() + result.getOther());
+            }
+        } finally {
+            context.close();
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Sends the next request of a virtual user once the previous one completed, until the measurement ends.
+     */
+    private static void next(final HttpClient client, final String baseUrl, final List<Long> ids,
+                             final long measureFrom, final long measureTo, final LoadResult result,
+                             final CompletableFuture<LoadResult> done) {
+        final long start = System.nanoTime();
+        if (start >= measureTo) {
+            done.complete(result);
+            return;
+        }
+        final long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        client.sendAsync(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id))
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build(),
+                        HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, ex) -> {
+                    if (start >= measureFrom) {
+                        result.record(ex == null ? response.statusCode() : -1, System.nanoTime() - start);
+                    }
+                    next(client, baseUrl, ids, measureFrom, measureTo, result, done);
+                });
+    }
+}
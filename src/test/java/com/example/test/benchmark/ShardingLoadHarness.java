@@ -0,0 +1,166 @@
+package com.example.test.benchmark;
+
+import com.example.test.domain.Book;
+import com.example.test.sharding.BookShard;
+import com.example.test.sharding.ShardedBookStore;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load test of the {@link ShardedBookStore} at growing shard counts. Local H2 databases share the
+ * CPU of this machine, so each shard is given the capacity of a separate database server instead: at most
+ * {@value #STATEMENTS_PER_SHARD} statements run at once per shard, each taking at least
+ * {@value #STATEMENT_MILLIS} ms. Clients mix getById, update and create in the ratio 8:1:1, a list request
+ * every {@value #LIST_EVERY} operations. Run the main method with the test classpath.
+ */
+public class ShardingLoadHarness {
+
+    private static final int BOOKS = 2_000;
+
+    private static final int CLIENTS = 64;
+
+    private static final int STATEMENTS_PER_SHARD = 4;
+
+    private static final long STATEMENT_MILLIS = 2L;
+
+    private static final int LIST_EVERY = 500;
+
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+    public static void main(final String[] args) throws Exception {
+        for (final int shards : new int[]{1, 2, 4, 8}) {
+            run(shards);
+        }
+    }
+
+    private static void run(final int shardCount) throws Exception {
+        final List<HikariDataSource> pools = new ArrayList<>();
+        final List<BookShard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            final HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl("jdbc:h2:mem:sharding-" + shardCount + "-" + i);
+            pool.setUsername("test");
+            pool.setPassword("test");
+            pool.setMaximumPoolSize(16);
+            pools.add(pool);
+            final DataSource limited = ProxyDataSourceBuilder.create(pool)
+                    .listener(new CapacityListener(new Semaphore(STATEMENTS_PER_SHARD)))
+                    .build();
+            final BookShard shard = new BookShard(i, shardCount, limited);
+            shard.createSchema();
+            shards.add(shard);
+        }
+        final ExecutorService scatter = Executors.newFixedThreadPool(Math.max(8, shardCount));
+        final ShardedBookStore store = new ShardedBookStore(shards, scatter, new SimpleMeterRegistry());
+        try {
+            final List<Long> ids = new ArrayList<>(BOOKS);
+            for (int i = 0; i < BOOKS; i++) {
+                ids.add(store.insert(book(i)).getId());
+            }
+            final long measureFrom = System.nanoTime() + WARMUP.toNanos();
+            final long measureTo = measureFrom + MEASUREMENT.toNanos();
+            final ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+            final List<Future<LoadResult>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> load(store, ids, measureFrom, measureTo)));
+            }
+            final LoadResult result = new LoadResult();
+            for (final Future<LoadResult> future : futures) {
+                result.merge(future.get());
+            }
+            clients.shutdown();
+            final double seconds = MEASUREMENT.toNanos() / 1e9;
+            System.out.printf(Locale.ROOT, "shards=%d ops=%.0f/s p50=%.2fms p99=%.2fms max=%.2fms errors=%d%n",
+                    shardCount, result.getOk() / seconds, result.percentile(0.50), result.percentile(0.99),
+                    result.percentile(1.0), result.getOther());
+        } finally {
+            store.shutdown();
+            pools.forEach(HikariDataSource::close);
+        }
+    }
+
+    private static LoadResult load(final ShardedBookStore store, final List<Long> ids, final long measureFrom,
+                                   final long measureTo) {
+        final LoadResult result = new LoadResult();
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        int operations = 0;
+        while (true) {
+            final long start = System.nanoTime();
+            if (start >= measureTo) {
+                return result;
+            }
+            int status = 200;
+            try {
+                final int pick = random.nextInt(10);
+                final long id = ids.get(random.nextInt(ids.size()));
+                if (++operations % LIST_EVERY == 0) {
+                    store.findAll();
+                } else if (pick < 8) {
+                    store.findById(id);
+                } else if (pick < 9) {
+                    store.update(id, book -> book.setTitle("updated " + start));
+                } else {
+                    store.insert(book(random.nextInt()));
+                }
+            } catch (final RuntimeException ex) {
+                status = -1;
+            }
+            if (start >= measureFrom) {
+                result.record(status, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static Book book(final int i) {
+        return Book.builder()
+                .title("title " + i)
+                .description("description " + i)
+                .author("author " + (i % 100))
+                .isbn("isbn-" + i)
+                .build();
+    }
+
+    /**
+     * Lets a bounded number of statements run at once and holds each for the minimum statement time.
+     */
+    private static final class CapacityListener implements QueryExecutionListener {
+
+        private final Semaphore capacity;
+
+        private CapacityListener(final Semaphore capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public void beforeQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+            this.capacity.acquireUninterruptibly();
+            try {
+                Thread.sleep(STATEMENT_MILLIS);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void afterQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+            this.capacity.release();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.test.benchmark;
+
+import com.example.test.converter.http.BookJsonWriter;
+import com.example.test.converter.http.BookProtobufCodec;
+import com.example.test.dto.BookDto;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode throughput of a generated catalog in every negotiable wire format.
+ * The main method prints the payload sizes before running the benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int CATALOG_SIZE = 1000;
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String format;
+
+    private List<BookDto> books;
+
+    private byte[] encoded;
+
+    private ObjectMapper objectMapper;
+
+    private JavaType listType;
+
+    private BookJsonWriter bookJsonWriter;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.books = WireFormatBenchmark.generateCatalog();
+        final ObjectMapper jsonMapper = WireFormatBenchmark.mapper(new ObjectMapper());
+        this.bookJsonWriter = new BookJsonWriter(jsonMapper.getFactory());
+        switch (this.format) {
+            case "cbor":
+                this.objectMapper = WireFormatBenchmark.mapper(new ObjectMapper(new CBORFactory()));
+                break;
+            case "smile":
+                this.objectMapper = WireFormatBenchmark.mapper(new ObjectMapper(new SmileFactory()));
+                break;
+            default:
+                this.objectMapper = jsonMapper;
+        }
+        this.listType = this.objectMapper.getTypeFactory().constructCollectionType(List.class, BookDto.class);
+        this.encoded = this.encode();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(256 * CATALOG_SIZE);
+        switch (this.format) {
+            case "json":
+                this.bookJsonWriter.writeAll(this.books, outputStream);
+                break;
+            case "protobuf":
+                final CodedOutputStream output = CodedOutputStream.newInstance(outputStream);
+                BookProtobufCodec.writeBookList(this.books, output);
+                output.flush();
+                break;
+            default:
+                this.objectMapper.writerFor(this.listType).writeValue(outputStream, this.books);
+        }
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public List<BookDto> decode() throws IOException {
+        if ("protobuf".equals(this.format)) {
+            return BookProtobufCodec.readBookList(CodedInputStream.newInstance(this.encoded));
+        }
+        return this.objectMapper.readValue(this.encoded, this.listType);
+    }
+
+    static List<BookDto> generateCatalog() {
+        final Random random = new Random(42);
+        final LocalDateTime start = LocalDateTime.of(2022, 1, 1, 0, 0);
+        final List<BookDto> books = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            final LocalDateTime createdAt = start.plusSeconds(random.nextInt(20_000_000)).plusNanos(random.nextInt(1_000_000) * 1_000L);
+            books.add(BookDto.builder()
+                    .id((long) i + 1)
+                    .title("Title of book " + i)
+                    .description("Description of book " + i + ", " + "lorem ipsum dolor sit amet ".repeat(1 + random.nextInt(8)))
+                    .author("Author " + random.nextInt(200))
+                    .isbn("978-" + (1_000_000_000 + random.nextInt(1_000_000_000)))
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt.plusSeconds(random.nextInt(1_000_000)))
+                    .build());
+        }
+        return books;
+    }
+
+    private static ObjectMapper mapper(final ObjectMapper objectMapper) {
+        return objectMapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        for (final String format : new String[]{"json", "cbor", "smile", "protobuf"}) {
+            final WireFormatBenchmark benchmark = new WireFormatBenchmark();
+            benchmark.format = format;
+            benchmark.setUp();
+            System.out.printf("%-8s %d books -> %d bytes%n", format, CATALOG_SIZE, benchmark.encoded.length);
+        }
+        new Runner(new OptionsBuilder()
+                .include(WireFormatBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.test.cache;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.repository.BookRepository;
+import com.example.test.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "bookstore.async.enabled=true",
+        "bookstore.async.timeout=5s",
+        "bookstore.stale-reads.enabled=true",
+        "bookstore.stale-reads.soft-ttl=100ms",
+        "bookstore.stale-reads.hard-ttl=1s"
+})
+@AutoConfigureMockMvc
+class AsyncStaleBookCacheTest {
+
+    private final static String BASE_PATH = "/api/v1/books";
+    private final static String ITEM_PATH = "/api/v1/books/%s";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @SpyBean
+    private BookRepository bookRepository;
+
+    @AfterEach
+    public void afterTest() {
+        reset(this.bookRepository);
+    }
+
+    @Test
+    void givenSlowLoad_whenGetBookAsync_thenFreshnessRecordedAfterHandlerReturned() throws Exception {
+        final BookDto created = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        doAnswer(invocation -> {
+            Thread.sleep(200L);
+            return invocation.callRealMethod();
+        }).when(this.bookRepository).findById(anyLong());
+
+        final MvcResult result = this.mockMvc.perform(get(String.format(ITEM_PATH, created.getId())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Test"))
+                .andExpect(header().string(HttpHeaders.AGE, "0"));
+    }
+
+    @Test
+    void givenCachedList_whenGetBooksAsyncRepeatedly_thenOk() throws Exception {
+        final BookDto created = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        for (int i = 0; i < 3; i++) {
+            final MvcResult result = this.mockMvc.perform(get(BASE_PATH))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            this.mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.AGE))
+                    .andExpect(jsonPath("$[*].id", hasItem(created.getId().intValue())));
+        }
+    }
+
+    private static BookDto createDummyBookDto(final String book) {
+        return BookDto.builder()
+                .title(book)
+                .description(book)
+                .author(book)
+                .isbn(book)
+                .build();
+    }
+}
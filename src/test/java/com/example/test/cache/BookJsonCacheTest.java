@@ -0,0 +1,107 @@
+package com.example.test.cache;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.repository.BookRepository;
+import com.example.test.service.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "bookstore.json.cache.enabled=true")
+@AutoConfigureMockMvc
+class BookJsonCacheTest {
+
+    private final static String BASE_PATH = "/api/v1/books";
+    private final static String ITEM_PATH = "/api/v1/books/%s";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @Autowired
+    private BookJsonCache bookJsonCache;
+
+    @BeforeEach
+    public void beforeTest() {
+        this.bookRepository.deleteAll();
+    }
+
+    @Test
+    void givenBook_whenGetBook_thenSameJsonAsJackson_andCached() throws Exception {
+        final BookDto book = this.bookService.create(createDummyBookDto("Test \"quoted\""), this.bookConverter);
+        final long sizeBefore = this.bookJsonCache.estimatedSize();
+
+        this.mockMvc.perform(get(String.format(ITEM_PATH, book.getId()))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(this.objectMapper.writeValueAsString(book)));
+
+        assertEquals(sizeBefore + 1, this.bookJsonCache.estimatedSize());
+    }
+
+    @Test
+    void givenBooks_whenGetBooks_thenSameJsonAsJackson() throws Exception {
+        final BookDto first = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        final BookDto second = this.bookService.create(createDummyBookDto("Test2"), this.bookConverter);
+
+        this.mockMvc.perform(get(BASE_PATH)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string(this.objectMapper.writeValueAsString(List.of(first, second))));
+    }
+
+    @Test
+    void givenBook_whenUpdated_thenNewJsonServed() throws Exception {
+        final BookDto book = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        this.mockMvc.perform(get(String.format(ITEM_PATH, book.getId())))
+                .andExpect(status().isOk());
+
+        book.setTitle("UpdatedTest");
+        final BookDto updated = this.bookService.update(book.getId(), book, this.bookConverter);
+
+        this.mockMvc.perform(get(String.format(ITEM_PATH, book.getId())))
+                .andExpect(status().isOk())
+                .andExpect(content().string(this.objectMapper.writeValueAsString(updated)));
+    }
+
+    @Test
+    void givenNoBooks_whenGetBooks_thenEmptyArray() throws Exception {
+        this.mockMvc.perform(get(BASE_PATH))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[]"));
+    }
+
+    private static BookDto createDummyBookDto(final String book) {
+        return BookDto.builder()
+                .title(book)
+                .description(book)
+                .author(book)
+                .isbn(book)
+                .build();
+    }
+}
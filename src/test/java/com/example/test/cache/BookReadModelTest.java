@@ -0,0 +1,141 @@
+package com.example.test.cache;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.domain.Book;
+import com.example.test.dto.BookDto;
+import com.example.test.event.BookChangedEvent;
+import com.example.test.exception.EntityNotFoundException;
+import com.example.test.repository.BookRepository;
+import com.example.test.service.BookService;
+import com.example.test.sql.SqlStatementRecorder;
+import com.example.test.sql.SqlStatementRecorder.SqlStatements;
+import com.example.test.sql.SqlStatementRecorderConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "bookstore.read-model.enabled=true")
+@Import(SqlStatementRecorderConfig.class)
+class BookReadModelTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @Autowired
+    private BookReadModel bookReadModel;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @BeforeEach
+    public void beforeTest() {
+        this.bookRepository.deleteAll();
+        this.bookReadModel.load();
+    }
+
+    @Test
+    void givenBook_whenCreate_thenGetByIdServedWithoutSql() throws Exception {
+        final BookDto created = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+
+        final BookDto[] actualBook = new BookDto[1];
+        final SqlStatements statements = this.sqlStatementRecorder.record(() ->
+                actualBook[0] = this.bookService.getById(created.getId(), this.bookConverter));
+
+        assertEquals(0, statements.total(), statements.toString());
+        assertEquals(created, actualBook[0]);
+    }
+
+    @Test
+    void givenBooks_whenGetBooks_thenServedWithoutSqlInIdOrder() throws Exception {
+        final BookDto first = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        final BookDto second = this.bookService.create(createDummyBookDto("Test2"), this.bookConverter);
+
+        final Object[] books = new Object[1];
+        final SqlStatements statements = this.sqlStatementRecorder.record(() ->
+                books[0] = new ArrayList<>(this.bookService.getBooks(this.bookConverter)));
+
+        assertEquals(0, statements.total(), statements.toString());
+        assertEquals(List.of(first, second), books[0]);
+    }
+
+    @Test
+    void givenBook_whenUpdate_thenReadModelUpdated() {
+        final BookDto created = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        created.setTitle("UpdatedTest");
+        final BookDto updated = this.bookService.update(created.getId(), created, this.bookConverter);
+
+        final BookRecord record = this.bookReadModel.get(created.getId());
+        assertNotNull(record);
+        assertEquals("UpdatedTest", record.getTitle());
+        assertEquals(updated.getUpdatedAt(), record.getUpdatedAt());
+    }
+
+    @Test
+    void givenBook_whenDelete_thenReadModelRemoved() {
+        final BookDto created = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        this.bookService.deleteById(created.getId());
+
+        assertNull(this.bookReadModel.get(created.getId()));
+        assertThrows(EntityNotFoundException.class,
+                () -> this.bookService.getById(created.getId(), this.bookConverter));
+    }
+
+    @Test
+    void givenLateEventsOfRacingWrites_whenApplied_thenNeitherOverwriteNorResurrect() {
+        final BookDto created = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        final Book stale = this.bookConverter.toEntity(created);
+        created.setTitle("UpdatedTest");
+        this.bookService.update(created.getId(), created, this.bookConverter);
+
+        this.bookReadModel.onBookChanged(BookChangedEvent.updated(stale));
+        assertEquals("UpdatedTest", this.bookReadModel.get(created.getId()).getTitle());
+
+        this.bookService.deleteById(created.getId());
+        this.bookReadModel.onBookChanged(BookChangedEvent.updated(stale));
+        assertNull(this.bookReadModel.get(created.getId()));
+    }
+
+    @Test
+    void givenBookWrittenBehindReadModel_whenCheckConsistency_thenReloaded() {
+        final Book book = this.bookRepository.save(createDummyBook("Test"));
+        assertNull(this.bookReadModel.get(book.getId()));
+
+        assertEquals(1, this.bookReadModel.checkConsistency());
+        assertNotNull(this.bookReadModel.get(book.getId()));
+        assertEquals(0, this.bookReadModel.checkConsistency());
+    }
+
+    private static BookDto createDummyBookDto(final String book) {
+        return BookDto.builder()
+                .title(book)
+                .description(book)
+                .author(book)
+                .isbn(book)
+                .build();
+    }
+
+    private static Book createDummyBook(final String book) {
+        return Book.builder()
+                .title(book)
+                .description(book)
+                .author(book)
+                .isbn(book)
+                .build();
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.test.cache;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.domain.Book;
+import com.example.test.dto.BookDto;
+import com.example.test.exception.EntityNotFoundException;
+import com.example.test.repository.BookRepository;
+import com.example.test.service.BookService;
+import com.example.test.sql.SqlStatementRecorder;
+import com.example.test.sql.SqlStatementRecorder.SqlStatements;
+import com.example.test.sql.SqlStatementRecorderConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "bookstore.catalog-file.enabled=true",
+        "bookstore.catalog-file.path=target/catalog-file-store-test.bin"
+})
+@Import(SqlStatementRecorderConfig.class)
+class CatalogFileStoreTest {
+
+    private static final Path PATH = Paths.get("target/catalog-file-store-test.bin");
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @Autowired
+    private CatalogFileStore catalogFileStore;
+
+    @Autowired
+    private BookDeletionLog bookDeletionLog;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @BeforeEach
+    public void beforeTest() {
+        this.bookRepository.deleteAll();
+        this.catalogFileStore.write();
+    }
+
+    @Test
+    void givenRecords_whenWrittenAndMapped_thenEveryRecordReadBack() throws Exception {
+        final LocalDateTime now = LocalDateTime.of(2022, 9, 1, 12, 30, 15, 123_456_000);
+        final List<BookRecord> records = List.of(
+                new BookRecord(3L, "Título", "Beschreibung ✓", "Author", "isbn-3", now, now),
+                new BookRecord(7L, "Second", "", "Author", "isbn-7", now, now.plusSeconds(5)),
+                new BookRecord(42L, "Third", "d", "Другой", "isbn-42", now.minusDays(1), now));
+        final Path path = Paths.get("target/catalog-file-format-test.bin");
+
+        CatalogFileWriter.write(path, records);
+
+        try (MappedCatalogFile file = MappedCatalogFile.open(path)) {
+            assertEquals(3, file.size());
+            assertEquals(now.plusSeconds(5), file.getHighWaterMark());
+            for (final BookRecord expected : records) {
+                final BookRecord actual = file.get(expected.getId());
+                assertNotNull(actual);
+                assertTrue(expected.matches(actual.toEntity()), actual.getTitle());
+                assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+            }
+            assertNull(file.get(1L));
+            assertNull(file.get(8L));
+            assertNull(file.get(100L));
+        }
+    }
+
+    @Test
+    void givenWrittenFile_whenGetById_thenServedWithoutSql() throws Exception {
+        final BookDto created = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        this.catalogFileStore.write();
+        assertEquals(0, this.catalogFileStore.getOverlaySize());
+
+        final BookDto[] actualBook = new BookDto[1];
+        final SqlStatements statements = this.sqlStatementRecorder.record(() ->
+                actualBook[0] = this.bookService.getById(created.getId(), this.bookConverter));
+
+        assertEquals(0, statements.total(), statements.toString());
+        assertEquals(created, actualBook[0]);
+    }
+
+    @Test
+    void givenWrittenFile_whenBookUpdatedAndDeleted_thenOverlayServesChange() {
+        final BookDto created = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        this.catalogFileStore.write();
+
+        created.setTitle("UpdatedTest");
+        this.bookService.update(created.getId(), created, this.bookConverter);
+        assertEquals("UpdatedTest", this.catalogFileStore.get(created.getId()).getTitle());
+
+        this.bookService.deleteById(created.getId());
+        assertNull(this.catalogFileStore.get(created.getId()));
+        assertThrows(EntityNotFoundException.class,
+                () -> this.bookService.getById(created.getId(), this.bookConverter));
+    }
+
+    @Test
+    void givenFileOfPreviousRun_whenStarted_thenChangesSinceReplayed() {
+        final Book book = this.bookRepository.save(createDummyBook("Test"));
+        this.catalogFileStore.write();
+        book.setTitle("ChangedByOtherInstance");
+        this.bookRepository.save(book);
+        final Book added = this.bookRepository.save(createDummyBook("AddedByOtherInstance"));
+
+        final CatalogFileStore restarted = new CatalogFileStore(this.bookRepository, this.bookDeletionLog, PATH,
+                Duration.ofMinutes(1));
+        restarted.open();
+        assertTrue(restarted.isMapped());
+        assertEquals("Test", restarted.get(book.getId()).getTitle());
+
+        restarted.onApplicationReady();
+
+        assertEquals("ChangedByOtherInstance", restarted.get(book.getId()).getTitle());
+        assertEquals("AddedByOtherInstance", restarted.get(added.getId()).getTitle());
+    }
+
+    @Test
+    void givenFileOfPreviousRun_whenBookDeletedAndRestarted_thenNotServed() {
+        final BookDto created = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        this.catalogFileStore.write();
+        this.bookService.deleteById(created.getId());
+
+        final CatalogFileStore restarted = new CatalogFileStore(this.bookRepository, this.bookDeletionLog, PATH,
+                Duration.ofMinutes(1));
+        restarted.open();
+        assertNotNull(restarted.get(created.getId()));
+
+        restarted.onApplicationReady();
+
+        assertNull(restarted.get(created.getId()));
+        assertThrows(EntityNotFoundException.class,
+                () -> this.bookService.getById(created.getId(), this.bookConverter));
+    }
+
+    @Test
+    void givenFileOlderThanDeletionRetention_whenRestarted_thenRewritten() {
+        final BookDto created = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        this.catalogFileStore.write();
+        this.bookService.deleteById(created.getId());
+
+        final CatalogFileStore restarted = new CatalogFileStore(this.bookRepository,
+                new BookDeletionLog(this.jdbcTemplate, Duration.ZERO), PATH, Duration.ofMinutes(1));
+        restarted.open();
+        restarted.onApplicationReady();
+
+        assertTrue(restarted.isMapped());
+        assertNull(restarted.get(created.getId()));
+        assertEquals(0, restarted.getOverlaySize());
+    }
+
+    private static BookDto createDummyBookDto(final String book) {
+        return BookDto.builder()
+                .title(book)
+                .description(book)
+                .author(book)
+                .isbn(book)
+                .build();
+    }
+
+    private static Book createDummyBook(final String book) {
+        return Book.builder()
+                .title(book)
+                .description(book)
+                .author(book)
+                .isbn(book)
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.test.cache;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.repository.BookRepository;
+import com.example.test.repository.BookSource;
+import com.example.test.service.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "bookstore.catalog-snapshot.enabled=true")
+@AutoConfigureMockMvc
+class CompressedCatalogCacheTest {
+
+    private final static String BASE_PATH = "/api/v1/books";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @Autowired
+    private CompressedCatalogCache compressedCatalogCache;
+
+    @BeforeEach
+    public void beforeTest() {
+        this.bookRepository.deleteAll();
+        this.compressedCatalogCache.invalidate();
+    }
+
+    @Test
+    void givenCurrentSnapshot_whenGetBooksWithGzip_thenPrecompressedBody() throws Exception {
+        final BookDto first = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        final BookDto second = this.bookService.create(createDummyBookDto("Test2"), this.bookConverter);
+        this.compressedCatalogCache.regenerate();
+
+        final MvcResult result = this.mockMvc.perform(get(BASE_PATH)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        assertEquals(this.objectMapper.writeValueAsString(List.of(first, second)),
+                gunzip(result.getResponse().getContentAsByteArray()));
+    }
+
+    @Test
+    void givenSnapshot_whenBookChanged_thenOutdatedSnapshotNotServed() throws Exception {
+        this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        this.compressedCatalogCache.regenerate();
+        final CompressedCatalogCache.Snapshot outdated = this.compressedCatalogCache.getCurrent();
+        assertNotNull(outdated);
+
+        final BookDto second = this.bookService.create(createDummyBookDto("Test2"), this.bookConverter);
+
+        assertNotSame(outdated, this.compressedCatalogCache.getCurrent());
+        final MvcResult result = this.mockMvc.perform(get(BASE_PATH)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andReturn();
+        final byte[] body = result.getResponse().getContentAsByteArray();
+        final String json = "gzip".equals(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING))
+                ? gunzip(body)
+                : new String(body, StandardCharsets.UTF_8);
+        assertTrue(json.contains(second.getTitle()));
+    }
+
+    @Test
+    void givenCurrentSnapshot_whenGetBooksWithoutGzipOrJson_thenPassThrough() throws Exception {
+        this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        this.compressedCatalogCache.regenerate();
+
+        this.mockMvc.perform(get(BASE_PATH))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        this.mockMvc.perform(get(BASE_PATH)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void givenFailingSource_whenRegenerated_thenLoggedAndNoSnapshot() {
+        final BookSource bookSource = mock(BookSource.class);
+        doThrow(new DataAccessResourceFailureException("Database is down")).when(bookSource).findAll();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CompressedCatalogCache cache = new CompressedCatalogCache(bookSource, this.bookConverter,
+                this.objectMapper.writerFor(List.class), executor);
+        try {
+            cache.regenerate();
+
+            assertNull(cache.getCurrent());
+        } finally {
+            cache.shutdown();
+        }
+    }
+
+    private static String gunzip(final byte[] bytes) throws Exception {
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static BookDto createDummyBookDto(final String book) {
+        return BookDto.builder()
+                .title(book)
+                .description(book)
+                .author(book)
+                .isbn(book)
+                .build();
+    }
+}
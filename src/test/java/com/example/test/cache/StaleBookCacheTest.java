@@ -0,0 +1,132 @@
+package com.example.test.cache;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.repository.BookRepository;
+import com.example.test.service.BookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "bookstore.stale-reads.enabled=true",
+        "bookstore.stale-reads.soft-ttl=100ms",
+        "bookstore.stale-reads.hard-ttl=1s"
+})
+@AutoConfigureMockMvc
+class StaleBookCacheTest {
+
+    private final static String BASE_PATH = "/api/v1/books";
+    private final static String ITEM_PATH = "/api/v1/books/%s";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @SpyBean
+    private BookRepository bookRepository;
+
+    @AfterEach
+    public void afterTest() {
+        reset(this.bookRepository);
+    }
+
+    @Test
+    void givenCachedBook_whenDatabaseFailsAfterSoftTtl_thenStaleServedWithWarning() throws Exception {
+        final BookDto created = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        this.mockMvc.perform(get(String.format(ITEM_PATH, created.getId())))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.AGE, "0"))
+                .andExpect(header().doesNotExist(HttpHeaders.WARNING));
+        doThrow(new DataAccessResourceFailureException("Database is down"))
+                .when(this.bookRepository).findById(anyLong());
+        Thread.sleep(150L);
+
+        this.mockMvc.perform(get(String.format(ITEM_PATH, created.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Test"))
+                .andExpect(header().string(HttpHeaders.WARNING, "110 - \"Response is Stale\""));
+        Thread.sleep(100L);
+        this.mockMvc.perform(get(String.format(ITEM_PATH, created.getId())))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.WARNING, "111 - \"Revalidation Failed\""));
+    }
+
+    @Test
+    void givenCachedBook_whenDatabaseFailsAfterHardTtl_thenError() throws Exception {
+        final BookDto created = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        doThrow(new DataAccessResourceFailureException("Database is down"))
+                .when(this.bookRepository).findById(anyLong());
+        Thread.sleep(1100L);
+
+        this.mockMvc.perform(get(String.format(ITEM_PATH, created.getId())))
+                .andExpect(status().is5xxServerError());
+    }
+
+    @Test
+    void givenCachedList_whenBookUpdated_thenListReloaded() throws Exception {
+        final BookDto created = this.bookService.create(createDummyBookDto("Test"), this.bookConverter);
+        this.mockMvc.perform(get(BASE_PATH))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.AGE));
+        created.setTitle("UpdatedTest");
+        this.bookService.update(created.getId(), created, this.bookConverter);
+
+        this.mockMvc.perform(get(BASE_PATH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", hasItem("UpdatedTest")));
+    }
+
+    @Test
+    void givenLoadInFlight_whenOtherKeyWritten_thenLoadStored_andWhenSameKeyWritten_thenDiscarded() {
+        final StaleWhileRevalidateCache<Long, String> cache = new StaleWhileRevalidateCache<>("test",
+                Duration.ofMinutes(1), Duration.ofMinutes(2), 10, Runnable::run, new SimpleMeterRegistry());
+
+        cache.get(1L, () -> {
+            cache.put(2L, "written");
+            return Optional.of("loaded");
+        });
+        assertEquals("loaded", cache.get(1L, Optional::empty).orElseThrow().getValue());
+
+        cache.get(3L, () -> {
+            cache.invalidate(3L);
+            return Optional.of("loaded");
+        });
+        assertEquals(Optional.empty(), cache.get(3L, Optional::empty));
+        assertEquals(2, cache.size());
+    }
+
+    private static BookDto createDummyBookDto(final String book) {
+        return BookDto.builder()
+                .title(book)
+                .description(book)
+                .author(book)
+                .isbn(book)
+                .build();
+    }
+}
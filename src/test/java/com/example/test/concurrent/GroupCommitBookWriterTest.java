@@ -0,0 +1,209 @@
+package com.example.test.concurrent;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.domain.Book;
+import com.example.test.dto.BookDto;
+import com.example.test.repository.BookRepository;
+import com.example.test.service.BookService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "bookstore.write-behind.enabled=true",
+        "bookstore.write-behind.max-batch-size=16",
+        "bookstore.write-behind.max-delay=50ms"
+})
+@Import(GroupCommitBookWriterTest.BatchRecorderConfig.class)
+class GroupCommitBookWriterTest {
+
+    private static final AtomicInteger MAX_INSERT_BATCH = new AtomicInteger();
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void givenConcurrentCreates_whenWriteBehind_thenCommittedInBatchesWithIds() throws Exception {
+        final int creates = 32;
+        final ExecutorService callers = Executors.newFixedThreadPool(creates);
+        try {
+            final List<Future<BookDto>> futures = new ArrayList<>();
+            for (int i = 0; i < creates; i++) {
+                final BookDto bookDto = createDummyBookDto("Book " + i);
+                futures.add(callers.submit(() -> this.bookService.create(bookDto, this.bookConverter)));
+            }
+            final Set<Long> ids = new HashSet<>();
+            for (final Future<BookDto> future : futures) {
+                final BookDto created = future.get();
+                assertTrue(this.bookRepository.existsById(created.getId()));
+                ids.add(created.getId());
+            }
+            assertEquals(creates, ids.size());
+        } finally {
+            callers.shutdown();
+        }
+        final DistributionSummary batchSize = this.meterRegistry.get("bookstore.write-behind.batch.size").summary();
+        assertTrue(batchSize.max() > 1, "max group size " + batchSize.max());
+        assertTrue(MAX_INSERT_BATCH.get() > 1, "max insert batch " + MAX_INSERT_BATCH.get());
+    }
+
+    @Test
+    void givenFullQueue_whenSubmit_thenRejectedAfterOfferTimeout() {
+        final GroupCommitBookWriter writer = new GroupCommitBookWriter(this.bookRepository, this.entityManager,
+                new TransactionTemplate(this.transactionManager), this.eventPublisher, 16, Duration.ofMillis(5),
+                2, Duration.ofMillis(20), Duration.ofSeconds(5), new SimpleMeterRegistry());
+        writer.submit(createDummyBook());
+        writer.submit(createDummyBook());
+        final long start = System.nanoTime();
+        assertThrows(RejectedExecutionException.class, () -> writer.submit(createDummyBook()));
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(20).toNanos());
+        assertEquals(2, writer.getQueueSize());
+    }
+
+    @Test
+    void givenErrorInCommit_whenSubmit_thenFailedAndFlusherKeepsCommitting() throws Exception {
+        final AtomicInteger published = new AtomicInteger();
+        final GroupCommitBookWriter writer = new GroupCommitBookWriter(this.bookRepository, this.entityManager,
+                new TransactionTemplate(this.transactionManager), event -> {
+                    if (published.getAndIncrement() == 0) {
+                        throw new LinkageError("Test");
+                    }
+                }, 16, Duration.ofMillis(5), 16, Duration.ZERO, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        writer.start();
+        try {
+            final ExecutionException failed = assertThrows(ExecutionException.class,
+                    () -> writer.submit(createDummyBook()).get(5, TimeUnit.SECONDS));
+            assertInstanceOf(LinkageError.class, failed.getCause());
+
+            assertNotNull(writer.submit(createDummyBook()).get(5, TimeUnit.SECONDS).getId());
+            // the queue depth drops right after the futures of a group are completed
+            final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (writer.getQueueSize() != 0) {
+                assertTrue(System.nanoTime() < deadline, "queueSize=" + writer.getQueueSize());
+                Thread.sleep(20L);
+            }
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void givenNoCommit_whenSubmit_thenTimedOutAfterCommitTimeout() {
+        final GroupCommitBookWriter writer = new GroupCommitBookWriter(this.bookRepository, this.entityManager,
+                new TransactionTemplate(this.transactionManager), this.eventPublisher, 16, Duration.ofMillis(5),
+                16, Duration.ZERO, Duration.ofMillis(50), new SimpleMeterRegistry());
+
+        final ExecutionException timedOut = assertThrows(ExecutionException.class,
+                () -> writer.submit(createDummyBook()).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, timedOut.getCause());
+    }
+
+    private static BookDto createDummyBookDto(final String title) {
+        return BookDto.builder()
+                .title(title)
+                .description("Test")
+                .author("Test")
+                .isbn("Test")
+                .build();
+    }
+
+    private static Book createDummyBook() {
+        return Book.builder()
+                .title("Test")
+                .description("Test")
+                .author("Test")
+                .isbn("Test")
+                .build();
+    }
+
+    /**
+     * Records the largest JDBC batch of inserts, the group commits run on the flusher thread.
+     */
+    @TestConfiguration
+    static class BatchRecorderConfig {
+
+        @Bean
+        public static BeanPostProcessor batchRecordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                    if (bean instanceof DataSource) {
+                        return ProxyDataSourceBuilder.create((DataSource) bean)
+                                .name(beanName)
+                                .listener(new QueryExecutionListener() {
+                                    @Override
+                                    public void beforeQuery(final ExecutionInfo execInfo,
+                                                            final List<QueryInfo> queryInfoList) {
+                                    }
+
+                                    @Override
+                                    public void afterQuery(final ExecutionInfo execInfo,
+                                                           final List<QueryInfo> queryInfoList) {
+                                        if (execInfo.isBatch() && queryInfoList.get(0).getQuery()
+                                                .trim().toLowerCase().startsWith("insert")) {
+                                            MAX_INSERT_BATCH.accumulateAndGet(execInfo.getBatchSize(), Math::max);
+                                        }
+                                    }
+                                })
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
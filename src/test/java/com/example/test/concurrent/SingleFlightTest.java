@@ -0,0 +1,164 @@
+package com.example.test.concurrent;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.domain.Book;
+import com.example.test.dto.BookDto;
+import com.example.test.repository.BookRepository;
+import com.example.test.service.BookService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = "bookstore.single-flight.enabled=true")
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @SpyBean
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void givenConcurrentGetByIdOfSameBook_whenLoading_thenOneQueryAndOwnDtoPerCaller() throws Exception {
+        final Book book = this.bookRepository.save(createDummyBook("Test"));
+        final CountDownLatch release = new CountDownLatch(1);
+        clearInvocations(this.bookRepository);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(book);
+        }).when(this.bookRepository).findById(anyLong());
+        final double coalescedBefore = this.coalesced();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            final List<Future<BookDto>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> this.bookService.getById(book.getId(), this.bookConverter)));
+            }
+            Thread.sleep(300L);
+            release.countDown();
+
+            final Set<BookDto> dtos = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (final Future<BookDto> result : results) {
+                final BookDto dto = result.get(5, TimeUnit.SECONDS);
+                assertEquals(book.getId(), dto.getId());
+                dtos.add(dto);
+            }
+            assertEquals(CALLERS, dtos.size());
+            verify(this.bookRepository, times(1)).findById(book.getId());
+            assertEquals(CALLERS - 1, this.coalesced() - coalescedBefore);
+        } finally {
+            executor.shutdownNow();
+            reset(this.bookRepository);
+        }
+    }
+
+    @Test
+    void givenFailingLoad_whenCoalesced_thenEveryCallerGetsTheException() throws Exception {
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>("test", 4, 16, new SimpleMeterRegistry());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("Database is down");
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            final Future<String> follower = executor.submit(() -> singleFlight.execute("key", () -> "not called"));
+            Thread.sleep(100L);
+            release.countDown();
+
+            final Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            final Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertSame(leaderFailure.getCause(), followerFailure.getCause());
+            assertEquals("fresh", singleFlight.execute("key", () -> "fresh"));
+            assertEquals(0, singleFlight.getInFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void givenFullStripe_whenOtherKeyLoaded_thenNotCoalescedButBypassed() throws Exception {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final SingleFlight<Integer, Integer> singleFlight = new SingleFlight<>("test", 1, 1, registry);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger loads = new AtomicInteger();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Integer> blocked = executor.submit(() -> singleFlight.execute(1, () -> {
+                started.countDown();
+                await(release);
+                return 1;
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            assertEquals(2, singleFlight.execute(2, () -> loads.incrementAndGet() + 1));
+            assertEquals(1, loads.get());
+            assertEquals(1.0, registry.counter("bookstore.single-flight.bypassed", "name", "test").count());
+
+            release.countDown();
+            assertEquals(1, blocked.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double coalesced() {
+        return this.meterRegistry.counter("bookstore.single-flight.coalesced", "name", "book-by-id").count();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Book createDummyBook(final String book) {
+        return Book.builder()
+                .title(book)
+                .description(book)
+                .author(book)
+                .isbn(book)
+                .build();
+    }
+}
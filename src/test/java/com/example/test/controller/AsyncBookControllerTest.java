@@ -0,0 +1,164 @@
+package com.example.test.controller;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.exception.EntityNotFoundException;
+import com.example.test.service.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "bookstore.async.enabled=true",
+        "bookstore.async.pool-size=1",
+        "bookstore.async.queue-capacity=1",
+        "bookstore.async.timeout=300ms"
+})
+@AutoConfigureMockMvc
+class AsyncBookControllerTest {
+
+    private final static String BASE_PATH = "/api/v1/books";
+    private final static String ITEM_PATH = "/api/v1/books/%s";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @MockBean
+    private BookService bookService;
+
+    @Test
+    void givenBookId_whenGetBook_thenOkAfterAsyncDispatch() throws Exception {
+        final BookDto bookDto = createDummyBookDto();
+        doReturn(bookDto).when(this.bookService).getById(bookDto.getId(), this.bookConverter);
+        final MvcResult result = this.mockMvc.perform(get(String.format(ITEM_PATH, bookDto.getId()))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        final String content = this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", containsString("app;dur=")))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(bookDto, this.objectMapper.readValue(content, BookDto.class));
+    }
+
+    @Test
+    void givenBookDto_whenCreateBook_thenCreated() throws Exception {
+        final BookDto bookDto = createDummyBookDto();
+        doReturn(bookDto).when(this.bookService).create(bookDto, this.bookConverter);
+        final MvcResult result = this.mockMvc.perform(post(BASE_PATH)
+                        .content(this.objectMapper.writeValueAsString(bookDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void givenBookId_whenGetBook_andNotFound_thenNotFound() throws Exception {
+        final Long id = 1L;
+        doThrow(new EntityNotFoundException()).when(this.bookService).getById(id, this.bookConverter);
+        final MvcResult result = this.mockMvc.perform(get(String.format(ITEM_PATH, id)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void givenBookId_whenGetBook_andServiceStalls_thenGatewayTimeout() throws Exception {
+        final BookDto bookDto = createDummyBookDto();
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return bookDto;
+        }).when(this.bookService).getById(bookDto.getId(), this.bookConverter);
+        try {
+            final MvcResult result = this.mockMvc.perform(get(String.format(ITEM_PATH, bookDto.getId())))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            this.mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isGatewayTimeout());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void givenBookDto_whenCreateBook_andServiceSlowerThanTimeout_thenCreated() throws Exception {
+        final BookDto bookDto = createDummyBookDto();
+        doAnswer(invocation -> {
+            Thread.sleep(600L);
+            return bookDto;
+        }).when(this.bookService).create(bookDto, this.bookConverter);
+        final MvcResult result = this.mockMvc.perform(post(BASE_PATH)
+                        .content(this.objectMapper.writeValueAsString(bookDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void givenSaturatedExecutor_whenGetBook_thenServiceUnavailable() throws Exception {
+        final BookDto bookDto = createDummyBookDto();
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return bookDto;
+        }).when(this.bookService).getById(bookDto.getId(), this.bookConverter);
+        try {
+            MvcResult rejected = null;
+            for (int i = 0; i < 3 && rejected == null; i++) {
+                final MvcResult result = this.mockMvc.perform(get(String.format(ITEM_PATH, bookDto.getId())))
+                        .andReturn();
+                if (result.getResponse().getStatus() == 503) {
+                    rejected = result;
+                }
+            }
+            assertNotNull(rejected);
+            assertEquals("1", rejected.getResponse().getHeader(HttpHeaders.RETRY_AFTER));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static BookDto createDummyBookDto() {
+        return BookDto.builder()
+                .id(1L)
+                .title("book")
+                .description("book")
+                .author("book")
+                .isbn("book")
+                .build();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.test.controller;
+
+import com.example.test.domain.Book;
+import com.example.test.dto.BookDto;
+import com.example.test.repository.BookRepository;
+import com.example.test.sql.SqlStatementRecorder;
+import com.example.test.sql.SqlStatementRecorder.SqlStatements;
+import com.example.test.sql.SqlStatementRecorderConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements issued by every BookController endpoint,
+ * so additional round trips or N+1 queries fail the build.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SqlStatementRecorderConfig.class)
+class BookControllerSqlStatementTest {
+
+    private final static String BASE_PATH = "/api/v1/books";
+    private final static String ITEM_PATH = "/api/v1/books/%s";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @BeforeEach
+    public void beforeTest() {
+        this.bookRepository.deleteAll();
+    }
+
+    @Test
+    void givenBookDto_whenCreateBook_thenOneSequenceCallAndOneInsert() throws Exception {
+        final BookDto bookDto = createDummyBookDto();
+        final SqlStatements statements = this.sqlStatementRecorder.record(() ->
+                this.mockMvc.perform(post(BASE_PATH)
+                                .content(this.objectMapper.writeValueAsString(bookDto))
+                                .contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isCreated()));
+
+        assertStatements(statements, 0, 1, 0, 0, 1);
+    }
+
+    @Test
+    void givenBookIdAndBookDto_whenUpdateBook_thenOneSelectAndOneUpdate() throws Exception {
+        final Book book = this.bookRepository.save(createDummyBook("Test"));
+        final BookDto bookDto = createDummyBookDto();
+        final SqlStatements statements = this.sqlStatementRecorder.record(() ->
+                this.mockMvc.perform(put(String.format(ITEM_PATH, book.getId()))
+                                .content(this.objectMapper.writeValueAsString(bookDto))
+                                .contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk()));
+
+        assertStatements(statements, 1, 0, 1, 0, 0);
+    }
+
+    @Test
+    void givenBookIdAndBookDto_whenUpdateBook_andNotFound_thenOneSelect() throws Exception {
+        final BookDto bookDto = createDummyBookDto();
+        final SqlStatements statements = this.sqlStatementRecorder.record(() ->
+                this.mockMvc.perform(put(String.format(ITEM_PATH, Long.MAX_VALUE))
+                                .content(this.objectMapper.writeValueAsString(bookDto))
+                                .contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isNotFound()));
+
+        assertStatements(statements, 1, 0, 0, 0, 0);
+    }
+
+    @Test
+    void givenNone_whenGetBooks_thenOneSelectRegardlessOfSize() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            this.bookRepository.save(createDummyBook("Test" + i));
+        }
+        final SqlStatements statements = this.sqlStatementRecorder.record(() ->
+                this.mockMvc.perform(get(BASE_PATH)
+                                .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk()));
+
+        assertStatements(statements, 1, 0, 0, 0, 0);
+    }
+
+    @Test
+    void givenBookId_whenGetBook_thenOneSelect() throws Exception {
+        final Book book = this.bookRepository.save(createDummyBook("Test"));
+        final SqlStatements statements = this.sqlStatementRecorder.record(() ->
+                this.mockMvc.perform(get(String.format(ITEM_PATH, book.getId()))
+                                .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk()));
+
+        assertStatements(statements, 1, 0, 0, 0, 0);
+    }
+
+    @Test
+    void givenBookId_whenGetBook_andNotFound_thenOneSelect() throws Exception {
+        final SqlStatements statements = this.sqlStatementRecorder.record(() ->
+                this.mockMvc.perform(get(String.format(ITEM_PATH, Long.MAX_VALUE))
+                                .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isNotFound()));
+
+        assertStatements(statements, 1, 0, 0, 0, 0);
+    }
+
+    @Test
+    void givenBookId_whenDeleteBook_thenTwoSelectsAndOneDelete() throws Exception {
+        final Book book = this.bookRepository.save(createDummyBook("Test"));
+        final SqlStatements statements = this.sqlStatementRecorder.record(() ->
+                this.mockMvc.perform(delete(String.format(ITEM_PATH, book.getId())))
+                        .andExpect(status().isAccepted()));
+
+        assertStatements(statements, 2, 0, 0, 1, 0);
+    }
+
+    @Test
+    void givenBookId_whenDeleteBook_andNotFound_thenOneSelect() throws Exception {
+        final SqlStatements statements = this.sqlStatementRecorder.record(() ->
+                this.mockMvc.perform(delete(String.format(ITEM_PATH, Long.MAX_VALUE)))
+                        .andExpect(status().isNotFound()));
+
+        assertStatements(statements, 1, 0, 0, 0, 0);
+    }
+
+    private static void assertStatements(final SqlStatements statements, final int selects, final int inserts,
+                                         final int updates, final int deletes, final int others) {
+        final String message = "Issued statements:\n" + statements;
+        assertEquals(selects, statements.selects(), message);
+        assertEquals(inserts, statements.inserts(), message);
+        assertEquals(updates, statements.updates(), message);
+        assertEquals(deletes, statements.deletes(), message);
+        assertEquals(others, statements.others(), message);
+    }
+
+    private static BookDto createDummyBookDto() {
+        return BookDto.builder()
+                .title("book")
+                .description("book")
+                .author("book")
+                .isbn("book")
+                .build();
+    }
+
+    private static Book createDummyBook(final String book) {
+        return Book.builder()
+                .title(book)
+                .description(book)
+                .author(book)
+                .isbn(book)
+                .build();
+    }
+}
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -35,6 +36,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -197,6 +199,17 @@ class BookControllerTest {
         assertEquals(expectedBook, actualBook);
     }
 
+    @Test
+    void givenBookId_whenGetBook_andFound_thenServerTimingHeaderPresent() throws Exception {
+        final BookDto expectedBook = createDummyBookDto();
+        doReturn(expectedBook).when(this.bookService)
+                .getById(expectedBook.getId(), this.bookConverter);
+        this.mockMvc.perform(get(String.format(ITEM_PATH, expectedBook.getId()))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", containsString("app;dur=")));
+    }
+
     @Test
     void givenBookId_whenDeleteBook_andNotFound_thenNotfound() throws Exception {
         final Long id = 1L;
@@ -0,0 +1,88 @@
+package com.example.test.controller;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.domain.Book;
+import com.example.test.dto.BookDto;
+import com.example.test.service.BookService;
+import com.example.test.timing.RequestTiming;
+import com.example.test.timing.TimingPhase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookControllerTimingTest {
+
+    private final static String BASE_PATH = "/api/v1/books";
+    private final static String ITEM_PATH = "/api/v1/books/%s";
+    private final static long CONVERSION_MILLIS = 2L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookService bookService;
+
+    @SpyBean
+    private BookConverter bookConverter;
+
+    @Test
+    void givenBook_whenGetBook_thenAllPhasesRecorded() throws Exception {
+        final BookDto book = this.create();
+
+        final MvcResult result = this.mockMvc.perform(get(String.format(ITEM_PATH, book.getId())))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        final String serverTiming = result.getResponse().getHeader("Server-Timing");
+        for (final String phase : new String[]{"db", "conv", "app"}) {
+            assertTrue(serverTiming.contains(phase + ";dur="), serverTiming);
+        }
+        final RequestTiming timing = (RequestTiming) result.getRequest().getAttribute(RequestTiming.ATTRIBUTE);
+        assertEquals(1, timing.getCount(TimingPhase.SERIALIZE));
+    }
+
+    @Test
+    void givenSlowConversion_whenGetBooks_thenConvPhaseCoversEveryBook() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            this.create();
+        }
+        doAnswer(invocation -> {
+            Thread.sleep(CONVERSION_MILLIS);
+            return invocation.callRealMethod();
+        }).when(this.bookConverter).toDto(any(Book.class));
+
+        final MvcResult result = this.mockMvc.perform(get(BASE_PATH))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // the list is converted while it is written, after the header went out
+        final RequestTiming timing = (RequestTiming) result.getRequest().getAttribute(RequestTiming.ATTRIBUTE);
+        assertTrue(timing.getElapsedNanos(TimingPhase.CONVERT)
+                >= TimeUnit.MILLISECONDS.toNanos(5 * CONVERSION_MILLIS), timing.toServerTimingHeader());
+        assertEquals(1, timing.getCount(TimingPhase.SERIALIZE));
+    }
+
+    private BookDto create() {
+        final BookDto bookDto = new BookDto();
+        bookDto.setTitle("Test");
+        bookDto.setDescription("Test");
+        bookDto.setAuthor("Test");
+        bookDto.setIsbn("Test");
+        return this.bookService.create(bookDto, this.bookConverter);
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.test.controller;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.converter.http.BookProtobufCodec;
+import com.example.test.converter.http.BookProtobufHttpMessageConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.service.BookService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookControllerWireFormatTest {
+
+    private final static String BASE_PATH = "/api/v1/books";
+    private final static String ITEM_PATH = "/api/v1/books/%s";
+
+    private final static MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private final static MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @MockBean
+    private BookService bookService;
+
+    @Test
+    void givenNoAcceptHeader_whenGetBook_thenJson() throws Exception {
+        final BookDto bookDto = createDummyBookDto();
+        doReturn(bookDto).when(this.bookService).getById(bookDto.getId(), this.bookConverter);
+
+        this.mockMvc.perform(get(String.format(ITEM_PATH, bookDto.getId())))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void givenCborAccept_whenGetBooks_thenCborBody() throws Exception {
+        final List<BookDto> books = List.of(createDummyBookDto(), createDummyBookDto());
+        doReturn(books).when(this.bookService).getBooks(this.bookConverter);
+
+        final byte[] body = this.mockMvc.perform(get(BASE_PATH).accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        final ObjectMapper cborMapper = this.objectMapperBuilder.createXmlMapper(false).factory(new CBORFactory()).build();
+        assertEquals(books, cborMapper.readValue(body, new TypeReference<List<BookDto>>() {
+        }));
+    }
+
+    @Test
+    void givenSmileAccept_whenGetBook_thenSmileBody() throws Exception {
+        final BookDto bookDto = createDummyBookDto();
+        doReturn(bookDto).when(this.bookService).getById(bookDto.getId(), this.bookConverter);
+
+        final byte[] body = this.mockMvc.perform(get(String.format(ITEM_PATH, bookDto.getId())).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        final ObjectMapper smileMapper = this.objectMapperBuilder.createXmlMapper(false).factory(new SmileFactory()).build();
+        assertEquals(bookDto, smileMapper.readValue(body, BookDto.class));
+    }
+
+    @Test
+    void givenProtobufAccept_whenGetBooks_thenProtobufBody() throws Exception {
+        final List<BookDto> books = List.of(createDummyBookDto(), new BookDto());
+        doReturn(books).when(this.bookService).getBooks(this.bookConverter);
+
+        final byte[] body = this.mockMvc.perform(get(BASE_PATH).accept(BookProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BookProtobufHttpMessageConverter.PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(books, BookProtobufCodec.readBookList(CodedInputStream.newInstance(body)));
+    }
+
+    @Test
+    void givenProtobufBody_whenCreateBook_thenCreatedAndProtobufBody() throws Exception {
+        final BookDto bookDto = createDummyBookDto();
+        bookDto.setId(null);
+        final BookDto createdDto = createDummyBookDto();
+        doReturn(createdDto).when(this.bookService).create(any(BookDto.class), any());
+
+        final byte[] body = this.mockMvc.perform(post(BASE_PATH)
+                        .contentType(BookProtobufHttpMessageConverter.PROTOBUF)
+                        .accept(BookProtobufHttpMessageConverter.PROTOBUF)
+                        .content(toProtobuf(bookDto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(createdDto, BookProtobufCodec.readBook(CodedInputStream.newInstance(body)));
+    }
+
+    @Test
+    void givenProtobufBody_withMissingTitle_whenCreateBook_thenBadRequest() throws Exception {
+        final BookDto bookDto = createDummyBookDto();
+        bookDto.setTitle(null);
+
+        this.mockMvc.perform(post(BASE_PATH)
+                        .contentType(BookProtobufHttpMessageConverter.PROTOBUF)
+                        .content(toProtobuf(bookDto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static byte[] toProtobuf(final BookDto bookDto) throws Exception {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final CodedOutputStream output = CodedOutputStream.newInstance(outputStream);
+        BookProtobufCodec.writeBook(bookDto, output);
+        output.flush();
+        return outputStream.toByteArray();
+    }
+
+    private static BookDto createDummyBookDto() {
+        return BookDto.builder()
+                .id(1L)
+                .title("book")
+                .description("book")
+                .author("book")
+                .isbn("book")
+                .createdAt(LocalDateTime.of(2022, 9, 1, 10, 15, 30, 123_456_000))
+                .updatedAt(LocalDateTime.of(2022, 9, 1, 10, 15, 30, 123_456_000))
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.test.controller;
+
+import com.example.test.cache.BookCounter;
+import com.example.test.cache.CompressedCatalogCache;
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.event.BookChangedEvent;
+import com.example.test.event.BooksInvalidatedEvent;
+import com.example.test.repository.BookRepository;
+import com.example.test.service.BookService;
+import com.example.test.sql.SqlStatementRecorder;
+import com.example.test.sql.SqlStatementRecorder.SqlStatements;
+import com.example.test.sql.SqlStatementRecorderConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "bookstore.catalog-snapshot.enabled=true")
+@AutoConfigureMockMvc
+@Import(SqlStatementRecorderConfig.class)
+class BookCountControllerTest {
+
+    private final static String BOOKS_PATH = "/api/v1/books";
+
+    private final static String TOTAL_COUNT = "X-Total-Count";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookCounter bookCounter;
+
+    @Autowired
+    private CompressedCatalogCache compressedCatalogCache;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @Test
+    void givenCreatesAndDeletes_whenHeadBooks_thenCountFollowsWithoutSql() throws Exception {
+        this.bookCounter.reconcile();
+        final long initial = this.bookRepository.count();
+        final BookDto first = this.create();
+        this.create();
+        this.bookService.deleteById(first.getId());
+
+        final MvcResult[] result = new MvcResult[1];
+        final SqlStatements statements = this.sqlStatementRecorder.record(() ->
+                result[0] = this.mockMvc.perform(head(BOOKS_PATH))
+                        .andExpect(status().isOk())
+                        .andReturn());
+
+        assertEquals(0, statements.total(), statements.toString());
+        assertEquals(Long.toString(initial + 1), result[0].getResponse().getHeader(TOTAL_COUNT));
+        assertEquals(0, result[0].getResponse().getContentLength());
+    }
+
+    @Test
+    void givenBooks_whenGetBooks_thenTotalCountMatchesList() throws Exception {
+        this.create();
+        this.bookCounter.reconcile();
+
+        final MvcResult result = this.mockMvc.perform(get(BOOKS_PATH))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        final int size = this.objectMapper.readTree(result.getResponse().getContentAsString()).size();
+        assertEquals(Integer.toString(size), result.getResponse().getHeader(TOTAL_COUNT));
+        assertNull(this.mockMvc.perform(get(BOOKS_PATH + "/" + Integer.MAX_VALUE))
+                .andReturn().getResponse().getHeader(TOTAL_COUNT));
+    }
+
+    @Test
+    void givenCurrentSnapshot_whenGetBooksWithGzip_thenTotalCountMatchesList() throws Exception {
+        this.create();
+        this.bookCounter.reconcile();
+        this.compressedCatalogCache.regenerate();
+
+        final MvcResult result = this.mockMvc.perform(get(BOOKS_PATH)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals("gzip", result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        final int size;
+        try (GZIPInputStream gzip = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            size = this.objectMapper.readTree(gzip).size();
+        }
+        assertEquals(Integer.toString(size), result.getResponse().getHeader(TOTAL_COUNT));
+    }
+
+    @Test
+    void givenCountDeltaBroadcast_whenBooksInvalidated_thenCounterMovesWithoutQuery() {
+        final AtomicInteger queries = new AtomicInteger();
+        final BookCounter counter = new BookCounter(() -> {
+            queries.incrementAndGet();
+            return 10L;
+        }, new SimpleMeterRegistry());
+        counter.reconcile();
+
+        counter.onBooksInvalidated(new BooksInvalidatedEvent(Set.of(1L, 2L, 3L), 2, false));
+        counter.onBooksInvalidated(new BooksInvalidatedEvent(Set.of(4L), 0, false));
+        assertEquals(12, counter.get());
+        assertEquals(1, queries.get());
+
+        counter.onBooksInvalidated(new BooksInvalidatedEvent(Set.of(), 0, true));
+        assertEquals(10, counter.get());
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void givenChangesCommittedDuringCountQuery_whenReconciled_thenChangesKept() {
+        final BookCounter[] counter = new BookCounter[1];
+        counter[0] = new BookCounter(() -> {
+            counter[0].onBookChanged(new BookChangedEvent(BookChangedEvent.Type.CREATED, 1L, null));
+            counter[0].onBookChanged(new BookChangedEvent(BookChangedEvent.Type.CREATED, 2L, null));
+            return 10L;
+        }, new SimpleMeterRegistry());
+
+        counter[0].reconcile();
+
+        assertEquals(12, counter[0].get());
+        counter[0].onBookChanged(BookChangedEvent.deleted(1L));
+        assertEquals(11, counter[0].get());
+    }
+
+    private BookDto create() {
+        final BookDto bookDto = new BookDto();
+        bookDto.setTitle("Test");
+        bookDto.setDescription("Test");
+        bookDto.setAuthor("Test");
+        bookDto.setIsbn("Test");
+        return this.bookService.create(bookDto, this.bookConverter);
+    }
+}
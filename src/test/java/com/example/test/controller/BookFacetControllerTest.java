@@ -0,0 +1,114 @@
+package com.example.test.controller;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.service.BookService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "bookstore.facets.enabled=true")
+@AutoConfigureMockMvc
+class BookFacetControllerTest {
+
+    private final static String FACETS_PATH = "/api/v1/books/facets/authors";
+    private final static String BY_AUTHOR_PATH = "/api/v1/books/by-author";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @Test
+    void givenBooksOfAuthors_whenGetAuthorFacets_thenCountsMostFirstAndNarrowedByTitle() throws Exception {
+        this.create("A Wizard of Earthsea", "Ursula Le Guin");
+        this.create("The Farthest Shore of Earthsea", "Ursula Le Guin");
+        this.create("The Dispossessed", "Ursula Le Guin");
+        this.create("Earthsea Parody", "Terry Pratchett");
+
+        final JsonNode narrowed = this.perform(get(FACETS_PATH).param("title", "EARTHSEA"));
+        assertEquals(2, narrowed.size());
+        assertEquals("Ursula Le Guin", narrowed.get(0).get("author").asText());
+        assertEquals(2, narrowed.get(0).get("count").asLong());
+        assertEquals("Terry Pratchett", narrowed.get(1).get("author").asText());
+        assertEquals(1, narrowed.get(1).get("count").asLong());
+
+        final JsonNode all = this.perform(get(FACETS_PATH).param("limit", "100"));
+        assertEquals(3, this.countOf(all, "Ursula Le Guin"));
+        assertEquals(0, this.perform(get(FACETS_PATH).param("title", "earthsea unknownword")).size());
+    }
+
+    @Test
+    void givenBooksOfAuthor_whenPaged_thenIdOrderAndTotalFollowChanges() throws Exception {
+        final List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(this.create("Discworld " + i, "Paged Author").getId());
+        }
+
+        final JsonNode first = this.perform(get(BY_AUTHOR_PATH).param("author", "Paged Author").param("size", "2"));
+        assertEquals(5, first.get("totalElements").asLong());
+        assertEquals(List.of(ids.get(0), ids.get(1)), this.idsOf(first));
+        final JsonNode last = this.perform(get(BY_AUTHOR_PATH).param("author", "Paged Author")
+                .param("size", "2").param("page", "2"));
+        assertEquals(List.of(ids.get(4)), this.idsOf(last));
+
+        final BookDto moved = this.bookService.getById(ids.get(0), this.bookConverter);
+        moved.setAuthor("Other Author");
+        this.bookService.update(moved.getId(), moved, this.bookConverter);
+        this.bookService.deleteById(ids.get(1));
+        final JsonNode changed = this.perform(get(BY_AUTHOR_PATH).param("author", "Paged Author").param("size", "2"));
+        assertEquals(3, changed.get("totalElements").asLong());
+        assertEquals(List.of(ids.get(2), ids.get(3)), this.idsOf(changed));
+        assertEquals(List.of(ids.get(0)), this.idsOf(
+                this.perform(get(BY_AUTHOR_PATH).param("author", "Other Author").param("title", "discworld"))));
+    }
+
+    private JsonNode perform(final MockHttpServletRequestBuilder request) throws Exception {
+        return this.objectMapper.readTree(this.mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private long countOf(final JsonNode facets, final String author) {
+        for (final JsonNode facet : facets) {
+            if (author.equals(facet.get("author").asText())) {
+                return facet.get("count").asLong();
+            }
+        }
+        return 0L;
+    }
+
+    private List<Long> idsOf(final JsonNode page) {
+        final List<Long> ids = new ArrayList<>();
+        page.get("content").forEach(book -> ids.add(book.get("id").asLong()));
+        return ids;
+    }
+
+    private BookDto create(final String title, final String author) {
+        final BookDto bookDto = new BookDto();
+        bookDto.setTitle(title);
+        bookDto.setDescription("Test");
+        bookDto.setAuthor(author);
+        bookDto.setIsbn("Test");
+        return this.bookService.create(bookDto, this.bookConverter);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.test.controller;
+
+import com.example.test.domain.Book;
+import com.example.test.repository.BookRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "bookstore.import.chunk-size=2",
+        "bookstore.import.pool-size=1",
+        "bookstore.import.queue-capacity=1",
+        "bookstore.import.max-record-length=100"
+})
+@AutoConfigureMockMvc
+class BookImportControllerTest {
+
+    private final static String BASE_PATH = "/api/v1/books/imports";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    void givenCsvWithInvalidRow_whenImport_thenValidRowsImportedAndInvalidRowReported() throws Exception {
+        final String csv = "title,author,description,isbn,ignored\r\n"
+                + "Csv One,Author A,\"Plain, with comma\",isbn-1,x\r\n"
+                + "\r\n"
+                + "Csv Two,Author B,\"Spans\r\ntwo \"\"lines\"\"\",isbn-2,x\r\n"
+                + "Csv Three,,Missing author,isbn-3,x\r\n"
+                + "Csv Four,Author D,Last,isbn-4,x";
+
+        final JsonNode status = this.awaitFinished(this.importBooks("text/csv", csv));
+
+        assertEquals("COMPLETED", status.get("state").asText());
+        assertEquals(4, status.get("rowsRead").asLong());
+        assertEquals(3, status.get("rowsImported").asLong());
+        assertEquals(1, status.get("rowsRejected").asLong());
+        assertEquals(6, status.get("errors").get(0).get("line").asLong());
+        assertTrue(status.get("errors").get(0).get("errors").has("author"));
+        final List<Book> books = this.findByTitlePrefix("Csv ");
+        assertEquals(3, books.size());
+        assertTrue(books.stream().anyMatch(book -> "Plain, with comma".equals(book.getDescription())));
+        assertTrue(books.stream().anyMatch(book -> "Spans\ntwo \"lines\"".equals(book.getDescription())));
+    }
+
+    @Test
+    void givenNdjson_whenImport_thenBooksImportedAndMalformedLineReported() throws Exception {
+        final String ndjson = "{\"title\":\"Ndjson One\",\"description\":\"d\",\"author\":\"a\",\"isbn\":\"i\"}\n"
+                + "{\"title\":\"Ndjson Two\",\"description\":\"d\",\"author\":\"a\",\"isbn\":\"i\"}\n"
+                + "{\"title\":\n";
+
+        final JsonNode status = this.awaitFinished(this.importBooks("application/x-ndjson", ndjson));
+
+        assertEquals("COMPLETED", status.get("state").asText());
+        assertEquals(2, status.get("rowsImported").asLong());
+        assertEquals(1, status.get("rowsRejected").asLong());
+        assertEquals(3, status.get("errors").get(0).get("line").asLong());
+        assertEquals(2, this.findByTitlePrefix("Ndjson ").size());
+    }
+
+    @Test
+    void givenCsvWithTooLongRows_whenImport_thenRejectedWithLineAndNextLinesImported() throws Exception {
+        final String csv = "title,author,description,isbn\r\n"
+                + "Long One,Author,\"never closed,isbn-1\r\n"
+                + "x".repeat(120) + "\r\n"
+                + "Long Three,Author,Fine,isbn-3\r\n"
+                + "Long Four,Author," + "y".repeat(200) + ",isbn-4\r\n"
+                + "Long Five,Author,Fine,isbn-5\r\n";
+
+        final JsonNode status = this.awaitFinished(this.importBooks("text/csv", csv));
+
+        assertEquals("COMPLETED", status.get("state").asText());
+        assertEquals(2, status.get("rowsImported").asLong());
+        assertEquals(2, status.get("rowsRejected").asLong());
+        assertEquals(2, status.get("errors").get(0).get("line").asLong());
+        assertEquals(5, status.get("errors").get(1).get("line").asLong());
+        assertEquals(List.of("Long Five", "Long Three"), this.findByTitlePrefix("Long ").stream()
+                .map(Book::getTitle)
+                .sorted()
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void givenUnknownJobId_whenGetImport_thenNotFound() throws Exception {
+        this.mockMvc.perform(get(BASE_PATH + "/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String importBooks(final String contentType, final String body) throws Exception {
+        final MvcResult result = this.mockMvc.perform(post(BASE_PATH)
+                        .contentType(contentType)
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, containsString(BASE_PATH + "/")))
+                .andReturn();
+        return result.getResponse().getHeader(HttpHeaders.LOCATION);
+    }
+
+    private JsonNode awaitFinished(final String location) throws Exception {
+        final long deadline = System.currentTimeMillis() + 10_000L;
+        while (true) {
+            final String content = this.mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            final JsonNode status = this.objectMapper.readTree(content);
+            if (!"RUNNING".equals(status.get("state").asText()) || System.currentTimeMillis() > deadline) {
+                return status;
+            }
+            Thread.sleep(20L);
+        }
+    }
+
+    private List<Book> findByTitlePrefix(final String prefix) {
+        return this.bookRepository.findAll()
+                .stream()
+                .filter(book -> book.getTitle().startsWith(prefix))
+                .collect(Collectors.toList());
+    }
+}
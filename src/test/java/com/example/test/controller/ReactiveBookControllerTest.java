@@ -0,0 +1,112 @@
+package com.example.test.controller;
+
+import com.example.test.dto.BookDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveBookControllerTest {
+
+    private final static String BASE_PATH = "/api/v1/books";
+    private final static String ITEM_PATH = "/api/v1/books/%s";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void givenBookDto_whenCreateUpdateAndDelete_thenBookFollowsTheChanges() {
+        final BookDto created = this.create(createDummyBookDto());
+        assertNotNull(created.getId());
+        assertNotNull(created.getCreatedAt());
+
+        final BookDto read = this.webTestClient.get().uri(String.format(ITEM_PATH, created.getId()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BookDto.class).returnResult().getResponseBody();
+        assertEquals(created, read);
+
+        final BookDto change = createDummyBookDto().toBuilder().title("changed").build();
+        final BookDto updated = this.webTestClient.put().uri(String.format(ITEM_PATH, created.getId()))
+                .bodyValue(change)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BookDto.class).returnResult().getResponseBody();
+        assertNotNull(updated);
+        assertEquals("changed", updated.getTitle());
+        assertEquals(created.getCreatedAt(), updated.getCreatedAt());
+
+        this.webTestClient.delete().uri(String.format(ITEM_PATH, created.getId()))
+                .exchange()
+                .expectStatus().isAccepted();
+        this.webTestClient.get().uri(String.format(ITEM_PATH, created.getId()))
+                .exchange()
+                .expectStatus().isNotFound();
+        this.webTestClient.delete().uri(String.format(ITEM_PATH, created.getId()))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void givenBookDto_whenCreateBook_andWrongData_thenBadRequest() {
+        final BookDto bookDto = createDummyBookDto();
+        bookDto.setTitle(null);
+        this.webTestClient.post().uri(BASE_PATH)
+                .bodyValue(bookDto)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errors.title").exists();
+    }
+
+    @Test
+    void givenBooks_whenGetBooks_thenListedAsJsonArrayAndAsNdjson() {
+        final BookDto first = this.create(createDummyBookDto());
+        final BookDto second = this.create(createDummyBookDto());
+
+        final List<BookDto> array = this.webTestClient.get().uri(BASE_PATH)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BookDto.class).returnResult().getResponseBody();
+        assertNotNull(array);
+        assertTrue(array.contains(first) && array.contains(second));
+
+        final List<BookDto> stream = this.webTestClient.get().uri(BASE_PATH)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(BookDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertEquals(array, stream);
+    }
+
+    private BookDto create(final BookDto bookDto) {
+        return this.webTestClient.post().uri(BASE_PATH)
+                .bodyValue(bookDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(BookDto.class).returnResult().getResponseBody();
+    }
+
+    private static BookDto createDummyBookDto() {
+        return BookDto.builder()
+                .title("book")
+                .description("book")
+                .author("book")
+                .isbn("book")
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.test.controller;
+
+import com.example.test.cache.BookRecord;
+import com.example.test.cache.RelatedBookIndex;
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.service.BookService;
+import com.example.test.sql.SqlStatementRecorder;
+import com.example.test.sql.SqlStatementRecorder.SqlStatements;
+import com.example.test.sql.SqlStatementRecorderConfig;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "bookstore.related.enabled=true")
+@AutoConfigureMockMvc
+@Import(SqlStatementRecorderConfig.class)
+class RelatedBookControllerTest {
+
+    private final static String RELATED_PATH = "/api/v1/books/%s/related";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @Autowired
+    private RelatedBookIndex relatedBookIndex;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @Test
+    void givenBooksOfAuthorAndSimilarTitles_whenGetRelated_thenRankedWithoutSql() throws Exception {
+        final BookDto dune = this.create("Dune", "Frank Herbert");
+        final BookDto messiah = this.create("Dune Messiah", "Frank Herbert");
+        final BookDto eye = this.create("Eye", "Frank Herbert");
+        final BookDto road = this.create("Dune Road", "Jane Doe");
+        final BookDto cooking = this.create("Cooking at Home", "Jane Doe");
+        this.awaitIndexed(cooking.getId());
+
+        final Object[] related = new Object[1];
+        final SqlStatements statements = this.sqlStatementRecorder.record(() ->
+                related[0] = this.getRelated(dune.getId(), 10));
+
+        assertEquals(0, statements.total(), statements.toString());
+        assertEquals(List.of(messiah.getId(), eye.getId(), road.getId()), related[0]);
+        assertEquals(List.of(messiah.getId()), this.getRelated(dune.getId(), 1));
+    }
+
+    @Test
+    void givenBookChanged_whenGetRelated_thenIndexUpdated() throws Exception {
+        final BookDto solaris = this.create("Solaris", "Stanislaw Lem");
+        final BookDto fiasco = this.create("Fiasco", "Stanislaw Lem");
+        this.awaitRelated(solaris.getId(), List.of(fiasco.getId()));
+        assertEquals(List.of(fiasco.getId()), this.getRelated(solaris.getId(), 10));
+
+        fiasco.setAuthor("Someone Else");
+        this.bookService.update(fiasco.getId(), fiasco, this.bookConverter);
+        this.awaitRelated(solaris.getId(), List.of());
+        assertEquals(List.of(), this.getRelated(solaris.getId(), 10));
+        assertEquals(List.of(), this.getRelated(fiasco.getId(), 10));
+
+        final BookDto returnFromStars = this.create("Return from the Stars", "Stanislaw Lem");
+        this.awaitRelated(solaris.getId(), List.of(returnFromStars.getId()));
+        assertEquals(List.of(returnFromStars.getId()), this.getRelated(solaris.getId(), 10));
+        assertEquals(List.of(solaris.getId()), this.getRelated(returnFromStars.getId(), 10));
+
+        this.bookService.deleteById(returnFromStars.getId());
+        this.awaitRelated(solaris.getId(), List.of());
+        assertEquals(List.of(), this.getRelated(solaris.getId(), 10));
+        this.mockMvc.perform(get(String.format(RELATED_PATH, returnFromStars.getId())))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void givenRelatedBooks_whenBetterBookCreatedAndDeleted_thenInsertedByScoreAndRemoved() throws Exception {
+        final BookDto first = this.create("Foundation", "Isaac Asimov");
+        final BookDto robots = this.create("Robots of Dawn", "Isaac Asimov");
+        final BookDto empire = this.create("Foundation and Empire", "Other Author");
+        this.awaitRelated(first.getId(), List.of(robots.getId(), empire.getId()));
+
+        final BookDto second = this.create("Second Foundation", "Isaac Asimov");
+        this.awaitRelated(first.getId(), List.of(second.getId(), robots.getId(), empire.getId()));
+
+        this.bookService.deleteById(second.getId());
+        this.awaitRelated(first.getId(), List.of(robots.getId(), empire.getId()));
+    }
+
+    private void awaitIndexed(final Long id) throws InterruptedException {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (this.relatedBookIndex.getRelated(id, 10) == null) {
+            assertTrue(System.nanoTime() < deadline, "book not indexed in time");
+            Thread.sleep(20L);
+        }
+    }
+
+    private void awaitRelated(final Long id, final List<Long> expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        List<Long> related = null;
+        while (!expected.equals(related)) {
+            assertTrue(System.nanoTime() < deadline, "related " + related + " instead of " + expected);
+            Thread.sleep(20L);
+            final List<BookRecord> records = this.relatedBookIndex.getRelated(id, 10);
+            related = records == null ? null : records.stream().map(BookRecord::getId).collect(Collectors.toList());
+        }
+    }
+
+    private List<Long> getRelated(final Long id, final int limit) throws Exception {
+        final String json = this.mockMvc.perform(get(String.format(RELATED_PATH, id)).param("limit", "" + limit))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return this.objectMapper.readValue(json, new TypeReference<List<BookDto>>() {
+                })
+                .stream()
+                .map(BookDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private BookDto create(final String title, final String author) {
+        final BookDto bookDto = new BookDto();
+        bookDto.setTitle(title);
+        bookDto.setDescription("Test");
+        bookDto.setAuthor(author);
+        bookDto.setIsbn("Test");
+        return this.bookService.create(bookDto, this.bookConverter);
+    }
+}
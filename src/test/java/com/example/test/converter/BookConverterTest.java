@@ -1,5 +1,6 @@
 package com.example.test.converter;
 
+import com.example.test.converter.impl.BookConverterImpl;
 import com.example.test.domain.Book;
 import com.example.test.dto.BookDto;
 import org.junit.jupiter.api.Test;
@@ -8,7 +9,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -52,6 +59,34 @@ class BookConverterTest {
         assertEquals(bookDto.getTitle(), book.getDescription());
     }
 
+    @Test
+    void givenLargeList_whenToDtoListOnConversionPool_thenSameDtosInSameOrder() {
+        final ForkJoinPool conversionPool = new ForkJoinPool(4);
+        try {
+            final List<Book> books = new ArrayList<>();
+            for (long id = 1; id <= 1_000; id++) {
+                books.add(createDummyBook().toBuilder().id(id).build());
+            }
+            final List<BookDto> parallel = new BookConverterImpl(conversionPool, 100).toDtoList(books);
+
+            assertEquals(this.bookConverter.toDtoList(books), parallel);
+            assertEquals(books.size(), parallel.size());
+            assertEquals(1_000L, parallel.get(999).getId());
+        } finally {
+            conversionPool.shutdown();
+        }
+    }
+
+    @Test
+    void givenBooks_whenToDtoIterator_thenConvertsOnlyWhenReached() {
+        final List<Book> books = new ArrayList<>(List.of(createDummyBook()));
+        final Iterator<BookDto> dtos = this.bookConverter.toDtoIterator(books.iterator());
+        books.set(0, createDummyBook().toBuilder().title("Changed").build());
+
+        assertEquals("Changed", dtos.next().getTitle());
+        assertFalse(dtos.hasNext());
+    }
+
     private static Book createDummyBook() {
         return Book.builder()
                 .id(1L)
@@ -0,0 +1,73 @@
+package com.example.test.converter;
+
+import com.example.test.converter.http.BookJsonWriter;
+import com.example.test.dto.BookDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class BookJsonWriterTest {
+
+    @Autowired
+    private BookJsonWriter bookJsonWriter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void givenBookDto_whenToBytes_thenSameAsObjectMapper() throws Exception {
+        final BookDto bookDto = createDummyBookDto(LocalDateTime.of(2022, 9, 1, 10, 15, 30, 123_456_000));
+
+        assertEquals(this.objectMapper.writeValueAsString(bookDto),
+                new String(this.bookJsonWriter.toBytes(bookDto), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenBookDto_withWholeSecondsAndEscapedText_whenToBytes_thenSameAsObjectMapper() throws Exception {
+        final BookDto bookDto = createDummyBookDto(LocalDateTime.of(2022, 9, 1, 10, 15));
+        bookDto.setTitle("\"Quoted\" \\ tab\t newline\n unicode é书 control \u0001");
+
+        assertEquals(this.objectMapper.writeValueAsString(bookDto),
+                new String(this.bookJsonWriter.toBytes(bookDto), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenBookDto_withNulls_whenToBytes_thenSameAsObjectMapper() throws Exception {
+        final BookDto bookDto = new BookDto();
+
+        assertEquals(this.objectMapper.writeValueAsString(bookDto),
+                new String(this.bookJsonWriter.toBytes(bookDto), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenBookDtoList_whenWriteAll_thenSameAsObjectMapper() throws Exception {
+        final LocalDateTime timestamp = LocalDateTime.of(2022, 9, 1, 10, 15, 30, 100_000);
+        final List<BookDto> books = List.of(createDummyBookDto(timestamp), createDummyBookDto(timestamp), new BookDto());
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        this.bookJsonWriter.writeAll(books, outputStream);
+
+        assertEquals(this.objectMapper.writeValueAsString(books), outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    private static BookDto createDummyBookDto(final LocalDateTime timestamp) {
+        return BookDto.builder()
+                .id(1L)
+                .title("Test")
+                .description("Test")
+                .author("Test")
+                .isbn("Test")
+                .createdAt(timestamp)
+                .updatedAt(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.test.datasource;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.filter.ReadYourWritesFilter;
+import com.example.test.service.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.servlet.http.Cookie;
+import java.sql.Connection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "bookstore.datasource.routing.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "bookstore.datasource.routing.replicas[0].url=" + RoutingDataSourceTest.REPLICA_0,
+        "bookstore.datasource.routing.replicas[1].url=" + RoutingDataSourceTest.REPLICA_1
+})
+@AutoConfigureMockMvc
+class RoutingDataSourceTest {
+
+    static final String REPLICA_0 = "jdbc:h2:mem:routing-replica-0;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_1 = "jdbc:h2:mem:routing-replica-1;DB_CLOSE_DELAY=-1";
+
+    private final static String BASE_PATH = "/api/v1/books";
+    private final static String ITEM_PATH = "/api/v1/books/%s";
+    private final static long REPLICA_ONLY_ID = 1000L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @BeforeEach
+    public void beforeTest() {
+        createReplicaOnlyBook(REPLICA_0, "replica-0");
+        createReplicaOnlyBook(REPLICA_1, "replica-1");
+    }
+
+    @Test
+    void givenReplicaOnlyBook_whenGetById_thenReadFromTheReplicasInTurn() {
+        final Set<String> titles = new HashSet<>();
+        titles.add(this.bookService.getById(REPLICA_ONLY_ID, this.bookConverter).getTitle());
+        titles.add(this.bookService.getById(REPLICA_ONLY_ID, this.bookConverter).getTitle());
+        assertEquals(Set.of("replica-0", "replica-1"), titles);
+    }
+
+    @Test
+    void givenCreatedBook_whenGetBook_thenOnlyTheWritingClientReadsItFromThePrimary() throws Exception {
+        final BookDto bookDto = BookDto.builder()
+                .title("book")
+                .description("book")
+                .author("book")
+                .isbn("book")
+                .build();
+        final var response = this.mockMvc.perform(post(BASE_PATH)
+                        .content(this.objectMapper.writeValueAsString(bookDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse();
+        final BookDto created = this.objectMapper.readValue(response.getContentAsString(), BookDto.class);
+        final Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+
+        assertEquals(1, new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:routing-primary", "test", "test"))
+                .queryForObject("SELECT COUNT(*) FROM book WHERE id = ?", Integer.class, created.getId()));
+        this.mockMvc.perform(get(String.format(ITEM_PATH, created.getId())))
+                .andExpect(status().isNotFound());
+        this.mockMvc.perform(get(String.format(ITEM_PATH, created.getId())).cookie(cookie))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void givenBusyReplica_whenSelectLeastBusy_thenOtherReplicaSelected() throws Exception {
+        final HikariDataSource primary = createPool("jdbc:h2:mem:least-busy-primary");
+        final HikariDataSource busy = createPool("jdbc:h2:mem:least-busy-0");
+        final HikariDataSource idle = createPool("jdbc:h2:mem:least-busy-1");
+        try (RoutingDataSource routingDataSource = new RoutingDataSource(primary, List.of(busy, idle),
+                ReplicaSelection.LEAST_BUSY, new SimpleMeterRegistry());
+             Connection ignored = busy.getConnection()) {
+            for (int i = 0; i < 4; i++) {
+                assertSame(idle, routingDataSource.selectReplica());
+            }
+        }
+    }
+
+    private static HikariDataSource createPool(final String url) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username("test")
+                .password("test")
+                .build();
+    }
+
+    private static void createReplicaOnlyBook(final String url, final String title) {
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, "test", "test"));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS book (id BIGINT PRIMARY KEY, "
+                + "created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL, title VARCHAR(255) NOT NULL, "
+                + "description VARCHAR(255) NOT NULL, author VARCHAR(255) NOT NULL, isbn VARCHAR(255) NOT NULL, "
+                + "deleted_at TIMESTAMP)");
+        jdbcTemplate.update("MERGE INTO book (id, created_at, updated_at, title, description, author, isbn) KEY (id) "
+                + "VALUES (?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?, ?, ?, ?)",
+                REPLICA_ONLY_ID, title, "replica", "replica", "replica");
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.test.filter;
+
+import com.example.test.concurrent.AimdConcurrencyLimit;
+import com.example.test.dto.BookDto;
+import com.example.test.service.BookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "bookstore.limiter.enabled=true",
+        "bookstore.limiter.read.initial=1",
+        "bookstore.limiter.read.min=1",
+        "bookstore.limiter.read.max=1",
+        "bookstore.limiter.quota.enabled=true",
+        "bookstore.limiter.quota.capacity=2",
+        "bookstore.limiter.quota.refill-per-second=0.01"
+})
+@AutoConfigureMockMvc
+class ConcurrencyLimitFilterTest {
+
+    private final static String ITEM_PATH = "/api/v1/books/%s";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookService bookService;
+
+    @Test
+    void givenReadLimitInUse_whenGetById_thenServiceUnavailableWithRetryAfter() throws Exception {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return createDummyBookDto(1L);
+        }).when(this.bookService).getById(anyLong(), any());
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Integer> held = executor.submit(() -> this.mockMvc
+                    .perform(get(String.format(ITEM_PATH, 1)).with(remoteAddr("10.0.0.1")))
+                    .andReturn().getResponse().getStatus());
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            this.mockMvc.perform(get(String.format(ITEM_PATH, 1)).with(remoteAddr("10.0.0.2")))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+            release.countDown();
+            assertEquals(200, held.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void givenClientQuotaUsedUp_whenGetById_thenTooManyRequestsWithRetryAfter() throws Exception {
+        doReturn(createDummyBookDto(1L)).when(this.bookService).getById(anyLong(), any());
+
+        for (int i = 0; i < 2; i++) {
+            this.mockMvc.perform(get(String.format(ITEM_PATH, 1)).with(remoteAddr("10.0.0.3")))
+                    .andExpect(status().isOk());
+        }
+        this.mockMvc.perform(get(String.format(ITEM_PATH, 1)).with(remoteAddr("10.0.0.3")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        this.mockMvc.perform(get(String.format(ITEM_PATH, 1)).with(remoteAddr("10.0.0.3"))
+                        .header("X-Client-Id", "untrusted"))
+                .andExpect(status().isTooManyRequests());
+        this.mockMvc.perform(get(String.format(ITEM_PATH, 1)).with(remoteAddr("10.0.0.4")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void givenSlowAndFastRequests_whenReleased_thenLimitBacksOffAndGrowsBack() {
+        final AimdConcurrencyLimit limit = new AimdConcurrencyLimit("test", 10, 1, 20, Duration.ofMillis(100),
+                0.5, new SimpleMeterRegistry());
+
+        assertTrue(limit.tryAcquire());
+        limit.release(Duration.ofMillis(500).toNanos(), false);
+        assertEquals(5, limit.getLimit());
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        assertFalse(limit.tryAcquire());
+        for (int i = 0; i < 5; i++) {
+            limit.release(Duration.ofMillis(10).toNanos(), false);
+        }
+        assertTrue(limit.getLimit() >= 5);
+        for (int i = 0; i < 40; i++) {
+            for (int j = 0; j < limit.getLimit(); j++) {
+                limit.tryAcquire();
+            }
+            while (limit.getInFlight() > 0) {
+                limit.release(Duration.ofMillis(10).toNanos(), false);
+            }
+        }
+        assertTrue(limit.getLimit() > 5);
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void givenBurstOfSlowRequests_whenReleased_thenLimitBacksOffOncePerWindow() throws Exception {
+        final AimdConcurrencyLimit limit = new AimdConcurrencyLimit("test", 16, 1, 20, Duration.ofMillis(100),
+                0.5, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 16; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        for (int i = 0; i < 16; i++) {
+            limit.release(Duration.ofMillis(500).toNanos(), false);
+        }
+        assertEquals(8, limit.getLimit());
+
+        Thread.sleep(150L);
+        assertTrue(limit.tryAcquire());
+        limit.release(Duration.ofMillis(500).toNanos(), true);
+        assertEquals(4, limit.getLimit());
+    }
+
+    private static RequestPostProcessor remoteAddr(final String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    private static BookDto createDummyBookDto(final Long id) {
+        final BookDto bookDto = new BookDto();
+        bookDto.setId(id);
+        bookDto.setTitle("Test");
+        bookDto.setDescription("Test");
+        bookDto.setAuthor("Test");
+        return bookDto;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.test.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.test.config.RequestTimingProperties;
+import com.example.test.timing.RequestTiming;
+import com.example.test.timing.TimingPhase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestTimingFilterTest {
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestTimingFilter.class);
+
+    @BeforeEach
+    public void beforeTest() {
+        this.appender.start();
+        this.logger.addAppender(this.appender);
+    }
+
+    @AfterEach
+    public void afterTest() {
+        this.logger.detachAppender(this.appender);
+    }
+
+    @Test
+    void givenSlowRequest_andSampleRateOne_thenSlowRequestLoggedWithPhases() throws Exception {
+        final MockHttpServletResponse response = this.filter(Duration.ofMillis(5), 1.0, this.slowChain(20));
+
+        assertEquals(1, this.appender.list.size());
+        final ILoggingEvent event = this.appender.list.get(0);
+        assertEquals(Level.WARN, event.getLevel());
+        assertTrue(event.getFormattedMessage().startsWith("Slow request method=GET uri=/api/v1/books status=200"),
+                event.getFormattedMessage());
+        assertTrue(event.getFormattedMessage().contains("dbCalls=1"), event.getFormattedMessage());
+        assertTrue(response.getHeader(RequestTiming.HEADER_NAME).contains("db;dur="));
+    }
+
+    @Test
+    void givenFastRequest_whenBelowSlowThreshold_thenNotLogged() throws Exception {
+        this.filter(Duration.ofHours(1), 1.0, this.slowChain(0));
+
+        assertEquals(0, this.appender.list.size());
+    }
+
+    @Test
+    void givenSlowRequest_andSampleRateZero_thenNotLogged() throws Exception {
+        this.filter(Duration.ofMillis(1), 0.0, this.slowChain(5));
+
+        assertEquals(0, this.appender.list.size());
+    }
+
+    @Test
+    void givenSlowRequests_andSampleRateHalf_thenRequestsDrawnBelowHalfLogged() throws Exception {
+        final double[] draws = {0.0, 0.25, 0.4999, 0.5, 0.75, 0.9999};
+        final AtomicInteger next = new AtomicInteger();
+        final DoubleSupplier random = () -> draws[next.getAndIncrement() % draws.length];
+        for (int i = 0; i < 60; i++) {
+            this.filter(Duration.ZERO, 0.5, this.slowChain(0), random);
+        }
+
+        assertEquals(60, next.get());
+        assertEquals(30, this.appender.list.size());
+    }
+
+    private MockHttpServletResponse filter(final Duration slowThreshold, final double sampleRate,
+                                           final FilterChain chain) throws Exception {
+        return this.filter(slowThreshold, sampleRate, chain, () -> 0.0);
+    }
+
+    private MockHttpServletResponse filter(final Duration slowThreshold, final double sampleRate,
+                                           final FilterChain chain, final DoubleSupplier random) throws Exception {
+        final RequestTimingProperties properties = new RequestTimingProperties();
+        properties.setSlowThreshold(slowThreshold);
+        properties.setSampleRate(sampleRate);
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/books");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        new RequestTimingFilter(properties, random).doFilter(request, response, chain);
+        return response;
+    }
+
+    /**
+     * @return chain spending the given time in a db phase, as the repository aspect would record it.
+     */
+    private FilterChain slowChain(final long dbMillis) {
+        return (request, response) -> {
+            final RequestTiming timing = RequestTiming.current();
+            final long begin = timing.begin(TimingPhase.DB);
+            try {
+                Thread.sleep(dbMillis);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                timing.end(TimingPhase.DB, begin);
+            }
+        };
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.test.invalidation;
+
+import com.example.test.TestApplication;
+import com.example.test.cache.BookCounter;
+import com.example.test.cache.BookReadModel;
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.event.BookChangedEvent;
+import com.example.test.event.BooksInvalidatedEvent;
+import com.example.test.service.BookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "bookstore.read-model.enabled=true",
+        "bookstore.invalidation.enabled=true",
+        "bookstore.invalidation.transport=jdbc",
+        "bookstore.invalidation.batch-interval=20ms",
+        "bookstore.invalidation.poll-interval=20ms"
+})
+class BookInvalidationTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @Autowired
+    private BookReadModel bookReadModel;
+
+    @Autowired
+    private BookCounter bookCounter;
+
+    private ConfigurableApplicationContext otherInstance;
+
+    @BeforeEach
+    void startOtherInstance() {
+        this.otherInstance = new SpringApplicationBuilder(TestApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--bookstore.read-model.enabled=true",
+                        "--bookstore.invalidation.enabled=true",
+                        "--bookstore.invalidation.transport=jdbc",
+                        "--bookstore.invalidation.batch-interval=20ms",
+                        "--bookstore.invalidation.poll-interval=20ms");
+    }
+
+    @AfterEach
+    void stopOtherInstance() {
+        this.otherInstance.close();
+    }
+
+    @Test
+    void givenBookChangedOnOtherInstance_whenInvalidationPolled_thenReadModelReloadsIt() throws Exception {
+        final BookService otherBookService = this.otherInstance.getBean(BookService.class);
+        final long count = this.bookCounter.get();
+        final BookDto created = otherBookService.create(createDummyBookDto("Created"), this.bookConverter);
+        awaitTrue(() -> this.bookReadModel.get(created.getId()) != null);
+        assertEquals(count + 1, this.bookCounter.get());
+
+        created.setTitle("Updated");
+        otherBookService.update(created.getId(), created, this.bookConverter);
+        awaitTrue(() -> "Updated".equals(this.bookReadModel.get(created.getId()).getTitle()));
+
+        otherBookService.deleteById(created.getId());
+        awaitTrue(() -> this.bookReadModel.get(created.getId()) == null);
+        assertEquals(count, this.bookCounter.get());
+
+        final BookDto local = this.bookService.create(createDummyBookDto("Local"), this.bookConverter);
+        final BookReadModel otherReadModel = this.otherInstance.getBean(BookReadModel.class);
+        awaitTrue(() -> otherReadModel.get(local.getId()) != null);
+        assertNull(this.bookReadModel.get(created.getId()));
+    }
+
+    @Test
+    void givenRepeatedChangesOfOneBook_whenFlushed_thenOneIdSentToOtherContextsOnly() {
+        final List<Object> received = new ArrayList<>();
+        final List<Object> echoed = new ArrayList<>();
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        final LoopbackInvalidationBus senderBus = new LoopbackInvalidationBus("test");
+        final LoopbackInvalidationBus receiverBus = new LoopbackInvalidationBus("test");
+        final BookInvalidationBroadcaster sender = new BookInvalidationBroadcaster(senderBus, echoed::add,
+                executor, Duration.ofHours(1), 2, new SimpleMeterRegistry());
+        final BookInvalidationBroadcaster receiver = new BookInvalidationBroadcaster(receiverBus, received::add,
+                executor, Duration.ofHours(1), 2, new SimpleMeterRegistry());
+        try {
+            sender.start();
+            receiver.start();
+            sender.onBookChanged(BookChangedEvent.deleted(1L));
+            sender.onBookChanged(BookChangedEvent.deleted(1L));
+            sender.onBookChanged(BookChangedEvent.deleted(1L));
+
+            assertEquals(1, sender.flush());
+            assertEquals(0, sender.flush());
+            assertEquals(List.of(), echoed);
+            assertEquals(1, received.size());
+            assertEquals(Set.of(1L), ((BooksInvalidatedEvent) received.get(0)).getIds());
+
+            sender.onBookChanged(BookChangedEvent.deleted(2L));
+            sender.onBookChanged(BookChangedEvent.deleted(3L));
+            sender.onBookChanged(BookChangedEvent.deleted(4L));
+            assertEquals(2, sender.flush());
+            assertEquals(3, received.size());
+        } finally {
+            sender.close();
+            receiver.close();
+        }
+    }
+
+    @Test
+    void givenCreatesAndDeletes_whenFlushed_thenCountDeltaSentWithFirstBatch() {
+        final List<Object> received = new ArrayList<>();
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        final LoopbackInvalidationBus senderBus = new LoopbackInvalidationBus("delta");
+        final LoopbackInvalidationBus receiverBus = new LoopbackInvalidationBus("delta");
+        final BookInvalidationBroadcaster sender = new BookInvalidationBroadcaster(senderBus, event -> { },
+                executor, Duration.ofHours(1), 2, new SimpleMeterRegistry());
+        final BookInvalidationBroadcaster receiver = new BookInvalidationBroadcaster(receiverBus, received::add,
+                executor, Duration.ofHours(1), 2, new SimpleMeterRegistry());
+        try {
+            sender.start();
+            receiver.start();
+            sender.onBookChanged(new BookChangedEvent(BookChangedEvent.Type.CREATED, 1L, null));
+            sender.onBookChanged(new BookChangedEvent(BookChangedEvent.Type.CREATED, 2L, null));
+            sender.onBookChanged(new BookChangedEvent(BookChangedEvent.Type.UPDATED, 3L, null));
+            sender.onBookChanged(BookChangedEvent.deleted(4L));
+            sender.onBookChanged(new BookChangedEvent(BookChangedEvent.Type.CREATED, 5L, null));
+
+            assertEquals(3, sender.flush());
+            assertEquals(3, received.size());
+            assertEquals(2, ((BooksInvalidatedEvent) received.get(0)).getCountDelta());
+            assertEquals(0, ((BooksInvalidatedEvent) received.get(1)).getCountDelta());
+            assertEquals(0, ((BooksInvalidatedEvent) received.get(2)).getCountDelta());
+            assertEquals(0, sender.flush());
+        } finally {
+            sender.close();
+            receiver.close();
+        }
+    }
+
+    private static void awaitTrue(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(20L);
+        }
+    }
+
+    private static BookDto createDummyBookDto(final String title) {
+        final BookDto bookDto = new BookDto();
+        bookDto.setTitle(title);
+        bookDto.setDescription("Test");
+        bookDto.setAuthor("Test");
+        bookDto.setIsbn("978-3-16-148410-0");
+        return bookDto;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.test.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class JsonLayoutTest {
+
+    private final static String TEXT = "\"Quoted\" back\\slash tab\t newline\n return\r bell\u0007 nul\u0000 unicode é书";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final JsonLayout layout = new JsonLayout();
+
+    @Test
+    void givenEscapedText_whenDoLayout_thenOneLineOfJsonWithSameText() throws Exception {
+        final LoggingEvent event = createEvent(Level.WARN, TEXT, null);
+
+        final JsonNode json = this.readLine(this.layout.doLayout(event));
+
+        assertEquals(TEXT, json.get("msg").asText());
+        assertEquals(event.getTimeStamp(), json.get("ts").asLong());
+        assertEquals("WARN", json.get("level").asText());
+        assertEquals(JsonLayoutTest.class.getName(), json.get("logger").asText());
+        assertEquals(Thread.currentThread().getName(), json.get("thread").asText());
+        assertFalse(json.has("mdc"));
+        assertFalse(json.has("exception"));
+    }
+
+    @Test
+    void givenNullMessage_whenDoLayout_thenMsgIsNull() throws Exception {
+        final JsonNode json = this.readLine(this.layout.doLayout(createEvent(Level.INFO, null, null)));
+
+        assertTrue(json.get("msg").isNull());
+    }
+
+    @Test
+    void givenMdc_whenDoLayout_thenMdcObjectWithEscapedEntries() throws Exception {
+        final LoggingEvent event = createEvent(Level.INFO, "Test", null);
+        final Map<String, String> mdc = new LinkedHashMap<>();
+        mdc.put("requestId", "42");
+        mdc.put("quoted \"key\"", TEXT);
+        mdc.put("empty", null);
+        event.setMDCPropertyMap(mdc);
+
+        final JsonNode json = this.readLine(this.layout.doLayout(event));
+
+        assertEquals(3, json.get("mdc").size());
+        assertEquals("42", json.get("mdc").get("requestId").asText());
+        assertEquals(TEXT, json.get("mdc").get("quoted \"key\"").asText());
+        assertTrue(json.get("mdc").get("empty").isNull());
+    }
+
+    @Test
+    void givenException_whenDoLayout_thenStackTraceInOneField() throws Exception {
+        final IllegalStateException exception = new IllegalStateException(TEXT,
+                new IllegalArgumentException("cause"));
+
+        final JsonNode json = this.readLine(this.layout.doLayout(createEvent(Level.ERROR, "Failed", exception)));
+
+        final String stackTrace = json.get("exception").asText();
+        assertTrue(stackTrace.startsWith(IllegalStateException.class.getName() + ": " + TEXT), stackTrace);
+        assertTrue(stackTrace.contains("Caused by: " + IllegalArgumentException.class.getName() + ": cause"),
+                stackTrace);
+        assertTrue(stackTrace.contains("at " + JsonLayoutTest.class.getName()), stackTrace);
+    }
+
+    private JsonNode readLine(final String output) throws Exception {
+        final String line = System.lineSeparator();
+        assertTrue(output.endsWith(line), output);
+        final String record = output.substring(0, output.length() - line.length());
+        assertFalse(record.contains("\n") || record.contains("\r"), record);
+        final JsonNode json = this.objectMapper.readTree(record);
+        assertTrue(json.isObject(), record);
+        return json;
+    }
+
+    private static LoggingEvent createEvent(final Level level, final String message, final Throwable throwable) {
+        final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        final Logger logger = context.getLogger(JsonLayoutTest.class);
+        return new LoggingEvent(Logger.class.getName(), logger, level, message, throwable, null);
+    }
+}
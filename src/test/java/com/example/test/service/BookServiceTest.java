@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -163,7 +164,7 @@ class BookServiceTest {
 
     @Test
     void givenNone_whenGetBooks_andNothingExists_andFoundEmptyList_thenOk() {
-        final List<BookDto> books = this.bookService
+        final Collection<BookDto> books = this.bookService
                 .getBooks(this.bookConverter);
         assertNotNull(books);
         assertTrue(books.isEmpty());
@@ -174,12 +175,23 @@ class BookServiceTest {
         this.bookRepository.save(createDummyBook("Test"));
         this.bookRepository.save(createDummyBook("Test2"));
 
-        final List<BookDto> books = this.bookService
+        final Collection<BookDto> books = this.bookService
                 .getBooks(this.bookConverter);
         assertNotNull(books);
         assertEquals(2, books.size());
     }
 
+    @Test
+    void givenNone_whenGetBooks_andLoggedBeforeWritten_thenConvertedOnceWhenIterated() {
+        this.bookRepository.save(createDummyBook("Test"));
+
+        final Collection<BookDto> books = this.bookService
+                .getBooks(this.bookConverter);
+        assertEquals("LazyDtoCollection[size=1]", books.toString());
+        assertEquals("Test", books.iterator().next().getTitle());
+        assertThrows(IllegalStateException.class, books::iterator);
+    }
+
     private static BookDto createDummyBookDto() {
         return BookDto.builder()
                 .title("book")
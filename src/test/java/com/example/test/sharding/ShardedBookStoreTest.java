@@ -0,0 +1,273 @@
+package com.example.test.sharding;
+
+import com.example.test.cache.BookFacetIndex;
+import com.example.test.cache.BookRecord;
+import com.example.test.cache.CompressedCatalogCache;
+import com.example.test.cache.RelatedBookIndex;
+import com.example.test.config.ShardingConfig;
+import com.example.test.config.ShardingProperties;
+import com.example.test.converter.BookConverter;
+import com.example.test.domain.Book;
+import com.example.test.dto.BookDto;
+import com.example.test.dto.BookPageDto;
+import com.example.test.event.BooksInvalidatedEvent;
+import com.example.test.exception.EntityNotFoundException;
+import com.example.test.imports.BookImportJob;
+import com.example.test.imports.ImportFormat;
+import com.example.test.service.BookFacetService;
+import com.example.test.service.BookImportService;
+import com.example.test.service.BookService;
+import com.example.test.service.impl.ShardedBookServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "bookstore.sharding.enabled=true",
+        "bookstore.sharding.shards[0].url=jdbc:h2:mem:shard-0",
+        "bookstore.sharding.shards[1].url=jdbc:h2:mem:shard-1",
+        "bookstore.sharding.shards[2].url=jdbc:h2:mem:shard-2",
+        "bookstore.catalog-snapshot.enabled=true",
+        "bookstore.related.enabled=true",
+        "bookstore.facets.enabled=true"
+})
+class ShardedBookStoreTest {
+
+    private static final int SHARDS = 3;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @Autowired
+    private ShardedBookStore shardedBookStore;
+
+    @Autowired
+    private CompressedCatalogCache compressedCatalogCache;
+
+    @Autowired
+    private RelatedBookIndex relatedBookIndex;
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private BookFacetIndex bookFacetIndex;
+
+    @Autowired
+    private BookFacetService bookFacetService;
+
+    @Test
+    void givenCreatedBooks_whenStored_thenEachIsInTheShardOfItsIdAndSpreadEvenly() {
+        assertInstanceOf(ShardedBookServiceImpl.class, this.bookService);
+        final List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < SHARDS * 3; i++) {
+            ids.add(this.bookService.create(createDummyBookDto("Book " + i), this.bookConverter).getId());
+        }
+
+        final int[] perShard = new int[SHARDS];
+        for (final Long id : ids) {
+            final int shard = this.shardedBookStore.shardOf(id);
+            assertEquals(1, shardJdbcTemplate(shard).queryForObject(
+                    "SELECT COUNT(*) FROM book WHERE id = ?", Integer.class, id));
+            perShard[shard]++;
+        }
+        for (final int count : perShard) {
+            assertTrue(count >= 3);
+        }
+    }
+
+    @Test
+    void givenBooksOnAllShards_whenGetBooks_thenMergedInIdOrder() {
+        for (int i = 0; i < SHARDS * 2; i++) {
+            this.bookService.create(createDummyBookDto("Listed " + i), this.bookConverter);
+        }
+
+        final List<Long> ids = this.bookService.getBooks(this.bookConverter)
+                .stream()
+                .map(BookDto::getId)
+                .collect(Collectors.toList());
+
+        int stored = 0;
+        for (int shard = 0; shard < SHARDS; shard++) {
+            stored += shardJdbcTemplate(shard).queryForObject("SELECT COUNT(*) FROM book", Integer.class);
+        }
+        assertEquals(stored, ids.size());
+        assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids);
+    }
+
+    @Test
+    void givenStoredBook_whenUpdatedAndDeleted_thenOnlyItsShardIsChanged() {
+        final BookDto created = this.bookService.create(createDummyBookDto("Before"), this.bookConverter);
+        created.setTitle("After");
+
+        final BookDto updated = this.bookService.update(created.getId(), created, this.bookConverter);
+
+        assertEquals("After", updated.getTitle());
+        assertEquals("After", this.bookService.getById(created.getId(), this.bookConverter).getTitle());
+        this.bookService.deleteById(created.getId());
+        assertThrows(EntityNotFoundException.class,
+                () -> this.bookService.getById(created.getId(), this.bookConverter));
+        assertThrows(EntityNotFoundException.class, () -> this.bookService.deleteById(created.getId()));
+        assertThrows(EntityNotFoundException.class,
+                () -> this.bookService.update(created.getId(), created, this.bookConverter));
+    }
+
+    @Test
+    void givenBooksOnAllShards_whenCatalogSnapshotRegenerated_thenItListsThemAll() throws Exception {
+        for (int i = 0; i < SHARDS; i++) {
+            this.bookService.create(createDummyBookDto("Snapshot " + i), this.bookConverter);
+        }
+
+        this.compressedCatalogCache.regenerate();
+
+        final CompressedCatalogCache.Snapshot snapshot = this.compressedCatalogCache.getCurrent();
+        assertNotNull(snapshot);
+        final String json = gunzip(snapshot.getGzipJson());
+        for (int i = 0; i < SHARDS; i++) {
+            assertTrue(json.contains("\"Snapshot " + i + "\""), json);
+        }
+    }
+
+    @Test
+    void givenRelatedBooksOnAllShards_whenIndexRebuiltAndInvalidated_thenReadFromTheShards() throws Exception {
+        final List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            final BookDto bookDto = createDummyBookDto("Related " + i);
+            bookDto.setAuthor("Related Author");
+            ids.add(this.bookService.create(bookDto, this.bookConverter).getId());
+        }
+
+        this.relatedBookIndex.rebuild();
+
+        assertEquals(Set.of(ids.get(1), ids.get(2)), relatedIds(this.relatedBookIndex.getRelated(ids.get(0), 10)));
+        this.shardedBookStore.update(ids.get(2), book -> {
+            book.setTitle("Unrelated");
+            book.setAuthor("Someone Else");
+        });
+        this.relatedBookIndex.onBooksInvalidated(new BooksInvalidatedEvent(Set.of(ids.get(2)), 0, false));
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!Set.of(ids.get(1)).equals(relatedIds(this.relatedBookIndex.getRelated(ids.get(0), 10)))) {
+            assertTrue(System.nanoTime() < deadline, "invalidated book still related");
+            Thread.sleep(20L);
+        }
+    }
+
+    @Test
+    void givenAuthorOnAllShards_whenFacetIndexRebuilt_thenCountedAndPagedFromTheShards() {
+        final List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            final BookDto bookDto = createDummyBookDto("Faceted " + i);
+            bookDto.setAuthor("Faceted Author");
+            ids.add(this.bookService.create(bookDto, this.bookConverter).getId());
+        }
+
+        this.bookFacetIndex.rebuild();
+
+        assertEquals(SHARDS, this.bookFacetService.getAuthorFacets("faceted", 10).get(0).getCount());
+        final BookPageDto page = this.bookFacetService.getBooksByAuthor("Faceted Author", null, 0, 10,
+                this.bookConverter);
+        assertEquals(SHARDS, page.getTotalElements());
+        assertEquals(ids, page.getContent().stream().map(BookDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void givenCsv_whenImported_thenBooksStoredInTheShards() throws Exception {
+        final String csv = "title,author,description,isbn\r\n"
+                + "Imported One,Author,Test,isbn-1\r\n"
+                + "Imported Two,Author,Test,isbn-2\r\n";
+
+        final BookImportJob job = this.bookImportService.importBooks(ImportFormat.CSV,
+                Channels.newChannel(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (job.getState() == BookImportJob.State.RUNNING) {
+            assertTrue(System.nanoTime() < deadline, "import not finished in time");
+            Thread.sleep(20L);
+        }
+
+        assertEquals(2, job.getRowsImported());
+        final List<String> titles = this.shardedBookStore.findAll().stream()
+                .map(Book::getTitle)
+                .collect(Collectors.toList());
+        assertTrue(titles.containsAll(List.of("Imported One", "Imported Two")), titles.toString());
+    }
+
+    @Test
+    void givenReadModelEnabled_whenShardingConfigured_thenStartupFails() {
+        final ShardingProperties properties = new ShardingProperties();
+        properties.setShards(List.of(new ShardingProperties.Shard()));
+
+        final IllegalStateException ex = assertThrows(IllegalStateException.class, () ->
+                new ShardingConfig().shardDataSources(properties, new DataSourceProperties(),
+                        new MockEnvironment().withProperty("bookstore.read-model.enabled", "true")));
+        assertTrue(ex.getMessage().contains("bookstore.read-model.enabled"), ex.getMessage());
+    }
+
+    @Test
+    void givenIdOrderedLists_whenMerged_thenOneIdOrderedList() {
+        final List<Book> merged = ShardedBookStore.mergeById(List.of(
+                List.of(createDummyBook(1L), createDummyBook(4L)),
+                List.of(),
+                List.of(createDummyBook(2L), createDummyBook(3L), createDummyBook(6L))));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 6L),
+                merged.stream().map(Book::getId).collect(Collectors.toList()));
+    }
+
+    private static Set<Long> relatedIds(final List<BookRecord> related) {
+        assertNotNull(related);
+        return related.stream().map(BookRecord::getId).collect(Collectors.toSet());
+    }
+
+    private static String gunzip(final byte[] compressed) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static JdbcTemplate shardJdbcTemplate(final int shard) {
+        return new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:shard-" + shard, "test", "test"));
+    }
+
+    private static BookDto createDummyBookDto(final String title) {
+        final BookDto bookDto = new BookDto();
+        bookDto.setTitle(title);
+        bookDto.setDescription("Test");
+        bookDto.setAuthor("Test");
+        bookDto.setIsbn("Test");
+        return bookDto;
+    }
+
+    private static Book createDummyBook(final Long id) {
+        return Book.builder()
+                .id(id)
+                .title("Test")
+                .description("Test")
+                .author("Test")
+                .isbn("Test")
+                .build();
+    }
+}
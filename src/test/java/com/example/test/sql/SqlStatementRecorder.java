@@ -0,0 +1,117 @@
+package com.example.test.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the SQL statements issued through the proxied DataSource while a block of code runs.
+ * Statements of other threads are ignored, so background work does not leak into a recording.
+ */
+public class SqlStatementRecorder implements QueryExecutionListener {
+
+    private final ThreadLocal<List<String>> recording = new ThreadLocal<>();
+
+    /**
+     * Runs the action and returns the statements it issued on the current thread.
+     */
+    public SqlStatements record(final ThrowingRunnable action) throws Exception {
+        final List<String> statements = new ArrayList<>();
+        this.recording.set(statements);
+        try {
+            action.run();
+        } finally {
+            this.recording.remove();
+        }
+        return new SqlStatements(statements);
+    }
+
+    @Override
+    public void beforeQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+        final List<String> statements = this.recording.get();
+        if (statements == null) {
+            return;
+        }
+        for (final QueryInfo queryInfo : queryInfoList) {
+            final int executions = Math.max(1, queryInfo.getParametersList().size());
+            for (int i = 0; i < executions; i++) {
+                statements.add(queryInfo.getQuery());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+
+        void run() throws Exception;
+    }
+
+    /**
+     * Statements issued during one recording, classified by type.
+     */
+    public static class SqlStatements {
+
+        private final List<String> statements;
+
+        private final Map<QueryType, Integer> counts = new EnumMap<>(QueryType.class);
+
+        SqlStatements(final List<String> statements) {
+            this.statements = Collections.unmodifiableList(statements);
+            for (final String statement : statements) {
+                this.counts.merge(QueryUtils.getQueryType(statement), 1, Integer::sum);
+            }
+        }
+
+        public int count(final QueryType type) {
+            return this.counts.getOrDefault(type, 0);
+        }
+
+        public int selects() {
+            return this.count(QueryType.SELECT);
+        }
+
+        public int inserts() {
+            return this.count(QueryType.INSERT);
+        }
+
+        public int updates() {
+            return this.count(QueryType.UPDATE);
+        }
+
+        public int deletes() {
+            return this.count(QueryType.DELETE);
+        }
+
+        /**
+         * @return statements which are neither select, insert, update nor delete, e.g. sequence calls.
+         */
+        public int others() {
+            return this.count(QueryType.OTHER);
+        }
+
+        public int total() {
+            return this.statements.size();
+        }
+
+        public List<String> getStatements() {
+            return this.statements;
+        }
+
+        @Override
+        public String toString() {
+            return String.join("\n", this.statements);
+        }
+    }
+}
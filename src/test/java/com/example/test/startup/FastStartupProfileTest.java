@@ -0,0 +1,97 @@
+package com.example.test.startup;
+
+import com.example.test.cache.BookReadModel;
+import com.example.test.dto.BookDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "bookstore.read-model.enabled=true")
+@ActiveProfiles("fast-startup")
+@AutoConfigureMockMvc
+class FastStartupProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    void givenFastStartupProfile_whenStarted_thenDocsDisabledAndOnlyScheduledBeansEager() {
+        assertEquals(0, this.beanFactory.getBeanNamesForType(Docket.class).length);
+        assertTrue(this.beanFactory.containsSingleton("bookReadModel"));
+        assertFalse(this.beanFactory.containsSingleton("bookImportServiceImpl"));
+        assertTrue(this.beanFactory.getBean(BookReadModel.class).isLoaded());
+    }
+
+    @Test
+    void givenSchemaFromScript_whenCreateAndGetBook_thenOk() throws Exception {
+        final BookDto bookDto = BookDto.builder()
+                .title("Test")
+                .description("Test")
+                .author("Test")
+                .isbn("Test")
+                .build();
+        final String content = this.mockMvc.perform(post("/api/v1/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(bookDto)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        final BookDto created = this.objectMapper.readValue(content, BookDto.class);
+
+        this.mockMvc.perform(get("/api/v1/books/" + created.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Test"));
+    }
+
+    @Test
+    void givenBufferedStartup_whenReported_thenPhasesAndSelfTimesOfBeans() {
+        final BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        startup.startRecording();
+        final var outer = startup.start("spring.beans.instantiate").tag("beanName", "outer");
+        final var inner = startup.start("spring.beans.instantiate").tag("beanName", "inner");
+        sleep(Duration.ofMillis(30));
+        inner.end();
+        outer.end();
+
+        final StartupReport report = StartupReport.of(startup.getBufferedTimeline(), 1L, 10);
+
+        assertEquals(2, report.getSteps());
+        assertEquals("spring.beans.instantiate", report.getPhases().get(0).getName());
+        assertEquals(2, report.getPhases().get(0).getCount());
+        assertEquals("inner", report.getSlowestBeans().get(0).getName());
+        assertTrue(report.getSlowestBeans().get(1).getSelfMs() < report.getSlowestBeans().get(1).getTotalMs());
+    }
+
+    private static void sleep(final Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.test.tombstone;
+
+import com.example.test.converter.BookConverter;
+import com.example.test.dto.BookDto;
+import com.example.test.exception.EntityNotFoundException;
+import com.example.test.service.BookService;
+import com.example.test.sql.SqlStatementRecorder;
+import com.example.test.sql.SqlStatementRecorder.SqlStatements;
+import com.example.test.sql.SqlStatementRecorderConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "bookstore.soft-delete.enabled=true",
+        "bookstore.soft-delete.retention=PT0S",
+        "bookstore.soft-delete.batch-size=2",
+        "bookstore.soft-delete.batch-pause=0ms"
+})
+@Import(SqlStatementRecorderConfig.class)
+class BookTombstonesTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookConverter bookConverter;
+
+    @Autowired
+    private BookTombstones bookTombstones;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @Test
+    void givenBook_whenDeleteById_thenSingleUpdateKeepsTombstoneHiddenFromReads() throws Exception {
+        final BookDto book = this.create();
+
+        final SqlStatements statements = this.sqlStatementRecorder.record(() ->
+                this.bookService.deleteById(book.getId()));
+
+        assertEquals(1, statements.total(), statements.toString());
+        assertNotNull(this.jdbcTemplate.queryForObject("SELECT deleted_at FROM book WHERE id = ?",
+                Object.class, book.getId()));
+        assertThrows(EntityNotFoundException.class, () -> this.bookService.getById(book.getId(), this.bookConverter));
+        assertThrows(EntityNotFoundException.class,
+                () -> this.bookService.update(book.getId(), book, this.bookConverter));
+        assertThrows(EntityNotFoundException.class, () -> this.bookService.deleteById(book.getId()));
+        assertFalse(this.bookService.getBooks(this.bookConverter).stream()
+                .anyMatch(dto -> book.getId().equals(dto.getId())));
+    }
+
+    @Test
+    void givenTombstonesOlderThanRetention_whenPurge_thenRemovedInBatches() {
+        final List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final Long id = this.create().getId();
+            this.bookService.deleteById(id);
+            ids.add(id);
+        }
+        final BookDto live = this.create();
+
+        assertTrue(this.bookTombstones.purge() >= ids.size());
+
+        for (final Long id : ids) {
+            assertEquals(0, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM book WHERE id = ?",
+                    Integer.class, id));
+        }
+        assertEquals(live.getId(), this.bookService.getById(live.getId(), this.bookConverter).getId());
+    }
+
+    private BookDto create() {
+        final BookDto bookDto = new BookDto();
+        bookDto.setTitle("Test");
+        bookDto.setDescription("Test");
+        bookDto.setAuthor("Test");
+        bookDto.setIsbn("Test");
+        return this.bookService.create(bookDto, this.bookConverter);
+    }
+}